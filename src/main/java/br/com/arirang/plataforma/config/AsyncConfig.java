@@ -0,0 +1,87 @@
+package br.com.arirang.plataforma.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Executores para processamento em segundo plano.
+ * Pools limitados: o trabalho em lote não pode competir sem limite com as requisições web.
+ */
+@Configuration
+public class AsyncConfig {
+
+    /**
+     * Renderização de PDFs de boletins em lote (CPU-bound): no máximo uma thread por núcleo, até 4.
+     * Com a fila cheia, quem submete executa a tarefa (contrapressão em vez de rejeição).
+     */
+    @Bean(name = "boletimPdfExecutor")
+    public ThreadPoolTaskExecutor boletimPdfExecutor() {
+        int threads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(200);
+        executor.setThreadNamePrefix("boletim-pdf-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Verificação diária de frequência baixa (I/O de banco): duas threads, para não ocupar
+     * mais que uma fração do pool de conexões (5 em produção) durante o processamento.
+     */
+    @Bean(name = "alertaFrequenciaExecutor")
+    public ThreadPoolTaskExecutor alertaFrequenciaExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("alerta-frequencia-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Sincronização dos contratos com o financeiro: uma thread (só há uma sincronização por vez)
+     * e uma conexão do pool, liberada a cada lote confirmado.
+     */
+    @Bean(name = "sincronizacaoFinanceiraExecutor")
+    public ThreadPoolTaskExecutor sincronizacaoFinanceiraExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(10);
+        executor.setThreadNamePrefix("sincronizacao-financeira-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Gravador da auditoria de turmas: uma única thread, ocupada durante toda a execução da aplicação,
+     * que grava os registros enfileirados em lotes (uma conexão por lote).
+     */
+    @Bean(name = "auditoriaExecutor")
+    public ThreadPoolTaskExecutor auditoriaExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("auditoria-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
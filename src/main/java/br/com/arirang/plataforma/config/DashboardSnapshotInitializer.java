@@ -0,0 +1,35 @@
+package br.com.arirang.plataforma.config;
+
+import br.com.arirang.plataforma.service.DashboardSnapshotService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Monta, na inicialização, o snapshot do dashboard financeiro quando ele ainda está vazio.
+ * Com o snapshot preenchido, é apenas uma contagem.
+ */
+@Component
+public class DashboardSnapshotInitializer implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardSnapshotInitializer.class);
+
+    @Autowired
+    private DashboardSnapshotService dashboardSnapshotService;
+
+    @Override
+    public void run(String... args) {
+        try {
+            dashboardSnapshotService.inicializarSeVazio();
+        } catch (DataIntegrityViolationException e) {
+            // Outra instância montou o snapshot ao mesmo tempo (chave única competência/turma)
+            logger.info("Snapshot do dashboard já inicializado por outra instância");
+        } catch (Exception e) {
+            // Não impede a inicialização: a reconciliação noturna monta o snapshot
+            logger.error("Erro ao inicializar o snapshot do dashboard: ", e);
+        }
+    }
+}
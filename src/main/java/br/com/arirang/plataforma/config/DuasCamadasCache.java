@@ -0,0 +1,122 @@
+package br.com.arirang.plataforma.config;
+
+import org.springframework.cache.Cache;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Cache em duas camadas: L1 em memória do processo na frente do L2 compartilhado (Redis).
+ * Leituras são servidas pelo L1 quando possível; no miss, o valor vem do L2 e é guardado no L1.
+ * Escritas e remoções vão ao L2, limpam o L1 local e publicam uma invalidação para que as
+ * demais instâncias descartem a sua cópia (ver DuasCamadasCacheManager).
+ *
+ * As chaves do L1 são convertidas para String, como o RedisCache já faz ao montar a chave do L2:
+ * assim a mensagem de invalidação identifica a mesma entrada em todas as instâncias.
+ */
+class DuasCamadasCache implements Cache {
+
+    private final String nome;
+    private final Cache local;
+    private final Cache remoto;
+    private final DuasCamadasCacheManager cacheManager;
+
+    DuasCamadasCache(String nome, Cache local, Cache remoto, DuasCamadasCacheManager cacheManager) {
+        this.nome = nome;
+        this.local = local;
+        this.remoto = remoto;
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    @NonNull
+    public String getName() {
+        return nome;
+    }
+
+    @Override
+    @NonNull
+    public Object getNativeCache() {
+        return remoto.getNativeCache();
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper get(@NonNull Object key) {
+        String chave = chaveLocal(key);
+        ValueWrapper valor = local.get(chave);
+        if (valor != null) {
+            return valor;
+        }
+        valor = remoto.get(key);
+        if (valor != null) {
+            local.put(chave, valor.get());
+        }
+        return valor;
+    }
+
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(@NonNull Object key, @Nullable Class<T> type) {
+        ValueWrapper valor = get(key);
+        Object conteudo = valor != null ? valor.get() : null;
+        if (conteudo != null && type != null && !type.isInstance(conteudo)) {
+            throw new IllegalStateException("Valor em cache não é do tipo " + type.getName() + ": " + conteudo);
+        }
+        return (T) conteudo;
+    }
+
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(@NonNull Object key, @NonNull Callable<T> valueLoader) {
+        String chave = chaveLocal(key);
+        ValueWrapper valor = local.get(chave);
+        if (valor != null) {
+            return (T) valor.get();
+        }
+        T carregado = remoto.get(key, valueLoader);
+        local.put(chave, carregado);
+        return carregado;
+    }
+
+    @Override
+    public void put(@NonNull Object key, @Nullable Object value) {
+        remoto.put(key, value);
+        String chave = chaveLocal(key);
+        local.put(chave, value);
+        cacheManager.publicarInvalidacao(nome, chave);
+    }
+
+    @Override
+    public void evict(@NonNull Object key) {
+        remoto.evict(key);
+        String chave = chaveLocal(key);
+        local.evict(chave);
+        cacheManager.publicarInvalidacao(nome, chave);
+    }
+
+    @Override
+    public void clear() {
+        remoto.clear();
+        local.clear();
+        cacheManager.publicarInvalidacao(nome, null);
+    }
+
+    /**
+     * Remove a entrada apenas do L1 (invalidação recebida de outra instância)
+     */
+    void invalidarLocal(@Nullable String chave) {
+        if (chave == null) {
+            local.clear();
+        } else {
+            local.evict(chave);
+        }
+    }
+
+    private String chaveLocal(Object key) {
+        return String.valueOf(key);
+    }
+}
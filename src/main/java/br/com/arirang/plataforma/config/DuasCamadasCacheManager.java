@@ -0,0 +1,96 @@
+package br.com.arirang.plataforma.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * CacheManager em duas camadas: caches locais (L1, Caffeine) na frente dos caches do Redis (L2).
+ *
+ * Toda escrita ou remoção publica uma mensagem de invalidação no canal do Redis; cada instância
+ * assina o canal e descarta do seu L1 as entradas alteradas por outra instância. Como o pub/sub
+ * do Redis não garante entrega, o L1 usa um TTL curto (app.cache.local.ttl), que limita o tempo
+ * em que uma instância pode servir um valor desatualizado se alguma mensagem se perder.
+ *
+ * O publicador é recebido como Consumer para que o gerenciador possa ser exercitado sem Redis
+ * (por exemplo, duas instâncias ligadas diretamente por receberInvalidacao).
+ */
+class DuasCamadasCacheManager extends AbstractTransactionSupportingCacheManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(DuasCamadasCacheManager.class);
+
+    private static final String SEPARADOR = "\n";
+
+    private final CacheManager remoto;
+    private final CacheManager local;
+    private final Consumer<String> publicador;
+    private final String instanciaId = UUID.randomUUID().toString();
+
+    DuasCamadasCacheManager(CacheManager remoto, CacheManager local, Consumer<String> publicador) {
+        this.remoto = remoto;
+        this.local = local;
+        this.publicador = publicador;
+    }
+
+    @Override
+    @NonNull
+    protected Collection<? extends Cache> loadCaches() {
+        // Caches criados sob demanda, como no RedisCacheManager
+        return List.of();
+    }
+
+    @Override
+    @Nullable
+    protected Cache getMissingCache(@NonNull String name) {
+        Cache cacheRemoto = remoto.getCache(name);
+        Cache cacheLocal = local.getCache(name);
+        if (cacheRemoto == null || cacheLocal == null) {
+            return null;
+        }
+        return new DuasCamadasCache(name, cacheLocal, cacheRemoto, this);
+    }
+
+    /**
+     * Mensagem: id da instância, nome do cache e chave (vazia quando o cache inteiro foi limpo)
+     */
+    void publicarInvalidacao(String cacheName, @Nullable String chave) {
+        String mensagem = instanciaId + SEPARADOR + cacheName + SEPARADOR + (chave != null ? chave : "");
+        try {
+            publicador.accept(mensagem);
+        } catch (RuntimeException e) {
+            // O L2 já foi atualizado; as outras instâncias se corrigem quando o L1 expirar
+            logger.warn("Falha ao publicar invalidação do cache {}: {}", cacheName, e.getMessage());
+        }
+    }
+
+    /**
+     * Aplica no L1 a invalidação publicada por outra instância (as próprias mensagens são ignoradas)
+     */
+    void receberInvalidacao(String mensagem) {
+        String[] partes = mensagem.split(SEPARADOR, 3);
+        if (partes.length < 3 || instanciaId.equals(partes[0])) {
+            return;
+        }
+        Cache cache = lookupCache(partes[1]);
+        if (cache == null) {
+            // Este processo ainda não usou o cache: não há L1 a invalidar
+            return;
+        }
+        Cache alvo = cache instanceof TransactionAwareCacheDecorator decorator
+                ? decorator.getTargetCache()
+                : cache;
+        if (alvo instanceof DuasCamadasCache duasCamadas) {
+            duasCamadas.invalidarLocal(partes[2].isEmpty() ? null : partes[2]);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package br.com.arirang.plataforma.config;
+
+import br.com.arirang.plataforma.service.PagamentoSyncService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Preenche, na inicialização, a chave de idempotência dos movimentos de pagamento gravados antes dela.
+ * Sem movimentos pendentes, é apenas uma consulta de contagem.
+ */
+@Component
+public class FinanceiroChaveIdempotenciaInitializer implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(FinanceiroChaveIdempotenciaInitializer.class);
+
+    @Autowired
+    private PagamentoSyncService pagamentoSyncService;
+
+    @Override
+    public void run(String... args) {
+        try {
+            pagamentoSyncService.preencherChavesIdempotencia();
+        } catch (Exception e) {
+            // Não impede a inicialização: a migração é retomada na próxima vez
+            logger.error("Erro ao preencher a chave de idempotência dos movimentos financeiros: ", e);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package br.com.arirang.plataforma.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Cache em memória limitado (Caffeine) usado pelo SimpleCacheConfig e como fallback do Redis.
+ * Cada cache tem tamanho máximo (despejo W-TinyLFU) e expira após app.cache.default-ttl,
+ * com estatísticas de acerto/falha/despejo expostas pelo Actuator (/actuator/caches e
+ * /actuator/metrics/cache.gets, cache.evictions).
+ */
+final class LocalCacheManagerFactory {
+
+    // Tamanhos próprios dos caches conhecidos; os demais usam app.cache.maximum-size
+    private static final Map<String, Long> TAMANHOS_POR_CACHE = Map.of(
+            "usuarios", 500L,
+            "turmasLista", 10L,
+            "turmasPorId", 1000L,
+            "professoresLista", 10L,
+            "padroesBoletim", 1000L,
+            "configuracoesUsuario", 500L
+    );
+
+    private LocalCacheManagerFactory() {
+    }
+
+    static CaffeineCacheManager criar(Duration ttl, long tamanhoMaximo, boolean cacheNullValues) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(builder(ttl, tamanhoMaximo));
+        cacheManager.setAllowNullValues(cacheNullValues);
+        // Registrados na criação para que o Actuator associe as métricas já na inicialização;
+        // o gerenciador continua criando sob demanda os caches que não estão no mapa
+        TAMANHOS_POR_CACHE.forEach((nome, tamanho) ->
+                cacheManager.registerCustomCache(nome, builder(ttl, tamanho).build()));
+        return cacheManager;
+    }
+
+    private static Caffeine<Object, Object> builder(Duration ttl, long tamanhoMaximo) {
+        return Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(ttl)
+                .recordStats();
+    }
+}
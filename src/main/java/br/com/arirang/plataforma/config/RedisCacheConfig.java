@@ -1,5 +1,6 @@
 package br.com.arirang.plataforma.config;
 
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -19,14 +20,23 @@ import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 
+/**
+ * Cache no Redis. Com app.cache.local.enabled (padrão), cada cache ganha uma camada local
+ * (Caffeine) na frente do Redis, invalidada entre instâncias por pub/sub no canal
+ * {key-prefix}invalidacao: a maior parte das leituras não sai do processo.
+ */
 @Configuration
 @EnableCaching
 @ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis")
@@ -36,34 +46,59 @@ public class RedisCacheConfig {
     private static final Logger logger = LoggerFactory.getLogger(RedisCacheConfig.class);
 
     private final Duration defaultTtl;
+    private final long maximumSize;
     private final boolean cacheNullValues;
     private final String keyPrefix;
     private final boolean cacheEnabled;
+    private final boolean localEnabled;
+    private final Duration localTtl;
 
     public RedisCacheConfig(
             @Value("${app.cache.default-ttl:PT10M}") Duration defaultTtl,
+            @Value("${app.cache.maximum-size:1000}") long maximumSize,
             @Value("${app.cache.cache-null-values:false}") boolean cacheNullValues,
             @Value("${app.cache.key-prefix:plataforma::}") String keyPrefix,
-            @Value("${app.cache.enabled:true}") boolean cacheEnabled) {
+            @Value("${app.cache.enabled:true}") boolean cacheEnabled,
+            @Value("${app.cache.local.enabled:true}") boolean localEnabled,
+            @Value("${app.cache.local.ttl:PT1M}") Duration localTtl) {
         this.defaultTtl = defaultTtl;
+        this.maximumSize = maximumSize;
         this.cacheNullValues = cacheNullValues;
         this.keyPrefix = keyPrefix;
         this.cacheEnabled = cacheEnabled;
+        this.localEnabled = localEnabled;
+        // O L1 nunca vive mais que a entrada no Redis
+        this.localTtl = localTtl.compareTo(defaultTtl) < 0 ? localTtl : defaultTtl;
     }
 
     @Bean
     public CacheManager cacheManager(RedisConnectionFactory redisConnectionFactory) {
         if (!cacheEnabled) {
-            logger.warn("Cache Redis desabilitado via propriedade. Utilizando cache em memória (ConcurrentMapCacheManager).");
+            logger.warn("Cache Redis desabilitado via propriedade. Utilizando cache em memória (Caffeine).");
             return fallbackCacheManager();
         }
 
         RedisCacheConfiguration cacheConfiguration = redisCacheConfiguration();
         try {
-            return RedisCacheManager.builder(redisConnectionFactory)
+            if (!localEnabled) {
+                return RedisCacheManager.builder(redisConnectionFactory)
+                        .cacheDefaults(cacheConfiguration)
+                        .transactionAware()
+                        .build();
+            }
+            RedisCacheManager remoto = RedisCacheManager.builder(redisConnectionFactory)
                     .cacheDefaults(cacheConfiguration)
-                    .transactionAware()
                     .build();
+            // L1 aceita nulos: só recebe o que o L2 já aceitou
+            CacheManager local = LocalCacheManagerFactory.criar(localTtl, maximumSize, true);
+            StringRedisTemplate template = new StringRedisTemplate(redisConnectionFactory);
+            String canal = canalInvalidacao();
+            DuasCamadasCacheManager cacheManager = new DuasCamadasCacheManager(remoto, local,
+                    mensagem -> template.convertAndSend(canal, mensagem));
+            cacheManager.setTransactionAware(true);
+            logger.info("Cache em duas camadas: local (TTL {}) + Redis (TTL {}), invalidação no canal {}",
+                    localTtl, defaultTtl, canal);
+            return cacheManager;
         } catch (Exception ex) {
             logger.error("Não foi possível inicializar o Redis Cache Manager. Utilizando fallback em memória. Motivo: {}", ex.getMessage());
             logger.debug("Detalhes da falha ao inicializar Redis Cache Manager", ex);
@@ -71,12 +106,28 @@ public class RedisCacheConfig {
         }
     }
 
+    /**
+     * Assina o canal de invalidação para descartar do L1 o que outras instâncias alteraram
+     */
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidacaoListenerContainer(RedisConnectionFactory redisConnectionFactory,
+                                                                           CacheManager cacheManager) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        if (cacheManager instanceof DuasCamadasCacheManager duasCamadas) {
+            container.addMessageListener(
+                    (message, pattern) -> duasCamadas.receberInvalidacao(new String(message.getBody(), StandardCharsets.UTF_8)),
+                    new ChannelTopic(canalInvalidacao()));
+        }
+        return container;
+    }
+
     @Bean
     public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
 
-        GenericJackson2JsonRedisSerializer valueSerializer = new GenericJackson2JsonRedisSerializer(objectMapper());
+        GenericJackson2JsonRedisSerializer valueSerializer = valorSerializer();
 
         template.setKeySerializer(new StringRedisSerializer());
         template.setValueSerializer(valueSerializer);
@@ -125,7 +176,7 @@ public class RedisCacheConfig {
     }
 
     private RedisCacheConfiguration redisCacheConfiguration() {
-        GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer(objectMapper());
+        GenericJackson2JsonRedisSerializer serializer = valorSerializer();
 
         RedisCacheConfiguration configuration = RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(defaultTtl)
@@ -139,15 +190,31 @@ public class RedisCacheConfig {
         return configuration;
     }
 
-    private ObjectMapper objectMapper() {
+    private String canalInvalidacao() {
+        return keyPrefix + "invalidacao";
+    }
+
+    /**
+     * Serializador dos valores em cache (e do RedisTemplate); pacote-privado para os testes do cache
+     */
+    static GenericJackson2JsonRedisSerializer valorSerializer() {
+        return new GenericJackson2JsonRedisSerializer(objectMapper());
+    }
+
+    private static ObjectMapper objectMapper() {
         ObjectMapper mapper = new ObjectMapper();
         mapper.registerModule(new JavaTimeModule());
         mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        // Grava o tipo de cada valor (inclusive records e enums, que são final) para que o cache
+        // devolva o mesmo tipo guardado, e não um LinkedHashMap; como o construtor padrão do serializer
+        mapper.activateDefaultTyping(mapper.getPolymorphicTypeValidator(),
+                ObjectMapper.DefaultTyping.EVERYTHING, JsonTypeInfo.As.PROPERTY);
+        GenericJackson2JsonRedisSerializer.registerNullValueSerializer(mapper, null);
         return mapper;
     }
 
     private CacheManager fallbackCacheManager() {
-        return new org.springframework.cache.concurrent.ConcurrentMapCacheManager();
+        return LocalCacheManagerFactory.criar(defaultTtl, maximumSize, cacheNullValues);
     }
 }
 
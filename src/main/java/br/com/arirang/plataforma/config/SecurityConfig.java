@@ -76,6 +76,9 @@ public class SecurityConfig {
                 // Spring Boot Actuator Health Checks (público para Railway/Cloudflare)
                 .requestMatchers("/actuator/health/**", "/actuator/info").permitAll()
                 
+                // Demais endpoints do Actuator (caches, métricas) - apenas ADMIN
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
+                
                 // Health check customizado (diagnóstico)
                 .requestMatchers("/health", "/health/**").permitAll()
                 
@@ -2,14 +2,16 @@ package br.com.arirang.plataforma.config;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 /**
  * Configuração de cache simples (em memória) para quando Redis não estiver disponível
  * 
@@ -18,6 +20,7 @@ import org.springframework.context.annotation.Configuration;
  * - Quando RedisCacheConfig não está ativo
  * 
  * Funciona como fallback quando Redis não está disponível.
+ * Os caches são limitados por tamanho e expiram após app.cache.default-ttl (ver LocalCacheManagerFactory).
  */
 @Configuration
 @EnableCaching
@@ -28,10 +31,13 @@ public class SimpleCacheConfig {
 
     @Bean
     @ConditionalOnMissingBean(name = "cacheManager")
-    public CacheManager cacheManager() {
-        logger.info("✅ Configurando cache em memória (ConcurrentMapCacheManager)");
+    public CacheManager cacheManager(
+            @Value("${app.cache.default-ttl:PT10M}") Duration defaultTtl,
+            @Value("${app.cache.maximum-size:1000}") long maximumSize,
+            @Value("${app.cache.cache-null-values:false}") boolean cacheNullValues) {
+        logger.info("✅ Configurando cache em memória (Caffeine, TTL {}, até {} entradas por cache)", defaultTtl, maximumSize);
         logger.info("   Redis não está disponível ou foi desabilitado (spring.cache.type=simple)");
-        return new ConcurrentMapCacheManager();
+        return LocalCacheManagerFactory.criar(defaultTtl, maximumSize, cacheNullValues);
     }
 }
 
@@ -38,7 +38,7 @@ public class ThemeInterceptor implements HandlerInterceptor {
                     && !authentication.getName().equals("anonymousUser")) {
                     
                     try {
-                        ConfiguracaoUsuarioDTO config = configuracaoUsuarioService.buscarOuCriarConfiguracao();
+                        ConfiguracaoUsuarioDTO config = configuracaoUsuarioService.buscarConfiguracaoTema(authentication.getName());
                         modelAndView.addObject("themeConfig", config);
                         logger.debug("Configuração de tema aplicada para usuário: {}", authentication.getName());
                     } catch (Exception e) {
@@ -0,0 +1,31 @@
+package br.com.arirang.plataforma.config;
+
+import br.com.arirang.plataforma.service.TurmaService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Preenche, na inicialização, as colunas de busca das turmas cadastradas antes delas.
+ * Sem turmas pendentes, é apenas uma consulta de existência.
+ */
+@Component
+public class TurmaBuscaInitializer implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(TurmaBuscaInitializer.class);
+
+    @Autowired
+    private TurmaService turmaService;
+
+    @Override
+    public void run(String... args) {
+        try {
+            turmaService.preencherCamposBusca();
+        } catch (Exception e) {
+            // Não impede a inicialização: a migração é retomada na próxima vez
+            logger.error("Erro ao preencher as colunas de busca das turmas: ", e);
+        }
+    }
+}
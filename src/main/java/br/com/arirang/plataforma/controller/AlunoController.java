@@ -1,6 +1,7 @@
 package br.com.arirang.plataforma.controller;
 
 import br.com.arirang.plataforma.dto.AlunoDTO;
+import br.com.arirang.plataforma.dto.PaginaDTO;
 import br.com.arirang.plataforma.entity.Aluno;
 import br.com.arirang.plataforma.entity.Endereco;
 import br.com.arirang.plataforma.mapper.AlunoMapper;
@@ -96,14 +97,27 @@ public class AlunoController {
     public String listarAlunos(@RequestParam(value = "turmaId", required = false) Long turmaId,
                               @RequestParam(value = "search", required = false) String search,
                               @RequestParam(value = "situacao", required = false) String situacao,
+                              @RequestParam(value = "cursor", required = false) String cursor,
+                              @RequestParam(value = "tamanho", required = false) Integer tamanho,
                               Model model) {
         try {
-            List<AlunoDTO> alunos = (turmaId == null
-                    ? alunoService.listarTodosAlunos()
-                    : alunoService.listarAlunosPorTurma(turmaId))
-                    .stream()
-                    .map(this::convertToDTO)
-                    .collect(Collectors.toList());
+            List<AlunoDTO> alunos;
+            boolean semFiltros = turmaId == null
+                    && (search == null || search.trim().isEmpty())
+                    && (situacao == null || situacao.trim().isEmpty());
+            if (semFiltros) {
+                // Sem filtros: listagem paginada
+                PaginaDTO<AlunoDTO> pagina = alunoService.listarAlunosPagina(cursor, tamanho).map(this::convertToDTO);
+                alunos = pagina.itens();
+                model.addAttribute("pagina", pagina);
+            } else {
+                alunos = (turmaId == null
+                        ? alunoService.listarTodosAlunos()
+                        : alunoService.listarAlunosPorTurma(turmaId))
+                        .stream()
+                        .map(this::convertToDTO)
+                        .collect(Collectors.toList());
+            }
             
             // Aplicar filtro de busca se fornecido
             if (search != null && !search.trim().isEmpty()) {
@@ -122,14 +136,14 @@ public class AlunoController {
             }
             
             model.addAttribute("alunos", alunos);
-            model.addAttribute("turmas", turmaService.listarTodasTurmas());
+            model.addAttribute("turmas", turmaService.listarResumoTurmas());
             model.addAttribute("turmaSelecionada", turmaId);
             model.addAttribute("searchTerm", search);
             model.addAttribute("situacaoSelecionada", situacao);
         } catch (Exception e) {
             logger.error("Erro ao carregar os alunos: ", e);
             model.addAttribute("error", "Erro ao carregar os alunos: " + e.getMessage());
-            model.addAttribute("turmas", turmaService.listarTodasTurmas());
+            model.addAttribute("turmas", turmaService.listarResumoTurmas());
         }
         return "alunos";
     }
@@ -137,7 +151,7 @@ public class AlunoController {
     @GetMapping("/relatorio")
     public String relatorioPorTurma(@RequestParam(value = "turmaId", required = false) Long turmaId, Model model) {
         try {
-            model.addAttribute("turmas", turmaService.listarTodasTurmas());
+            model.addAttribute("turmas", turmaService.listarResumoTurmas());
             if (turmaId != null) {
                 List<AlunoDTO> alunos = alunoService.listarAlunosPorTurma(turmaId).stream()
                         .map(this::convertToDTO)
@@ -149,7 +163,7 @@ public class AlunoController {
         } catch (Exception e) {
             logger.error("Erro ao gerar relatório por turma: ", e);
             model.addAttribute("error", "Erro ao gerar relatório: " + e.getMessage());
-            model.addAttribute("turmas", turmaService.listarTodasTurmas());
+            model.addAttribute("turmas", turmaService.listarResumoTurmas());
             return "alunos-relatorio";
         }
     }
@@ -184,7 +198,7 @@ public class AlunoController {
                 Collections.<String>emptyList()    // idiomas
         ));
         model.addAttribute("isNew", true);
-        model.addAttribute("turmas", turmaService.listarTodasTurmas());
+        model.addAttribute("turmas", turmaService.listarResumoTurmas());
         return "aluno-form";
     }
 
@@ -207,7 +221,7 @@ public class AlunoController {
             novoAluno = ensureEnderecoInitialized(novoAluno);
             model.addAttribute("aluno", novoAluno);
             model.addAttribute("isNew", true);
-            model.addAttribute("turmas", turmaService.listarTodasTurmas());
+            model.addAttribute("turmas", turmaService.listarResumoTurmas());
             return "aluno-form";
         }
         try {
@@ -235,7 +249,7 @@ public class AlunoController {
                 model.addAttribute("aluno", novoAluno);
                 model.addAttribute("error", "Data de nascimento é obrigatória");
                 model.addAttribute("isNew", true);
-                model.addAttribute("turmas", turmaService.listarTodasTurmas());
+                model.addAttribute("turmas", turmaService.listarResumoTurmas());
                 return "aluno-form";
             }
             
@@ -248,7 +262,7 @@ public class AlunoController {
             model.addAttribute("aluno", novoAluno);
             model.addAttribute("error", "Erro ao criar aluno: " + e.getMessage());
             model.addAttribute("isNew", true);
-            model.addAttribute("turmas", turmaService.listarTodasTurmas());
+            model.addAttribute("turmas", turmaService.listarResumoTurmas());
             return "aluno-form";
         }
     }
@@ -263,7 +277,7 @@ public class AlunoController {
             aluno = ensureEnderecoInitialized(aluno);
             model.addAttribute("aluno", aluno);
             model.addAttribute("isNew", false);
-            model.addAttribute("turmas", turmaService.listarTodasTurmas());
+            model.addAttribute("turmas", turmaService.listarResumoTurmas());
             return "aluno-form";
         } catch (Exception e) {
             logger.error("Erro ao carregar formulário de edição para ID {}: ", id, e);
@@ -281,7 +295,7 @@ public class AlunoController {
             alunoAtualizado = ensureEnderecoInitialized(alunoAtualizado);
             model.addAttribute("aluno", alunoAtualizado);
             model.addAttribute("isNew", false);
-            model.addAttribute("turmas", turmaService.listarTodasTurmas());
+            model.addAttribute("turmas", turmaService.listarResumoTurmas());
             return "aluno-form";
         }
         try {
@@ -308,7 +322,7 @@ public class AlunoController {
             model.addAttribute("aluno", alunoAtualizado);
             model.addAttribute("error", "Erro ao atualizar aluno: " + e.getMessage());
             model.addAttribute("isNew", false);
-            model.addAttribute("turmas", turmaService.listarTodasTurmas());
+            model.addAttribute("turmas", turmaService.listarResumoTurmas());
             return "aluno-form";
         }
     }
@@ -359,7 +373,7 @@ public class AlunoController {
                     .map(this::convertToDTO)
                     .orElseThrow(() -> new RuntimeException("Aluno não encontrado com ID: " + id));
             model.addAttribute("aluno", aluno);
-            model.addAttribute("turmas", turmaService.listarTodasTurmas());
+            model.addAttribute("turmas", turmaService.listarResumoTurmas());
             return "aluno-turma";
         } catch (Exception e) {
             logger.error("Erro ao carregar associação de turma para ID {}: ", id, e);
@@ -1,6 +1,7 @@
 package br.com.arirang.plataforma.controller;
 
 import br.com.arirang.plataforma.dto.AlunoDTO;
+import br.com.arirang.plataforma.dto.PaginaDTO;
 import br.com.arirang.plataforma.entity.Aluno;
 import br.com.arirang.plataforma.service.AlunoService;
 import org.slf4j.Logger;
@@ -62,6 +63,12 @@ public class AlunoRestController {
         return ResponseEntity.ok(alunos);
     }
 
+    @GetMapping("/pagina")
+    public ResponseEntity<PaginaDTO<AlunoDTO>> listarAlunosPagina(@RequestParam(value = "cursor", required = false) String cursor,
+                                                                 @RequestParam(value = "tamanho", required = false) Integer tamanho) {
+        return ResponseEntity.ok(alunoService.listarAlunosPagina(cursor, tamanho).map(this::convertToDTO));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<AlunoDTO> buscarAlunoPorId(@PathVariable Long id) {
         return alunoService.buscarAlunoPorId(id)
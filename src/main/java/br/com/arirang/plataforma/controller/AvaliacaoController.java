@@ -3,7 +3,7 @@ package br.com.arirang.plataforma.controller;
 import br.com.arirang.plataforma.dto.AvaliacaoDTO;
 import br.com.arirang.plataforma.dto.NotaAvaliacaoDTO;
 import br.com.arirang.plataforma.dto.TurmaDTO;
-import br.com.arirang.plataforma.entity.Turma;
+import br.com.arirang.plataforma.dto.TurmaResumoDTO;
 import br.com.arirang.plataforma.service.AvaliacaoService;
 import br.com.arirang.plataforma.service.TurmaService;
 import br.com.arirang.plataforma.entity.TipoNota;
@@ -62,9 +62,9 @@ public class AvaliacaoController {
                     .collect(Collectors.toList());
         }
 
-        List<Turma> turmas = turmaService.listarTodasTurmas();
+        List<TurmaResumoDTO> turmas = turmaService.listarResumoTurmas();
         List<TurmaDTO> turmasDTO = turmas.stream()
-            .map(turma -> TurmaDTO.simple(turma.getId(), turma.getNomeTurma(), turma.getNivelProficiencia()))
+            .map(turma -> TurmaDTO.simple(turma.id(), turma.nomeTurma(), turma.nivelProficiencia()))
             .collect(Collectors.toList());
 
         model.addAttribute("avaliacoes", avaliacoes);
@@ -78,9 +78,9 @@ public class AvaliacaoController {
     public String novaAvaliacaoForm(Model model) {
         logger.info("Carregando formulário de nova avaliação");
 
-        List<Turma> turmas = turmaService.listarTodasTurmas();
+        List<TurmaResumoDTO> turmas = turmaService.listarResumoTurmas();
         List<TurmaDTO> turmasDTO = turmas.stream()
-            .map(turma -> TurmaDTO.simple(turma.getId(), turma.getNomeTurma(), turma.getNivelProficiencia()))
+            .map(turma -> TurmaDTO.simple(turma.id(), turma.nomeTurma(), turma.nivelProficiencia()))
             .collect(Collectors.toList());
 
         model.addAttribute("avaliacaoDTO", new AvaliacaoDTO(null, null, null, null, null, null, LocalDate.now(), null, null, 1, 100, true, null));
@@ -99,9 +99,9 @@ public class AvaliacaoController {
 
         if (result.hasErrors()) {
             logger.warn("Erros de validação ao criar avaliação: {}", result.getAllErrors());
-            List<Turma> turmas = turmaService.listarTodasTurmas();
+            List<TurmaResumoDTO> turmas = turmaService.listarResumoTurmas();
             List<TurmaDTO> turmasDTO = turmas.stream()
-                .map(turma -> TurmaDTO.simple(turma.getId(), turma.getNomeTurma(), turma.getNivelProficiencia()))
+                .map(turma -> TurmaDTO.simple(turma.id(), turma.nomeTurma(), turma.nivelProficiencia()))
                 .collect(Collectors.toList());
             model.addAttribute("turmas", turmasDTO);
             model.addAttribute("tiposAvaliacao", TipoNota.values());
@@ -115,9 +115,9 @@ public class AvaliacaoController {
         } catch (Exception e) {
             logger.error("Erro ao criar avaliação: {}", e.getMessage(), e);
             redirectAttributes.addFlashAttribute("errorMessage", "Erro ao criar avaliação: " + e.getMessage());
-            List<Turma> turmas = turmaService.listarTodasTurmas();
+            List<TurmaResumoDTO> turmas = turmaService.listarResumoTurmas();
             List<TurmaDTO> turmasDTO = turmas.stream()
-                .map(turma -> TurmaDTO.simple(turma.getId(), turma.getNomeTurma(), turma.getNivelProficiencia()))
+                .map(turma -> TurmaDTO.simple(turma.id(), turma.nomeTurma(), turma.nivelProficiencia()))
                 .collect(Collectors.toList());
             model.addAttribute("turmas", turmasDTO);
             model.addAttribute("tiposAvaliacao", TipoNota.values());
@@ -133,9 +133,9 @@ public class AvaliacaoController {
             AvaliacaoDTO avaliacao = avaliacaoService.buscarAvaliacaoPorId(id)
                 .orElseThrow(() -> new RuntimeException("Avaliação não encontrada"));
 
-            List<Turma> turmas = turmaService.listarTodasTurmas();
+            List<TurmaResumoDTO> turmas = turmaService.listarResumoTurmas();
             List<TurmaDTO> turmasDTO = turmas.stream()
-                .map(turma -> TurmaDTO.simple(turma.getId(), turma.getNomeTurma(), turma.getNivelProficiencia()))
+                .map(turma -> TurmaDTO.simple(turma.id(), turma.nomeTurma(), turma.nivelProficiencia()))
                 .collect(Collectors.toList());
 
             model.addAttribute("avaliacaoDTO", avaliacao);
@@ -161,9 +161,9 @@ public class AvaliacaoController {
 
         if (result.hasErrors()) {
             logger.warn("Erros de validação ao atualizar avaliação ID {}: {}", id, result.getAllErrors());
-            List<Turma> turmas = turmaService.listarTodasTurmas();
+            List<TurmaResumoDTO> turmas = turmaService.listarResumoTurmas();
             List<TurmaDTO> turmasDTO = turmas.stream()
-                .map(turma -> TurmaDTO.simple(turma.getId(), turma.getNomeTurma(), turma.getNivelProficiencia()))
+                .map(turma -> TurmaDTO.simple(turma.id(), turma.nomeTurma(), turma.nivelProficiencia()))
                 .collect(Collectors.toList());
             model.addAttribute("turmas", turmasDTO);
             model.addAttribute("tiposAvaliacao", TipoNota.values());
@@ -177,9 +177,9 @@ public class AvaliacaoController {
         } catch (Exception e) {
             logger.error("Erro ao atualizar avaliação ID {}: {}", id, e.getMessage(), e);
             redirectAttributes.addFlashAttribute("errorMessage", "Erro ao atualizar avaliação: " + e.getMessage());
-            List<Turma> turmas = turmaService.listarTodasTurmas();
+            List<TurmaResumoDTO> turmas = turmaService.listarResumoTurmas();
             List<TurmaDTO> turmasDTO = turmas.stream()
-                .map(turma -> TurmaDTO.simple(turma.getId(), turma.getNomeTurma(), turma.getNivelProficiencia()))
+                .map(turma -> TurmaDTO.simple(turma.id(), turma.nomeTurma(), turma.nivelProficiencia()))
                 .collect(Collectors.toList());
             model.addAttribute("turmas", turmasDTO);
             model.addAttribute("tiposAvaliacao", TipoNota.values());
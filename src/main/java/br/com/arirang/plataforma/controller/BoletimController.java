@@ -1,7 +1,9 @@
 package br.com.arirang.plataforma.controller;
 
 import br.com.arirang.plataforma.dto.BoletimDTO;
+import br.com.arirang.plataforma.dto.TurmaResumoDTO;
 import br.com.arirang.plataforma.dto.NotaDTO;
+import br.com.arirang.plataforma.dto.EstatisticasBoletinsDTO;
 import br.com.arirang.plataforma.dto.AlunoTurmaDTO;
 import br.com.arirang.plataforma.dto.TurmaDTO;
 import br.com.arirang.plataforma.entity.Aluno;
@@ -54,7 +56,7 @@ public class BoletimController {
             
             // Carregar alunos e turmas para os filtros usando DTOs
             List<Aluno> alunos = alunoService.listarTodosAlunos();
-            List<Turma> turmas = turmaService.listarTodasTurmas();
+            List<TurmaResumoDTO> turmas = turmaService.listarResumoTurmas();
             
             // Converter entidades para DTOs para evitar serialização circular
             List<AlunoTurmaDTO> alunosDTO = alunos.stream()
@@ -69,7 +71,7 @@ public class BoletimController {
                 .toList();
             
             List<TurmaDTO> turmasDTO = turmas.stream()
-                .map(turma -> TurmaDTO.simple(turma.getId(), turma.getNomeTurma(), turma.getNivelProficiencia()))
+                .map(turma -> TurmaDTO.simple(turma.id(), turma.nomeTurma(), turma.nivelProficiencia()))
                 .toList();
             
             model.addAttribute("alunos", alunosDTO);
@@ -275,25 +277,55 @@ public class BoletimController {
         }
     }
 
+    @Autowired
+    private br.com.arirang.plataforma.service.BoletimLoteService boletimLoteService;
+
+    /**
+     * Inicia a geração em lote dos PDFs dos boletins finalizados da turma
+     */
+    @PostMapping("/turma/{turmaId}/lote-pdf")
+    @ResponseBody
+    public org.springframework.http.ResponseEntity<br.com.arirang.plataforma.dto.LoteBoletinsDTO> iniciarLotePdf(@PathVariable Long turmaId) {
+        return org.springframework.http.ResponseEntity.accepted().body(boletimLoteService.iniciarLote(turmaId));
+    }
+
+    /**
+     * Progresso de um lote de PDFs
+     */
+    @GetMapping("/lote-pdf/{loteId}")
+    @ResponseBody
+    public br.com.arirang.plataforma.dto.LoteBoletinsDTO consultarLotePdf(@PathVariable String loteId) {
+        return boletimLoteService.consultarLote(loteId);
+    }
+
+    /**
+     * Download do ZIP com os PDFs de um lote concluído
+     */
+    @GetMapping("/lote-pdf/{loteId}/download")
+    public org.springframework.http.ResponseEntity<byte[]> downloadLotePdf(@PathVariable String loteId) {
+        br.com.arirang.plataforma.dto.LoteBoletinsDTO lote = boletimLoteService.consultarLote(loteId);
+        byte[] zip = boletimLoteService.obterArquivo(loteId);
+        String fileName = "boletins_turma_" + lote.turmaId() + ".zip";
+        return org.springframework.http.ResponseEntity.ok()
+                .header("Content-Disposition", "attachment; filename=\"" + fileName + "\"")
+                .contentType(org.springframework.http.MediaType.parseMediaType("application/zip"))
+                .body(zip);
+    }
+
     @GetMapping("/relatorio")
     public String relatorioBoletins(Model model) {
         try {
-            // Carregar dados reais de boletins
-            Long totalBoletins = boletimService.contarTotalBoletins();
-            Long boletinsPendentes = boletimService.contarBoletinsPendentes();
-            Long boletinsFinalizados = boletimService.contarBoletinsFinalizados();
-            Double mediaGeral = boletimService.calcularMediaGeral();
+            // Carregar dados reais de boletins (uma única consulta agregada)
+            EstatisticasBoletinsDTO estatisticas = boletimService.calcularEstatisticas();
             
-            model.addAttribute("totalBoletins", totalBoletins != null ? totalBoletins : 0);
-            model.addAttribute("boletinsPendentes", boletinsPendentes != null ? boletinsPendentes : 0);
-            model.addAttribute("boletinsFinalizados", boletinsFinalizados != null ? boletinsFinalizados : 0);
-            model.addAttribute("mediaGeral", mediaGeral != null ? mediaGeral : 0.0);
+            model.addAttribute("totalBoletins", estatisticas.total());
+            model.addAttribute("boletinsPendentes", estatisticas.pendentes());
+            model.addAttribute("boletinsFinalizados", estatisticas.finalizados());
+            model.addAttribute("mediaGeral", estatisticas.mediaGeral());
             
             // Dados para gráfico
-            Long aprovados = boletimService.contarAprovados();
-            Long reprovados = boletimService.contarReprovados();
-            model.addAttribute("aprovados", aprovados != null ? aprovados : 0);
-            model.addAttribute("reprovados", reprovados != null ? reprovados : 0);
+            model.addAttribute("aprovados", estatisticas.aprovados());
+            model.addAttribute("reprovados", estatisticas.reprovados());
             
             return "boletim-relatorio";
         } catch (Exception e) {
@@ -313,25 +345,26 @@ public class BoletimController {
             // Carregar todas as turmas COM alunos (usando JOIN FETCH)
             List<Turma> todasTurmas = turmaService.listarTodasTurmasComAlunos();
             
+            // Estatísticas de todas as turmas em uma única consulta agrupada
+            java.util.Map<Long, EstatisticasBoletinsDTO> estatisticasPorTurma = boletimService.calcularEstatisticasPorTurma();
+            
             // Criar DTOs com estatísticas
             List<TurmaRelatorioDTO> turmasRelatorio = todasTurmas.stream()
                     .map(turma -> {
                         // Agora podemos acessar alunos com segurança pois foram carregados com JOIN FETCH
                         Long totalAlunos = turma.getAlunos() != null ? (long) turma.getAlunos().size() : 0L;
-                        Double mediaGeral = boletimService.calcularMediaPorTurma(turma.getId());
-                        Long aprovados = boletimService.contarAprovadosPorTurma(turma.getId());
-                        Long reprovados = boletimService.contarReprovadosPorTurma(turma.getId());
-                        Double taxaAprovacao = boletimService.calcularTaxaAprovacaoPorTurma(turma.getId());
+                        EstatisticasBoletinsDTO estatisticas = estatisticasPorTurma.getOrDefault(
+                                turma.getId(), EstatisticasBoletinsDTO.vazia(turma.getId()));
                         
                         return new TurmaRelatorioDTO(
                                 turma.getId(),
                                 turma.getNomeTurma(),
                                 turma.getNivelProficiencia(),
                                 totalAlunos,
-                                mediaGeral != null ? mediaGeral : 0.0,
-                                taxaAprovacao != null ? taxaAprovacao : 0.0,
-                                aprovados != null ? aprovados : 0L,
-                                reprovados != null ? reprovados : 0L,
+                                estatisticas.mediaGeral(),
+                                estatisticas.taxaAprovacao(),
+                                estatisticas.aprovados(),
+                                estatisticas.reprovados(),
                                 turma.getSituacaoTurma() != null ? turma.getSituacaoTurma() : "ABERTA"
                         );
                     })
@@ -418,18 +451,15 @@ public class BoletimController {
             List<BoletimDTO> boletins = boletimService.buscarBoletinsPorTurmaAsDTO(turmaId);
             
             // Estatísticas da turma
-            Double mediaGeral = boletimService.calcularMediaPorTurma(turmaId);
-            Long aprovados = boletimService.contarAprovadosPorTurma(turmaId);
-            Long reprovados = boletimService.contarReprovadosPorTurma(turmaId);
-            Double taxaAprovacao = boletimService.calcularTaxaAprovacaoPorTurma(turmaId);
+            EstatisticasBoletinsDTO estatisticas = boletimService.calcularEstatisticasTurma(turmaId);
             
             model.addAttribute("turma", turma);
             model.addAttribute("boletins", boletins);
             model.addAttribute("totalAlunos", turma.getAlunos() != null ? turma.getAlunos().size() : 0);
-            model.addAttribute("mediaGeral", mediaGeral != null ? mediaGeral : 0.0);
-            model.addAttribute("aprovados", aprovados != null ? aprovados : 0L);
-            model.addAttribute("reprovados", reprovados != null ? reprovados : 0L);
-            model.addAttribute("taxaAprovacao", taxaAprovacao != null ? taxaAprovacao : 0.0);
+            model.addAttribute("mediaGeral", estatisticas.mediaGeral());
+            model.addAttribute("aprovados", estatisticas.aprovados());
+            model.addAttribute("reprovados", estatisticas.reprovados());
+            model.addAttribute("taxaAprovacao", estatisticas.taxaAprovacao());
             
             return "boletim-relatorio-turma-detalhes";
         } catch (Exception e) {
@@ -506,8 +536,8 @@ public class BoletimController {
             model.addAttribute("alunos", alunosRelatorio);
             
             // Carregar turmas para filtro
-            List<TurmaDTO> turmasDTO = turmaService.listarTodasTurmas().stream()
-                    .map(turma -> TurmaDTO.simple(turma.getId(), turma.getNomeTurma(), turma.getNivelProficiencia()))
+            List<TurmaDTO> turmasDTO = turmaService.listarResumoTurmas().stream()
+                    .map(turma -> TurmaDTO.simple(turma.id(), turma.nomeTurma(), turma.nivelProficiencia()))
                     .collect(java.util.stream.Collectors.toList());
             model.addAttribute("turmas", turmasDTO);
             
@@ -536,27 +566,16 @@ public class BoletimController {
     @GetMapping("/relatorio/geral")
     public String relatorioGeral(Model model) {
         try {
-            // Estatísticas gerais
-            Long totalBoletins = boletimService.contarTotalBoletins();
-            Long boletinsPendentes = boletimService.contarBoletinsPendentes();
-            Long boletinsFinalizados = boletimService.contarBoletinsFinalizados();
-            Double mediaGeral = boletimService.calcularMediaGeral();
-            Long aprovados = boletimService.contarAprovados();
-            Long reprovados = boletimService.contarReprovados();
+            // Estatísticas gerais (uma única consulta agregada)
+            EstatisticasBoletinsDTO estatisticas = boletimService.calcularEstatisticas();
             
-            model.addAttribute("totalBoletins", totalBoletins != null ? totalBoletins : 0);
-            model.addAttribute("boletinsPendentes", boletinsPendentes != null ? boletinsPendentes : 0);
-            model.addAttribute("boletinsFinalizados", boletinsFinalizados != null ? boletinsFinalizados : 0);
-            model.addAttribute("mediaGeral", mediaGeral != null ? mediaGeral : 0.0);
-            model.addAttribute("aprovados", aprovados != null ? aprovados : 0);
-            model.addAttribute("reprovados", reprovados != null ? reprovados : 0);
-            
-            // Taxa de aprovação
-            double taxaAprovacao = 0.0;
-            if (boletinsFinalizados != null && boletinsFinalizados > 0 && aprovados != null) {
-                taxaAprovacao = Math.round((aprovados * 100.0 / boletinsFinalizados) * 100.0) / 100.0;
-            }
-            model.addAttribute("taxaAprovacao", taxaAprovacao);
+            model.addAttribute("totalBoletins", estatisticas.total());
+            model.addAttribute("boletinsPendentes", estatisticas.pendentes());
+            model.addAttribute("boletinsFinalizados", estatisticas.finalizados());
+            model.addAttribute("mediaGeral", estatisticas.mediaGeral());
+            model.addAttribute("aprovados", estatisticas.aprovados());
+            model.addAttribute("reprovados", estatisticas.reprovados());
+            model.addAttribute("taxaAprovacao", estatisticas.taxaAprovacao());
             
             // Estatísticas por turma (usar método que carrega alunos com JOIN FETCH)
             List<Turma> turmas = turmaService.listarTodasTurmasComAlunos();
@@ -601,7 +620,7 @@ public class BoletimController {
         try {
             // Carregar alunos com suas turmas relacionadas e turmas para seleção
             List<Aluno> alunos = alunoService.listarTodosAlunos();
-            List<Turma> turmas = turmaService.listarTodasTurmas();
+            List<TurmaResumoDTO> turmas = turmaService.listarResumoTurmas();
             
             logger.info("Carregados {} alunos e {} turmas", alunos.size(), turmas.size());
             
@@ -618,7 +637,7 @@ public class BoletimController {
                 .toList();
             
             List<TurmaDTO> turmasDTO = turmas.stream()
-                .map(turma -> TurmaDTO.simple(turma.getId(), turma.getNomeTurma(), turma.getNivelProficiencia()))
+                .map(turma -> TurmaDTO.simple(turma.id(), turma.nomeTurma(), turma.nivelProficiencia()))
                 .toList();
             
             // Log para debug das relações aluno-turma
@@ -646,7 +665,7 @@ public class BoletimController {
         try {
             // Carregar dados do aluno e turmas disponíveis
             model.addAttribute("aluno", alunoService.buscarAlunoPorId(alunoId).orElse(null));
-            model.addAttribute("turmas", turmaService.listarTodasTurmas());
+            model.addAttribute("turmas", turmaService.listarResumoTurmas());
             model.addAttribute("alunoId", alunoId);
             return "boletim-novo-aluno";
         } catch (Exception e) {
@@ -671,12 +690,26 @@ public class BoletimController {
         }
     }
 
+    /**
+     * Cria de uma vez os boletins de todos os alunos da turma que ainda não possuem um
+     */
+    @PostMapping("/novo/turma/{turmaId}/todos")
+    public String criarBoletinsDaTurma(@PathVariable Long turmaId) {
+        try {
+            int criados = boletimService.criarBoletinsDaTurma(turmaId);
+            return "redirect:/boletim/novo/turma/" + turmaId + "?success=" + criados + " boletim(ns) criado(s)";
+        } catch (Exception e) {
+            logger.error("Erro ao criar boletins da turma: ", e);
+            return "redirect:/boletim/novo/turma/" + turmaId + "?error=" + e.getMessage();
+        }
+    }
+
     @GetMapping("/debug")
     @ResponseBody
     public String debugAlunosETurmas() {
         try {
             List<Aluno> alunos = alunoService.listarTodosAlunos();
-            List<Turma> turmas = turmaService.listarTodasTurmas();
+            List<TurmaResumoDTO> turmas = turmaService.listarResumoTurmas();
             
             StringBuilder debug = new StringBuilder();
             debug.append("=== DEBUG ALUNOS E TURMAS ===\n");
@@ -700,10 +733,10 @@ public class BoletimController {
             }
             
             debug.append("\n=== TURMAS ===\n");
-            for (Turma turma : turmas) {
-                debug.append("ID: ").append(turma.getId())
-                     .append(" | Nome: ").append(turma.getNomeTurma())
-                     .append(" | Nível: ").append(turma.getNivelProficiencia()).append("\n");
+            for (TurmaResumoDTO turma : turmas) {
+                debug.append("ID: ").append(turma.id())
+                     .append(" | Nome: ").append(turma.nomeTurma())
+                     .append(" | Nível: ").append(turma.nivelProficiencia()).append("\n");
             }
             
             return debug.toString();
@@ -745,9 +778,9 @@ public class BoletimController {
                         .collect(java.util.stream.Collectors.toList());
             }
 
-            List<Turma> turmas = turmaService.listarTodasTurmas();
+            List<TurmaResumoDTO> turmas = turmaService.listarResumoTurmas();
             List<TurmaDTO> turmasDTO = turmas.stream()
-                .map(turma -> TurmaDTO.simple(turma.getId(), turma.getNomeTurma(), turma.getNivelProficiencia()))
+                .map(turma -> TurmaDTO.simple(turma.id(), turma.nomeTurma(), turma.nivelProficiencia()))
                 .collect(java.util.stream.Collectors.toList());
 
             model.addAttribute("avaliacoes", avaliacoes);
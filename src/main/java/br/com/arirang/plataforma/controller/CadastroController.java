@@ -1,8 +1,8 @@
 package br.com.arirang.plataforma.controller;
 
+import br.com.arirang.plataforma.dto.TurmaResumoDTO;
 import br.com.arirang.plataforma.entity.Aluno;
 import br.com.arirang.plataforma.entity.Professor;
-import br.com.arirang.plataforma.entity.Turma;
 import br.com.arirang.plataforma.service.AlunoService;
 import br.com.arirang.plataforma.service.ProfessorService;
 import br.com.arirang.plataforma.service.TurmaService;
@@ -53,14 +53,14 @@ public class CadastroController {
                     .collect(Collectors.toList()));
 
             // Adicionar Turmas (simplificado, sem e-mail)
-            List<Turma> turmas = turmaService.listarTodasTurmas();
+            List<TurmaResumoDTO> turmas = turmaService.listarResumoTurmas();
             if (search != null && !search.trim().isEmpty()) {
                 turmas = turmas.stream()
-                        .filter(turma -> turma.getNomeTurma().toLowerCase().contains(search.toLowerCase()))
+                        .filter(turma -> turma.nomeTurma().toLowerCase().contains(search.toLowerCase()))
                         .collect(Collectors.toList());
             }
             cadastros.addAll(turmas.stream()
-                    .map(turma -> new CadastroItem("Turma", turma.getId(), turma.getNomeTurma(), null, null))
+                    .map(turma -> new CadastroItem("Turma", turma.id(), turma.nomeTurma(), null, null))
                     .collect(Collectors.toList()));
 
             // Adicionar Professores
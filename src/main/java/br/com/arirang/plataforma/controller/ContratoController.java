@@ -518,13 +518,14 @@ public class ContratoController {
     public String migrarParcelasParaDataInicioVigencia(RedirectAttributes redirectAttributes) {
         try {
             logger.info("Iniciando migração de parcelas para dataInicioVigencia");
-            int contratosAtualizados = contratoService.migrarParcelasParaDataInicioVigencia();
+            br.com.arirang.plataforma.entity.MigracaoDados migracao = contratoService.migrarParcelasParaDataInicioVigencia();
             
             redirectAttributes.addFlashAttribute("success", 
-                String.format("Migração concluída com sucesso! %d contratos tiveram suas parcelas atualizadas.", 
-                    contratosAtualizados));
+                String.format("Migração concluída com sucesso! %d de %d contratos tiveram suas parcelas atualizadas (%d parcelas, %.2f contratos/s).", 
+                    migracao.getRegistrosAlterados(), migracao.getRegistrosProcessados(),
+                    migracao.getItensAlterados(), migracao.getRegistrosPorSegundo()));
             
-            logger.info("Migração concluída: {} contratos atualizados", contratosAtualizados);
+            logger.info("Migração concluída: {} contratos atualizados", migracao.getRegistrosAlterados());
             return "redirect:/contratos";
             
         } catch (Exception e) {
@@ -545,13 +546,14 @@ public class ContratoController {
     public String migrarValoresParcelasParaIncluirMatricula(RedirectAttributes redirectAttributes) {
         try {
             logger.info("Iniciando migração de valores de parcelas para incluir matrícula");
-            int contratosAtualizados = contratoService.migrarValoresParcelasParaIncluirMatricula();
+            br.com.arirang.plataforma.entity.MigracaoDados migracao = contratoService.migrarValoresParcelasParaIncluirMatricula();
             
             redirectAttributes.addFlashAttribute("success", 
-                String.format("Migração de valores concluída com sucesso! %d contratos tiveram os valores de suas parcelas atualizados.", 
-                    contratosAtualizados));
+                String.format("Migração de valores concluída com sucesso! %d de %d contratos tiveram os valores de suas parcelas atualizados (%d parcelas, %.2f contratos/s).", 
+                    migracao.getRegistrosAlterados(), migracao.getRegistrosProcessados(),
+                    migracao.getItensAlterados(), migracao.getRegistrosPorSegundo()));
             
-            logger.info("Migração de valores concluída: {} contratos atualizados", contratosAtualizados);
+            logger.info("Migração de valores concluída: {} contratos atualizados", migracao.getRegistrosAlterados());
             return "redirect:/contratos";
             
         } catch (Exception e) {
@@ -12,8 +12,10 @@ import br.com.arirang.plataforma.entity.Aluno;
 import br.com.arirang.plataforma.entity.Turma;
 import br.com.arirang.plataforma.entity.Contrato;
 import br.com.arirang.plataforma.entity.Parcela;
-import br.com.arirang.plataforma.entity.StatusParcela;
 import br.com.arirang.plataforma.dto.ContratoDTO;
+import br.com.arirang.plataforma.dto.PaginaDTO;
+import br.com.arirang.plataforma.dto.SincronizacaoFinanceiraDTO;
+import br.com.arirang.plataforma.dto.TurmaResumoDTO;
 import br.com.arirang.plataforma.service.AlunoService;
 import br.com.arirang.plataforma.service.TurmaService;
 import br.com.arirang.plataforma.service.ContratoService;
@@ -59,16 +61,19 @@ public class ContratoV2Controller {
     private ContratoRepository contratoRepository;
 
     @GetMapping
-    public String listarContratos(Model model) {
+    public String listarContratos(@RequestParam(value = "cursor", required = false) String cursor,
+                                  @RequestParam(value = "tamanho", required = false) Integer tamanho,
+                                  Model model) {
         try {
             logger.info("Listando contratos reais do banco de dados");
             
-            // Buscar contratos reais do banco de dados
-            List<ContratoDTO> contratosReais = contratoService.buscarContratosAtivos();
-            logger.info("Contratos encontrados: {}", contratosReais.size());
+            // Contratos ativos, uma página por vez (keyset), mais recentes primeiro
+            PaginaDTO<ContratoDTO> pagina = contratoService.listarContratosPagina("ATIVO", cursor, tamanho);
+            logger.info("Contratos nesta página: {}", pagina.itens().size());
             
-            model.addAttribute("contratos", contratosReais);
-            model.addAttribute("totalContratos", contratosReais.size());
+            model.addAttribute("contratos", pagina.itens());
+            model.addAttribute("pagina", pagina);
+            model.addAttribute("totalContratos", contratoService.contarContratosPorSituacao("ATIVO"));
             return "contratos-v2/lista";
         } catch (Exception e) {
             logger.error("Erro ao listar contratos: ", e);
@@ -137,7 +142,7 @@ public class ContratoV2Controller {
             
             // Carregar alunos (com turmas) e turmas do banco de dados
             List<Aluno> alunos = alunoService.listarTodosAlunos();
-            List<Turma> turmas = turmaService.listarTodasTurmas();
+            List<TurmaResumoDTO> turmas = turmaService.listarResumoTurmas();
             
             logger.info("Carregados {} alunos e {} turmas", alunos.size(), turmas.size());
             
@@ -407,55 +412,43 @@ public class ContratoV2Controller {
 
     @GetMapping("/sincronizar-financeiro")
     public String sincronizarComFinanceiro(RedirectAttributes redirectAttributes) {
-        try {
-            logger.info("Iniciando sincronização de contratos com sistema financeiro");
-            
-            // Buscar contratos ativos para sincronizar
-            List<ContratoDTO> contratosAtivos = contratoService.buscarContratosAtivos();
-            logger.info("Encontrados {} contratos ativos para sincronização", contratosAtivos.size());
-            
-            if (contratosAtivos.isEmpty()) {
-                redirectAttributes.addFlashAttribute("warning", "Nenhum contrato ativo encontrado para sincronização.");
-                return "redirect:/contratos-v2";
-            }
-            
-            // Sincronizar TODAS as parcelas de todos os contratos ativos
-            financeiroSyncService.sincronizarTodosContratosAtivos();
-            
-            redirectAttributes.addFlashAttribute("success", 
-                String.format("✅ Sincronização concluída! %d contratos ativos foram sincronizados com o sistema financeiro (TODAS as parcelas).", contratosAtivos.size()));
-            return "redirect:/contratos-v2";
-            
-        } catch (Exception e) {
-            logger.error("Erro ao sincronizar contratos com financeiro: ", e);
-            redirectAttributes.addFlashAttribute("error", "❌ Erro na sincronização: " + e.getMessage());
-            return "redirect:/contratos-v2";
-        }
+        return iniciarSincronizacaoFinanceira(redirectAttributes, "redirect:/contratos-v2");
     }
 
     @GetMapping("/sincronizar-financeiro-real")
     public String sincronizarContratosReaisComFinanceiro(RedirectAttributes redirectAttributes) {
+        return iniciarSincronizacaoFinanceira(redirectAttributes, "redirect:/financeiro");
+    }
+
+    /**
+     * Situação da sincronização com o financeiro em segundo plano (para acompanhar o progresso)
+     */
+    @GetMapping("/sincronizar-financeiro/status")
+    @ResponseBody
+    public ResponseEntity<SincronizacaoFinanceiraDTO> statusSincronizacaoFinanceira() {
+        return financeiroSyncService.consultarSincronizacao()
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.noContent().build());
+    }
+
+    private String iniciarSincronizacaoFinanceira(RedirectAttributes redirectAttributes, String redirecionamento) {
         try {
-            logger.info("Iniciando sincronização de contratos REAIS com sistema financeiro");
+            logger.info("Iniciando sincronização de contratos com sistema financeiro");
             
-            // Buscar contratos ativos para sincronizar
-            List<ContratoDTO> contratosAtivos = contratoService.buscarContratosAtivos();
-            logger.info("Encontrados {} contratos ativos para sincronização", contratosAtivos.size());
+            // Sincronizar TODAS as parcelas de todos os contratos ativos, em segundo plano
+            SincronizacaoFinanceiraDTO sincronizacao = financeiroSyncService.iniciarSincronizacaoContratosAtivos();
             
-            if (contratosAtivos.isEmpty()) {
-                redirectAttributes.addFlashAttribute("warning", "Nenhum contrato ativo encontrado para sincronização.");
-                return "redirect:/financeiro";
+            if ("PROCESSANDO".equals(sincronizacao.status()) && sincronizacao.total() > 0) {
+                redirectAttributes.addFlashAttribute("success", 
+                    String.format("✅ Sincronização iniciada em segundo plano: %d parcelas de contratos ativos sem movimento financeiro (%d já sincronizadas). Acompanhe em /contratos-v2/sincronizar-financeiro/status.",
+                            sincronizacao.total(), sincronizacao.sincronizadas()));
+            } else {
+                redirectAttributes.addFlashAttribute("warning", "Nenhuma parcela de contrato ativo pendente de sincronização.");
             }
-            
-            // Sincronizar TODAS as parcelas de todos os contratos ativos
-            financeiroSyncService.sincronizarTodosContratosAtivos();
-            
-            redirectAttributes.addFlashAttribute("success", 
-                String.format("✅ Sincronização REAL concluída! %d contratos ativos foram sincronizados com o sistema financeiro (TODAS as parcelas).", contratosAtivos.size()));
-            return "redirect:/financeiro";
+            return redirecionamento;
             
         } catch (Exception e) {
-            logger.error("Erro ao sincronizar contratos reais com financeiro: ", e);
+            logger.error("Erro ao sincronizar contratos com financeiro: ", e);
             redirectAttributes.addFlashAttribute("error", "❌ Erro na sincronização: " + e.getMessage());
             return "redirect:/contratos-v2";
         }
@@ -542,44 +535,12 @@ public class ContratoV2Controller {
             if (parcelasExistentes.isEmpty()) {
                 logger.info("Criando parcelas manualmente...");
                 
-                List<Parcela> parcelas = new ArrayList<>();
-                // Usar dataInicioVigencia se disponível, caso contrário usar dataContrato
-                LocalDate dataBase = contrato.getDataInicioVigencia() != null 
-                        ? contrato.getDataInicioVigencia() 
-                        : contrato.getDataContrato();
-                LocalDate dataVencimento = dataBase.plusMonths(1);
-                
-                for (int i = 1; i <= contrato.getNumeroParcelas(); i++) {
-                    Parcela parcela = new Parcela();
-                    parcela.setContrato(contrato);
-                    parcela.setNumeroParcela(i);
-                    
-                    // Primeira parcela: valor da matrícula + valor da mensalidade
-                    // Demais parcelas: apenas valor da mensalidade
-                    BigDecimal valorParcela;
-                    if (i == 1) {
-                        valorParcela = contrato.getValorMensalidade();
-                        if (contrato.getValorMatricula() != null) {
-                            valorParcela = valorParcela.add(contrato.getValorMatricula());
-                        }
-                    } else {
-                        valorParcela = contrato.getValorMensalidade();
-                    }
-                    
-                    parcela.setValorParcela(valorParcela);
-                    parcela.setDataVencimento(dataVencimento);
-                    parcela.setStatusParcela(StatusParcela.PENDENTE);
-                    
-                    parcelas.add(parcela);
-                    logger.info("Parcela {} criada: valor={}, vencimento={}", i, parcela.getValorParcela(), parcela.getDataVencimento());
-                    dataVencimento = dataVencimento.plusMonths(1);
-                }
-                
-                parcelaRepository.saveAll(parcelas);
-                logger.info("Parcelas salvas: {}", parcelas.size());
+                // Pelo serviço, que também atualiza o snapshot do dashboard da turma
+                int parcelasGeradas = contratoService.gerarParcelasSeAusentes(contrato.getId());
+                logger.info("Parcelas salvas: {}", parcelasGeradas);
                 
                 redirectAttributes.addFlashAttribute("success", 
-                    String.format("Parcelas criadas com sucesso! %d parcelas para contrato ID %d", parcelas.size(), contrato.getId()));
+                    String.format("Parcelas criadas com sucesso! %d parcelas para contrato ID %d", parcelasGeradas, contrato.getId()));
             } else {
                 redirectAttributes.addFlashAttribute("info", 
                     String.format("Contrato já possui %d parcelas", parcelasExistentes.size()));
@@ -39,7 +39,7 @@ public class DocumentoController {
             if (alunoId == null || turmaId == null) {
                 // Carregar alunos e turmas para o formulário
                 model.addAttribute("alunos", alunoService.listarTodosAlunos());
-                model.addAttribute("turmas", turmaService.listarTodasTurmas());
+                model.addAttribute("turmas", turmaService.listarResumoTurmas());
                 return "documentos/declaracao-matricula-form";
             }
             
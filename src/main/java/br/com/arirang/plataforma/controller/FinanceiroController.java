@@ -2,6 +2,7 @@ package br.com.arirang.plataforma.controller;
 
 import br.com.arirang.plataforma.dto.AlunoDTO;
 import br.com.arirang.plataforma.dto.PagamentoDTO;
+import br.com.arirang.plataforma.dto.PaginaDTO;
 import br.com.arirang.plataforma.dto.ReceitaDTO;
 import br.com.arirang.plataforma.entity.Aluno;
 import br.com.arirang.plataforma.entity.Pagamento;
@@ -53,6 +54,12 @@ public class FinanceiroController {
     @Autowired
     private br.com.arirang.plataforma.service.MensalidadeService mensalidadeService;
     
+    @Autowired
+    private br.com.arirang.plataforma.service.DashboardSnapshotService dashboardSnapshotService;
+
+    @Autowired
+    private br.com.arirang.plataforma.service.ExportacaoFinanceiraService exportacaoFinanceiraService;
+    
     @Autowired
     private ParcelaRepository parcelaRepository;
     
@@ -75,8 +82,8 @@ public class FinanceiroController {
     @GetMapping
     public String dashboardFinanceiro(Model model) {
         try {
-            // Estatísticas de mensalidades (sincronizado com financeiro-mensalidades)
-            Map<String, Object> estatisticasMensalidades = mensalidadeService.calcularEstatisticasMensalidades();
+            // Estatísticas de mensalidades (snapshot materializado, mesmas regras de financeiro-mensalidades)
+            Map<String, Object> estatisticasMensalidades = dashboardSnapshotService.obterEstatisticasMensalidades();
             model.addAttribute("estatisticasMensalidades", estatisticasMensalidades);
             
             // Estatísticas de pagamentos (para o card de Total Pago no mês)
@@ -107,6 +114,8 @@ public class FinanceiroController {
                                 @RequestParam(value = "dataInicio", required = false) String dataInicio,
                                 @RequestParam(value = "dataFim", required = false) String dataFim,
                                 @RequestParam(value = "search", required = false) String search,
+                                @RequestParam(value = "cursor", required = false) String cursor,
+                                @RequestParam(value = "tamanho", required = false) Integer tamanho,
                                 Model model) {
         try {
             List<ReceitaDTO> receitas;
@@ -117,6 +126,12 @@ public class FinanceiroController {
                         .stream()
                         .filter(r -> r.alunoNome().toLowerCase().contains(search.toLowerCase()))
                         .toList();
+            } else if (alunoId == null && contratoId == null && situacao == null && tipoReceita == null
+                    && dataInicio == null && dataFim == null) {
+                // Sem filtros: listagem paginada
+                PaginaDTO<ReceitaDTO> pagina = receitaService.listarReceitasPagina(cursor, tamanho);
+                receitas = pagina.itens();
+                model.addAttribute("pagina", pagina);
             } else {
                 LocalDate inicio = dataInicio != null ? LocalDate.parse(dataInicio) : null;
                 LocalDate fim = dataFim != null ? LocalDate.parse(dataFim) : null;
@@ -154,6 +169,8 @@ public class FinanceiroController {
                                   @RequestParam(value = "dataInicio", required = false) String dataInicio,
                                   @RequestParam(value = "dataFim", required = false) String dataFim,
                                   @RequestParam(value = "search", required = false) String search,
+                                  @RequestParam(value = "cursor", required = false) String cursor,
+                                  @RequestParam(value = "tamanho", required = false) Integer tamanho,
                                   Model model) {
         try {
             List<PagamentoDTO> pagamentos;
@@ -164,6 +181,11 @@ public class FinanceiroController {
                         .stream()
                         .filter(p -> p.alunoNome() != null && p.alunoNome().toLowerCase().contains(search.toLowerCase()))
                         .toList();
+            } else if (alunoId == null && formaPagamento == null && dataInicio == null && dataFim == null) {
+                // Sem filtros: listagem paginada
+                PaginaDTO<PagamentoDTO> pagina = pagamentoService.listarPagamentosPagina(cursor, tamanho);
+                pagamentos = pagina.itens();
+                model.addAttribute("pagina", pagina);
             } else {
                 LocalDate inicio = dataInicio != null ? LocalDate.parse(dataInicio) : null;
                 LocalDate fim = dataFim != null ? LocalDate.parse(dataFim) : null;
@@ -188,6 +210,28 @@ public class FinanceiroController {
         return "financeiro-pagamentos";
     }
 
+    /**
+     * Exporta pagamentos em CSV (streaming), com os mesmos filtros da listagem
+     */
+    @GetMapping("/pagamentos/exportar")
+    public void exportarPagamentos(@RequestParam(value = "alunoId", required = false) Long alunoId,
+                                   @RequestParam(value = "formaPagamento", required = false) String formaPagamento,
+                                   @RequestParam(value = "dataInicio", required = false) String dataInicio,
+                                   @RequestParam(value = "dataFim", required = false) String dataFim,
+                                   jakarta.servlet.http.HttpServletResponse response) {
+        try {
+            LocalDate inicio = dataInicio != null && !dataInicio.isBlank() ? LocalDate.parse(dataInicio) : null;
+            LocalDate fim = dataFim != null && !dataFim.isBlank() ? LocalDate.parse(dataFim) : null;
+            String forma = formaPagamento != null && !formaPagamento.isBlank() ? formaPagamento : null;
+
+            java.io.Writer writer = prepararRespostaCsv(response, "pagamentos");
+            exportacaoFinanceiraService.exportarPagamentosCsv(alunoId, forma, inicio, fim, writer);
+        } catch (Exception e) {
+            logger.error("Erro ao exportar pagamentos: ", e);
+            enviarErroExportacao(response, e);
+        }
+    }
+
     /**
      * Formulário para novo pagamento
      */
@@ -1042,6 +1086,8 @@ public class FinanceiroController {
                                     @RequestParam(value = "dataInicio", required = false) String dataInicio,
                                     @RequestParam(value = "dataFim", required = false) String dataFim,
                                     @RequestParam(value = "search", required = false) String search,
+                                    @RequestParam(value = "cursor", required = false) String cursor,
+                                    @RequestParam(value = "tamanho", required = false) Integer tamanho,
                                     Model model) {
         try {
             List<br.com.arirang.plataforma.dto.MensalidadeDTO> mensalidades;
@@ -1098,10 +1144,13 @@ public class FinanceiroController {
                                  m.statusParcela() == br.com.arirang.plataforma.entity.StatusParcela.EM_ATRASO))
                         .collect(java.util.stream.Collectors.toList());
             } else {
-                // Por padrão, mostrar apenas pendentes e em atraso
-                mensalidades = mensalidadeService.listarMensalidadesPorStatus(br.com.arirang.plataforma.entity.StatusParcela.PENDENTE);
-                List<br.com.arirang.plataforma.dto.MensalidadeDTO> emAtraso = mensalidadeService.listarMensalidadesPorStatus(br.com.arirang.plataforma.entity.StatusParcela.EM_ATRASO);
-                mensalidades.addAll(emAtraso);
+                // Por padrão, mostrar apenas pendentes e em atraso, paginadas
+                PaginaDTO<br.com.arirang.plataforma.dto.MensalidadeDTO> pagina = mensalidadeService.listarMensalidadesPagina(
+                        List.of(br.com.arirang.plataforma.entity.StatusParcela.PENDENTE,
+                                br.com.arirang.plataforma.entity.StatusParcela.EM_ATRASO),
+                        cursor, tamanho);
+                mensalidades = pagina.itens();
+                model.addAttribute("pagina", pagina);
             }
             
             // Estatísticas (apenas para referência, não afeta a listagem)
@@ -1128,6 +1177,58 @@ public class FinanceiroController {
         return "financeiro-mensalidades";
     }
     
+    /**
+     * Exporta mensalidades em CSV (streaming), filtrando por status e período de vencimento
+     */
+    @GetMapping("/mensalidades/exportar")
+    public void exportarMensalidades(@RequestParam(value = "status", required = false) String status,
+                                     @RequestParam(value = "dataInicio", required = false) String dataInicio,
+                                     @RequestParam(value = "dataFim", required = false) String dataFim,
+                                     jakarta.servlet.http.HttpServletResponse response) {
+        try {
+            br.com.arirang.plataforma.entity.StatusParcela statusEnum = status != null && !status.isBlank()
+                    ? br.com.arirang.plataforma.entity.StatusParcela.valueOf(status)
+                    : null;
+            LocalDate inicio = dataInicio != null && !dataInicio.isBlank() ? LocalDate.parse(dataInicio) : null;
+            LocalDate fim = dataFim != null && !dataFim.isBlank() ? LocalDate.parse(dataFim) : null;
+
+            java.io.Writer writer = prepararRespostaCsv(response, "mensalidades");
+            exportacaoFinanceiraService.exportarMensalidadesCsv(statusEnum, inicio, fim, writer);
+        } catch (Exception e) {
+            logger.error("Erro ao exportar mensalidades: ", e);
+            enviarErroExportacao(response, e);
+        }
+    }
+
+    private java.io.Writer prepararRespostaCsv(jakarta.servlet.http.HttpServletResponse response, String nome)
+            throws java.io.IOException {
+        String fileName = nome + "_" + LocalDate.now() + ".csv";
+        response.setContentType("text/csv; charset=UTF-8");
+        response.setHeader("Content-Disposition", "attachment; filename=\"" + fileName + "\"");
+        java.io.Writer writer = new java.io.BufferedWriter(new java.io.OutputStreamWriter(
+                response.getOutputStream(), java.nio.charset.StandardCharsets.UTF_8));
+        // BOM para o Excel reconhecer UTF-8 (acentos)
+        writer.write('\uFEFF');
+        return writer;
+    }
+
+    private void enviarErroExportacao(jakarta.servlet.http.HttpServletResponse response, Exception e) {
+        // Depois que as primeiras linhas foram enviadas não é mais possível trocar o status da resposta
+        if (response.isCommitted()) {
+            return;
+        }
+        boolean filtroInvalido = e instanceof IllegalArgumentException || e instanceof java.time.DateTimeException;
+        try {
+            response.reset();
+            response.sendError(filtroInvalido
+                            ? jakarta.servlet.http.HttpServletResponse.SC_BAD_REQUEST
+                            : jakarta.servlet.http.HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
+                    "Erro ao exportar: " + e.getMessage());
+        } catch (java.io.IOException ioException) {
+            logger.error("Erro ao enviar resposta de erro: ", ioException);
+        }
+    }
+
     /**
      * Endpoint para sincronizar status das parcelas (corrigir parcelas pagas que aparecem como pendentes)
      */
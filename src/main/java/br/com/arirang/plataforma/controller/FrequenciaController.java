@@ -1,5 +1,6 @@
 package br.com.arirang.plataforma.controller;
 
+import br.com.arirang.plataforma.dto.AlertaFrequenciaDTO;
 import br.com.arirang.plataforma.dto.FrequenciaDTO;
 import br.com.arirang.plataforma.dto.FrequenciaFormDTO;
 import br.com.arirang.plataforma.dto.RelatorioFrequenciaDTO;
@@ -57,7 +58,7 @@ public class FrequenciaController {
         }
         
         // Listar todas as turmas para seleção
-        List<br.com.arirang.plataforma.entity.Turma> turmas = turmaService.listarTodasTurmas();
+        List<br.com.arirang.plataforma.dto.TurmaResumoDTO> turmas = turmaService.listarResumoTurmas();
         model.addAttribute("turmas", turmas);
         model.addAttribute("dataAula", dataAula);
         model.addAttribute("turmaId", turmaId);
@@ -206,6 +207,36 @@ public class FrequenciaController {
         return "frequencia/relatorio-turma";
     }
 
+    /**
+     * Relatório de frequência de todos os alunos da turma (JSON), calculado em uma única agregação
+     */
+    @GetMapping("/relatorio/turma/{turmaId}/alunos")
+    @ResponseBody
+    public List<RelatorioFrequenciaDTO> relatorioTurmaCompleto(
+            @PathVariable Long turmaId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+            @RequestParam(required = false) Double percentualMinimo) {
+        
+        if (dataInicio == null) {
+            dataInicio = LocalDate.now().minusMonths(1);
+        }
+        if (dataFim == null) {
+            dataFim = LocalDate.now();
+        }
+
+        return frequenciaService.gerarRelatorioTurma(turmaId, dataInicio, dataFim, percentualMinimo);
+    }
+
+    /**
+     * Alertas gravados pela última verificação diária de frequência baixa (JSON)
+     */
+    @GetMapping("/alertas/ultima-execucao")
+    @ResponseBody
+    public List<AlertaFrequenciaDTO> alertasUltimaExecucao() {
+        return frequenciaAlertaService.listarAlertasUltimaExecucao();
+    }
+
     /**
      * Alertas de frequência baixa
      */
@@ -228,7 +259,7 @@ public class FrequenciaController {
         }
 
         // Listar todas as turmas para o filtro
-        List<br.com.arirang.plataforma.entity.Turma> turmas = turmaService.listarTodasTurmas();
+        List<br.com.arirang.plataforma.dto.TurmaResumoDTO> turmas = turmaService.listarResumoTurmas();
         model.addAttribute("turmas", turmas);
 
         List<RelatorioFrequenciaDTO> alertas;
@@ -238,9 +269,9 @@ public class FrequenciaController {
         } else {
             // Listar alertas de todas as turmas
             alertas = new java.util.ArrayList<>();
-            for (br.com.arirang.plataforma.entity.Turma turma : turmas) {
+            for (br.com.arirang.plataforma.dto.TurmaResumoDTO turma : turmas) {
                 List<RelatorioFrequenciaDTO> alertasTurma = frequenciaAlertaService.gerarAlertasTurma(
-                        turma.getId(), dataInicio, dataFim, percentualMinimo);
+                        turma.id(), dataInicio, dataFim, percentualMinimo);
                 alertas.addAll(alertasTurma);
             }
         }
@@ -56,7 +56,7 @@ public class ProfessorController {
             }
             
             // Carregar turmas para o filtro
-            var turmas = turmaService.listarTodasTurmas();
+            var turmas = turmaService.listarResumoTurmas();
             
             model.addAttribute("professores", professores);
             model.addAttribute("turmas", turmas);
@@ -77,7 +77,7 @@ public class ProfessorController {
             // Criar um objeto vazio para o formulário (usando o DTO interno para compatibilidade com o form)
             ProfessorFormDTO formDTO = new ProfessorFormDTO();
             model.addAttribute("professor", formDTO);
-            model.addAttribute("turmas", turmaService.listarTodasTurmas());
+            model.addAttribute("turmas", turmaService.listarResumoTurmas());
             return "professor-form";
         } catch (Exception e) {
             logger.error("Erro ao carregar formulário de novo professor: ", e);
@@ -107,7 +107,7 @@ public class ProfessorController {
             formDTO.setTurmaIds(professorDTO.turmaIds() != null ? professorDTO.turmaIds() : new java.util.ArrayList<>());
             
             model.addAttribute("professor", formDTO);
-            model.addAttribute("turmas", turmaService.listarTodasTurmas());
+            model.addAttribute("turmas", turmaService.listarResumoTurmas());
             return "professor-form";
         } catch (Exception e) {
             logger.error("Erro ao carregar formulário de edição para professor ID {}: ", id, e);
@@ -133,7 +133,7 @@ public class ProfessorController {
             if (bindingResult.hasErrors()) {
                 logger.warn("Erros de validação encontrados: {}", bindingResult.getAllErrors());
                 model.addAttribute("professor", formDTO);
-                model.addAttribute("turmas", turmaService.listarTodasTurmas());
+                model.addAttribute("turmas", turmaService.listarResumoTurmas());
                 return "professor-form";
             }
             
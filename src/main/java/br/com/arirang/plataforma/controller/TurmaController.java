@@ -1,12 +1,17 @@
 package br.com.arirang.plataforma.controller;
 
 import br.com.arirang.plataforma.dto.AlunoDTO;
+import br.com.arirang.plataforma.dto.HistoricoAlteracaoTurmaDTO;
+import br.com.arirang.plataforma.dto.PaginaDTO;
 import br.com.arirang.plataforma.dto.TurmaDTO;
+import br.com.arirang.plataforma.dto.TurmaResumoDTO;
+import br.com.arirang.plataforma.dto.TurmaSugestaoDTO;
 import br.com.arirang.plataforma.entity.Aluno;
 import br.com.arirang.plataforma.entity.Turma;
 import br.com.arirang.plataforma.enums.Turno;
 import br.com.arirang.plataforma.enums.Formato;
 import br.com.arirang.plataforma.enums.Modalidade;
+import br.com.arirang.plataforma.service.AuditoriaTurmaService;
 import br.com.arirang.plataforma.service.ProfessorService;
 import br.com.arirang.plataforma.service.TurmaService;
 import br.com.arirang.plataforma.repository.ContratoRepository;
@@ -300,51 +305,19 @@ public class TurmaController {
     }
 
     @GetMapping
-    public String listarTodasTurmas(@RequestParam(value = "search", required = false) String search, Model model) {
+    public String listarTodasTurmas(@RequestParam(value = "search", required = false) String search,
+                                    @RequestParam(value = "cursor", required = false) String cursor,
+                                    @RequestParam(value = "tamanho", required = false) Integer tamanho,
+                                    Model model) {
         try {
-            List<Turma> turmas = turmaService.listarTodasTurmas();
-            
-            // Aplicar filtro de busca se fornecido
+            List<TurmaResumoDTO> turmas;
             if (search != null && !search.trim().isEmpty()) {
-                turmas = turmas.stream()
-                        .filter(turma -> {
-                            String searchLower = search.toLowerCase();
-                            // Busca por ID
-                            if (turma.getId().toString().contains(search)) {
-                                return true;
-                            }
-                            // Busca por nome da turma
-                            if (turma.getNomeTurma().toLowerCase().contains(searchLower)) {
-                                return true;
-                            }
-                            // Busca por professor responsável - não implementado na entidade Turma
-                            // if (turma.getProfessorResponsavel() != null && 
-                            //     turma.getProfessorResponsavel().getNomeCompleto().toLowerCase().contains(searchLower)) {
-                            //     return true;
-                            // }
-                            // Busca por nível de proficiência
-                            if (turma.getNivelProficiencia() != null && 
-                                turma.getNivelProficiencia().toLowerCase().contains(searchLower)) {
-                                return true;
-                            }
-                            // Busca por turno
-                            if (turma.getTurno() != null && 
-                                turma.getTurno().getDescricao().toLowerCase().contains(searchLower)) {
-                                return true;
-                            }
-                            // Busca por formato
-                            if (turma.getFormato() != null && 
-                                turma.getFormato().getDescricao().toLowerCase().contains(searchLower)) {
-                                return true;
-                            }
-                            // Busca por modalidade
-                            if (turma.getModalidade() != null && 
-                                turma.getModalidade().getDescricao().toLowerCase().contains(searchLower)) {
-                                return true;
-                            }
-                            return false;
-                        })
-                        .collect(Collectors.toList());
+                // Busca no banco (colunas normalizadas), paginada
+                PaginaDTO<TurmaResumoDTO> pagina = turmaService.buscarTurmas(search, cursor, tamanho);
+                turmas = pagina.itens();
+                model.addAttribute("pagina", pagina);
+            } else {
+                turmas = turmaService.listarResumoTurmas();
             }
             
             model.addAttribute("turmas", turmas);
@@ -357,6 +330,16 @@ public class TurmaController {
         }
     }
 
+    /**
+     * Autocompletar do campo de busca: turmas cujo nome começa com o texto digitado
+     */
+    @GetMapping("/sugestoes")
+    @ResponseBody
+    public List<TurmaSugestaoDTO> sugerirTurmas(@RequestParam("q") String prefixo,
+                                                @RequestParam(value = "limite", required = false) Integer limite) {
+        return turmaService.sugerirTurmas(prefixo, limite);
+    }
+
     @GetMapping("/editar/{id}")
     public String editarTurmaForm(@PathVariable Long id, Model model) {
         try {
@@ -658,11 +641,14 @@ public class TurmaController {
                 logger.error("Erro ao verificar turma após atualização: ", e);
             }
             
-            // Buscar protocolo gerado
-            String protocolo = turmaService.gerarProtocoloAlteracao(id, usuario);
-            
-            redirectAttributes.addFlashAttribute("success", "Turma atualizada com sucesso. Protocolo: " + protocolo);
-            redirectAttributes.addFlashAttribute("protocolo", protocolo);
+            // Protocolo da auditoria registrada nesta atualização (ausente se a auditoria falhou)
+            Object protocolo = request.getAttribute(AuditoriaTurmaService.ATRIBUTO_PROTOCOLO);
+            if (protocolo != null) {
+                redirectAttributes.addFlashAttribute("success", "Turma atualizada com sucesso. Protocolo: " + protocolo);
+                redirectAttributes.addFlashAttribute("protocolo", protocolo);
+            } else {
+                redirectAttributes.addFlashAttribute("success", "Turma atualizada com sucesso.");
+            }
             logger.info("Redirecionando para /turmas após atualização bem-sucedida da turma ID {}", id);
             return "redirect:/turmas";
         } catch (Exception e) {
@@ -784,15 +770,19 @@ public class TurmaController {
     }
     
     @GetMapping("/historico/{id}")
-    public String historicoAlteracoes(@PathVariable Long id, Model model) {
+    public String historicoAlteracoes(@PathVariable Long id,
+                                      @RequestParam(value = "cursor", required = false) String cursor,
+                                      @RequestParam(value = "tamanho", required = false) Integer tamanho,
+                                      Model model) {
         try {
             TurmaDTO turma = turmaService.buscarTurmaPorIdAsDTO(id)
                     .orElseThrow(() -> new RuntimeException("Turma não encontrada com ID: " + id));
             
-            List<br.com.arirang.plataforma.entity.AuditoriaTurma> historico = turmaService.buscarHistoricoAlteracoes(id);
+            PaginaDTO<HistoricoAlteracaoTurmaDTO> pagina = turmaService.buscarHistoricoAlteracoes(id, cursor, tamanho);
             
             model.addAttribute("turma", turma);
-            model.addAttribute("historico", historico);
+            model.addAttribute("historico", pagina.itens());
+            model.addAttribute("pagina", pagina);
             return "turma-historico";
         } catch (Exception e) {
             logger.error("Erro ao carregar histórico para turma ID {}: ", id, e);
@@ -1,6 +1,7 @@
 package br.com.arirang.plataforma.controller;
 
 import br.com.arirang.plataforma.dto.TurmaDTO;
+import br.com.arirang.plataforma.dto.PaginaDTO;
 import br.com.arirang.plataforma.entity.Aluno;
 import br.com.arirang.plataforma.entity.Turma;
 import br.com.arirang.plataforma.service.TurmaService;
@@ -58,6 +59,12 @@ public class TurmaRestController {
         return ResponseEntity.ok(turmas);
     }
 
+    @GetMapping("/pagina")
+    public ResponseEntity<PaginaDTO<TurmaDTO>> listarPagina(@RequestParam(value = "cursor", required = false) String cursor,
+                                                           @RequestParam(value = "tamanho", required = false) Integer tamanho) {
+        return ResponseEntity.ok(turmaService.listarTurmasPagina(cursor, tamanho).map(this::convertToDTO));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<TurmaDTO> buscar(@PathVariable Long id) {
         return turmaService.buscarTurmaPorIdAsDTO(id)
@@ -0,0 +1,38 @@
+package br.com.arirang.plataforma.dto;
+
+import br.com.arirang.plataforma.entity.AlertaFrequencia;
+
+import java.time.LocalDateTime;
+
+/**
+ * Alerta de frequência baixa gravado por uma execução da verificação diária
+ */
+public record AlertaFrequenciaDTO(
+        Long id,
+        Long execucaoId,
+        Long turmaId,
+        String turmaNome,
+        Long alunoId,
+        String alunoNome,
+        long totalAulas,
+        long totalPresencas,
+        double percentualFrequencia,
+        double percentualMinimo,
+        LocalDateTime dataGeracao
+) {
+    public static AlertaFrequenciaDTO fromEntity(AlertaFrequencia alerta) {
+        return new AlertaFrequenciaDTO(
+                alerta.getId(),
+                alerta.getExecucaoId(),
+                alerta.getTurmaId(),
+                alerta.getTurmaNome(),
+                alerta.getAlunoId(),
+                alerta.getAlunoNome(),
+                alerta.getTotalAulas(),
+                alerta.getTotalPresencas(),
+                alerta.getPercentualFrequencia(),
+                alerta.getPercentualMinimo(),
+                alerta.getDataGeracao()
+        );
+    }
+}
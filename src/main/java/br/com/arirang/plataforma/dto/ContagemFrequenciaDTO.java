@@ -0,0 +1,23 @@
+package br.com.arirang.plataforma.dto;
+
+/**
+ * Contagem de registros de frequência de um aluno em uma turma e período, no total e por tipo de presença.
+ * Preenchida diretamente pela consulta agregada (SELECT new ...), sem carregar entidades.
+ */
+public record ContagemFrequenciaDTO(
+        Long alunoId,
+        String alunoNome,
+        Long registros,
+        Long presencas,
+        Long faltas,
+        Long faltasJustificadas,
+        Long atrasos
+) {
+    public ContagemFrequenciaDTO {
+        registros = registros != null ? registros : 0L;
+        presencas = presencas != null ? presencas : 0L;
+        faltas = faltas != null ? faltas : 0L;
+        faltasJustificadas = faltasJustificadas != null ? faltasJustificadas : 0L;
+        atrasos = atrasos != null ? atrasos : 0L;
+    }
+}
@@ -0,0 +1,73 @@
+package br.com.arirang.plataforma.dto;
+
+import java.util.Collection;
+
+/**
+ * Estatísticas de boletins de uma turma (ou gerais, com turmaId nulo).
+ * Preenchida pela consulta agregada agrupada por turma (SELECT new ...); as estatísticas
+ * gerais são a soma das linhas das turmas. A média é guardada como soma e quantidade
+ * para que a média geral seja ponderada pelo número de boletins, e não pela média das turmas.
+ */
+public record EstatisticasBoletinsDTO(
+        Long turmaId,
+        Long total,
+        Long finalizados,
+        Long aprovados,
+        Long reprovados,
+        Double somaMedias,
+        Long quantidadeMedias
+) {
+    public EstatisticasBoletinsDTO {
+        total = total != null ? total : 0L;
+        finalizados = finalizados != null ? finalizados : 0L;
+        aprovados = aprovados != null ? aprovados : 0L;
+        reprovados = reprovados != null ? reprovados : 0L;
+        somaMedias = somaMedias != null ? somaMedias : 0.0;
+        quantidadeMedias = quantidadeMedias != null ? quantidadeMedias : 0L;
+    }
+
+    public static EstatisticasBoletinsDTO vazia(Long turmaId) {
+        return new EstatisticasBoletinsDTO(turmaId, 0L, 0L, 0L, 0L, 0.0, 0L);
+    }
+
+    /**
+     * Soma as estatísticas das turmas em uma estatística geral
+     */
+    public static EstatisticasBoletinsDTO somar(Collection<EstatisticasBoletinsDTO> porTurma) {
+        long total = 0, finalizados = 0, aprovados = 0, reprovados = 0, quantidadeMedias = 0;
+        double somaMedias = 0.0;
+        for (EstatisticasBoletinsDTO e : porTurma) {
+            total += e.total();
+            finalizados += e.finalizados();
+            aprovados += e.aprovados();
+            reprovados += e.reprovados();
+            somaMedias += e.somaMedias();
+            quantidadeMedias += e.quantidadeMedias();
+        }
+        return new EstatisticasBoletinsDTO(null, total, finalizados, aprovados, reprovados, somaMedias, quantidadeMedias);
+    }
+
+    public Long pendentes() {
+        return total - finalizados;
+    }
+
+    /**
+     * Média das médias finais dos boletins finalizados, com duas casas decimais
+     */
+    public Double mediaGeral() {
+        if (quantidadeMedias == 0) {
+            return 0.0;
+        }
+        return Math.round((somaMedias / quantidadeMedias) * 100.0) / 100.0;
+    }
+
+    /**
+     * Percentual de aprovados entre os boletins finalizados, com duas casas decimais
+     */
+    public Double taxaAprovacao() {
+        if (finalizados == 0) {
+            return 0.0;
+        }
+        return Math.round((aprovados * 100.0 / finalizados) * 100.0) / 100.0;
+    }
+}
@@ -0,0 +1,16 @@
+package br.com.arirang.plataforma.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Item do histórico de alterações de uma turma (sem os JSONs de antes/depois)
+ */
+public record HistoricoAlteracaoTurmaDTO(
+        Long id,
+        String protocolo,
+        LocalDateTime dataAlteracao,
+        String usuario,
+        String justificativa,
+        String alteracoesDetalhadas,
+        String ipAddress
+) {}
@@ -0,0 +1,20 @@
+package br.com.arirang.plataforma.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Situação de um lote de geração de PDFs de boletins de uma turma.
+ * status: PROCESSANDO, CONCLUIDO ou FALHOU
+ */
+public record LoteBoletinsDTO(
+        String id,
+        Long turmaId,
+        String status,
+        int total,
+        int processados,
+        int falhas,
+        int percentual,
+        LocalDateTime dataInicio,
+        LocalDateTime dataConclusao,
+        String mensagem
+) {}
@@ -1,5 +1,7 @@
 package br.com.arirang.plataforma.dto;
 
+import br.com.arirang.plataforma.entity.TipoNota;
+
 public record PadraoBoletimDTO(
         Long id,
         Long turmaId,
@@ -13,4 +15,23 @@ public record PadraoBoletimDTO(
         String descricaoCompreensaoEscrita,
         String descricaoProvaFinal,
         String descricaoPresenca
-) {}
+) {
+    /**
+     * Descrição padrão para um tipo de nota (mesma regra de PadraoBoletim.getDescricaoPorTipo)
+     */
+    public String descricaoPorTipo(TipoNota tipoNota) {
+        if (tipoNota == null) return null;
+
+        return switch (tipoNota) {
+            case EXERCICIO -> descricaoExercicio;
+            case TRABALHO -> descricaoTrabalho;
+            case AVALIACAO -> descricaoAvaliacao;
+            case PRODUCAO_ORAL -> descricaoProducaoOral;
+            case PRODUCAO_ESCRITA -> descricaoProducaoEscrita;
+            case COMPREENSAO_ORAL -> descricaoCompreensaoOral;
+            case COMPREENSAO_ESCRITA -> descricaoCompreensaoEscrita;
+            case PROVA_FINAL -> descricaoProvaFinal;
+            case PRESENCA -> descricaoPresenca;
+        };
+    }
+}
@@ -0,0 +1,43 @@
+package br.com.arirang.plataforma.dto;
+
+import br.com.arirang.plataforma.util.PaginacaoUtil;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Página de uma listagem paginada por chave (keyset).
+ * proximoCursor é null na última página.
+ */
+public record PaginaDTO<T>(
+        List<T> itens,
+        int tamanho,
+        boolean temProxima,
+        String proximoCursor
+) {
+
+    /**
+     * Monta a página a partir de uma fatia do repositório.
+     * O cursor é calculado sobre a última entidade lida, antes da conversão
+     * (itens descartados na conversão não interrompem a navegação).
+     */
+    public static <E, T> PaginaDTO<T> de(Slice<E> fatia,
+                                         Function<E, T> conversor,
+                                         Function<E, PaginacaoUtil.Cursor> chave) {
+        List<E> conteudo = fatia.getContent();
+        List<T> itens = conteudo.stream()
+                .map(conversor)
+                .filter(Objects::nonNull)
+                .toList();
+        String proximoCursor = fatia.hasNext() && !conteudo.isEmpty()
+                ? chave.apply(conteudo.get(conteudo.size() - 1)).codificar()
+                : null;
+        return new PaginaDTO<>(itens, fatia.getSize(), fatia.hasNext(), proximoCursor);
+    }
+
+    public <R> PaginaDTO<R> map(Function<T, R> conversor) {
+        return new PaginaDTO<>(itens.stream().map(conversor).toList(), tamanho, temProxima, proximoCursor);
+    }
+}
@@ -0,0 +1,18 @@
+package br.com.arirang.plataforma.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Parcela de contrato que ainda não tem movimento financeiro (consulta anti-join de
+ * FinanceiroContratoSyncService); traz apenas as colunas usadas para inserir o movimento.
+ */
+public record ParcelaSemMovimentoDTO(
+        Long parcelaId,
+        Long contratoId,
+        Long alunoId,
+        Integer numeroParcela,
+        Integer numeroParcelas,
+        BigDecimal valorParcela,
+        LocalDate dataVencimento
+) {}
@@ -0,0 +1,18 @@
+package br.com.arirang.plataforma.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Projeção genérica de contagem e soma por grupo (situação, forma de pagamento, etc.).
+ * Preenchida diretamente pela consulta (SELECT new ...), sem carregar entidades.
+ */
+public record ResumoAgregadoDTO(
+        String chave,
+        Long quantidade,
+        BigDecimal valorTotal
+) {
+    public ResumoAgregadoDTO {
+        quantidade = quantidade != null ? quantidade : 0L;
+        valorTotal = valorTotal != null ? valorTotal : BigDecimal.ZERO;
+    }
+}
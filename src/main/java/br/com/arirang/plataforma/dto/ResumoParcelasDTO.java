@@ -0,0 +1,26 @@
+package br.com.arirang.plataforma.dto;
+
+import br.com.arirang.plataforma.entity.StatusParcela;
+
+import java.math.BigDecimal;
+
+/**
+ * Projeção agregada de parcelas, agrupada por status e por situação de vencimento.
+ * Preenchida diretamente pela consulta (SELECT new ...), sem carregar entidades.
+ */
+public record ResumoParcelasDTO(
+        StatusParcela statusParcela,
+        Boolean vencida,
+        Long quantidade,
+        BigDecimal valorParcelas,
+        BigDecimal valorPago,
+        BigDecimal valorComJurosEMulta
+) {
+    public ResumoParcelasDTO {
+        vencida = vencida != null && vencida;
+        quantidade = quantidade != null ? quantidade : 0L;
+        valorParcelas = valorParcelas != null ? valorParcelas : BigDecimal.ZERO;
+        valorPago = valorPago != null ? valorPago : BigDecimal.ZERO;
+        valorComJurosEMulta = valorComJurosEMulta != null ? valorComJurosEMulta : BigDecimal.ZERO;
+    }
+}
@@ -0,0 +1,29 @@
+package br.com.arirang.plataforma.dto;
+
+import br.com.arirang.plataforma.entity.StatusParcela;
+
+import java.math.BigDecimal;
+
+/**
+ * Projeção agregada de parcelas por turma, mês de vencimento, status e situação de vencimento.
+ * Base para os totais materializados em DashboardSnapshot.
+ */
+public record ResumoParcelasMensalDTO(
+        Long turmaId,
+        Integer ano,
+        Integer mes,
+        StatusParcela statusParcela,
+        Boolean vencida,
+        Long quantidade,
+        BigDecimal valorParcelas,
+        BigDecimal valorPago,
+        BigDecimal valorComJurosEMulta
+) {
+    public ResumoParcelasMensalDTO {
+        vencida = vencida != null && vencida;
+        quantidade = quantidade != null ? quantidade : 0L;
+        valorParcelas = valorParcelas != null ? valorParcelas : BigDecimal.ZERO;
+        valorPago = valorPago != null ? valorPago : BigDecimal.ZERO;
+        valorComJurosEMulta = valorComJurosEMulta != null ? valorComJurosEMulta : BigDecimal.ZERO;
+    }
+}
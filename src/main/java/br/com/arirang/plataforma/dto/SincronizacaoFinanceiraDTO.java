@@ -0,0 +1,18 @@
+package br.com.arirang.plataforma.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Situação da sincronização em segundo plano dos contratos ativos com o financeiro.
+ * status: PROCESSANDO, CONCLUIDA ou FALHOU
+ */
+public record SincronizacaoFinanceiraDTO(
+        String id,
+        String status,
+        long total,
+        long sincronizadas,
+        int percentual,
+        LocalDateTime dataInicio,
+        LocalDateTime dataConclusao,
+        String mensagem
+) {}
@@ -0,0 +1,38 @@
+package br.com.arirang.plataforma.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Totais de mensalidades somados a partir de DashboardSnapshot.
+ */
+public record TotaisMensalidadesDTO(
+        Long totalMensalidades,
+        Long totalPendentes,
+        Long totalPagas,
+        Long totalVencidas,
+        BigDecimal valorTotalPendente,
+        BigDecimal valorTotalPago,
+        BigDecimal valorTotalVencido
+) {
+    public TotaisMensalidadesDTO {
+        totalMensalidades = totalMensalidades != null ? totalMensalidades : 0L;
+        totalPendentes = totalPendentes != null ? totalPendentes : 0L;
+        totalPagas = totalPagas != null ? totalPagas : 0L;
+        totalVencidas = totalVencidas != null ? totalVencidas : 0L;
+        valorTotalPendente = valorTotalPendente != null ? valorTotalPendente : BigDecimal.ZERO;
+        valorTotalPago = valorTotalPago != null ? valorTotalPago : BigDecimal.ZERO;
+        valorTotalVencido = valorTotalVencido != null ? valorTotalVencido : BigDecimal.ZERO;
+    }
+    
+    public java.util.Map<String, Object> toMap() {
+        return java.util.Map.of(
+                "totalMensalidades", totalMensalidades,
+                "totalPendentes", totalPendentes,
+                "totalPagas", totalPagas,
+                "totalVencidas", totalVencidas,
+                "valorTotalPendente", valorTotalPendente,
+                "valorTotalPago", valorTotalPago,
+                "valorTotalVencido", valorTotalVencido
+        );
+    }
+}
@@ -0,0 +1,28 @@
+package br.com.arirang.plataforma.dto;
+
+/**
+ * Soma e quantidade de notas mantidas no boletim comparadas às calculadas a partir das notas.
+ * Preenchida pela consulta de verificação (SELECT new ...).
+ */
+public record TotaisNotasBoletimDTO(
+        Long boletimId,
+        Long somaNotas,
+        Integer quantidadeNotas,
+        Long somaCalculada,
+        Long quantidadeCalculada
+) {
+    public TotaisNotasBoletimDTO {
+        somaCalculada = somaCalculada != null ? somaCalculada : 0L;
+        quantidadeCalculada = quantidadeCalculada != null ? quantidadeCalculada : 0L;
+    }
+
+    public boolean inicializado() {
+        return somaNotas != null && quantidadeNotas != null;
+    }
+
+    public boolean divergente() {
+        return !inicializado()
+                || somaNotas.longValue() != somaCalculada
+                || quantidadeNotas.longValue() != quantidadeCalculada;
+    }
+}
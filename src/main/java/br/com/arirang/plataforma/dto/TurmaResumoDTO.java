@@ -0,0 +1,24 @@
+package br.com.arirang.plataforma.dto;
+
+import br.com.arirang.plataforma.enums.Formato;
+import br.com.arirang.plataforma.enums.Modalidade;
+import br.com.arirang.plataforma.enums.Turno;
+
+/**
+ * Resumo imutável de uma turma: apenas o que a listagem de turmas e os seletores de turma usam.
+ * Preenchido diretamente pela consulta (SELECT new ...), sem carregar alunos nem o professor,
+ * e guardado no cache "turmasLista" no lugar das entidades.
+ */
+public record TurmaResumoDTO(
+        Long id,
+        String nomeTurma,
+        String idioma,
+        String nivelProficiencia,
+        Turno turno,
+        Formato formato,
+        Modalidade modalidade,
+        String situacaoTurma,
+        String calendarioPdf,
+        Long professorResponsavelId,
+        String professorResponsavelNome
+) {}
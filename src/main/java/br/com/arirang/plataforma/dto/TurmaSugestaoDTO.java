@@ -0,0 +1,9 @@
+package br.com.arirang.plataforma.dto;
+
+/**
+ * Sugestão do autocompletar de turmas (apenas o necessário para exibir e navegar)
+ */
+public record TurmaSugestaoDTO(
+        Long id,
+        String nomeTurma
+) {}
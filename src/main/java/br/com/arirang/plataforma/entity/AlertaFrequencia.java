@@ -0,0 +1,85 @@
+package br.com.arirang.plataforma.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Aluno com frequência abaixo do mínimo encontrado em uma execução da verificação diária.
+ * Guarda os números do relatório no momento da execução (não acompanha alterações posteriores).
+ */
+@Entity
+@Table(name = "alertas_frequencia",
+       indexes = {
+           @Index(name = "idx_alertas_frequencia_execucao", columnList = "execucao_id"),
+           @Index(name = "idx_alertas_frequencia_turma", columnList = "turma_id, data_geracao")
+       })
+public class AlertaFrequencia {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "execucao_id", nullable = false)
+    private Long execucaoId;
+    
+    @Column(name = "turma_id", nullable = false)
+    private Long turmaId;
+    
+    @Column(name = "turma_nome", length = 255)
+    private String turmaNome;
+    
+    @Column(name = "aluno_id", nullable = false)
+    private Long alunoId;
+    
+    @Column(name = "aluno_nome", length = 255)
+    private String alunoNome;
+    
+    @Column(name = "total_aulas", nullable = false)
+    private long totalAulas;
+    
+    @Column(name = "total_presencas", nullable = false)
+    private long totalPresencas;
+    
+    @Column(name = "percentual_frequencia", nullable = false)
+    private double percentualFrequencia;
+    
+    @Column(name = "percentual_minimo", nullable = false)
+    private double percentualMinimo;
+    
+    @Column(name = "data_geracao", nullable = false)
+    private LocalDateTime dataGeracao;
+    
+    // Getters e Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Long getExecucaoId() { return execucaoId; }
+    public void setExecucaoId(Long execucaoId) { this.execucaoId = execucaoId; }
+    
+    public Long getTurmaId() { return turmaId; }
+    public void setTurmaId(Long turmaId) { this.turmaId = turmaId; }
+    
+    public String getTurmaNome() { return turmaNome; }
+    public void setTurmaNome(String turmaNome) { this.turmaNome = turmaNome; }
+    
+    public Long getAlunoId() { return alunoId; }
+    public void setAlunoId(Long alunoId) { this.alunoId = alunoId; }
+    
+    public String getAlunoNome() { return alunoNome; }
+    public void setAlunoNome(String alunoNome) { this.alunoNome = alunoNome; }
+    
+    public long getTotalAulas() { return totalAulas; }
+    public void setTotalAulas(long totalAulas) { this.totalAulas = totalAulas; }
+    
+    public long getTotalPresencas() { return totalPresencas; }
+    public void setTotalPresencas(long totalPresencas) { this.totalPresencas = totalPresencas; }
+    
+    public double getPercentualFrequencia() { return percentualFrequencia; }
+    public void setPercentualFrequencia(double percentualFrequencia) { this.percentualFrequencia = percentualFrequencia; }
+    
+    public double getPercentualMinimo() { return percentualMinimo; }
+    public void setPercentualMinimo(double percentualMinimo) { this.percentualMinimo = percentualMinimo; }
+    
+    public LocalDateTime getDataGeracao() { return dataGeracao; }
+    public void setDataGeracao(LocalDateTime dataGeracao) { this.dataGeracao = dataGeracao; }
+}
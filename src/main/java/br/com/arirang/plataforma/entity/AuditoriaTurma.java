@@ -4,7 +4,8 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "auditoria_turma")
+@Table(name = "auditoria_turma",
+       indexes = @Index(name = "idx_auditoria_turma_turma_data", columnList = "turma_id, data_alteracao"))
 public class AuditoriaTurma {
     
     @Id
@@ -0,0 +1,55 @@
+package br.com.arirang.plataforma.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Registro de auditoria de turma arquivado (movido de auditoria_turma pelo arquivamento periódico).
+ * Mantém o mesmo id e protocolo do registro original; o registro completo fica em "conteudo",
+ * como JSON comprimido (GZIP).
+ */
+@Entity
+@Table(name = "auditoria_turma_arquivo",
+       indexes = @Index(name = "idx_auditoria_turma_arquivo_turma", columnList = "turma_id, data_alteracao"),
+       uniqueConstraints = @UniqueConstraint(name = "uk_auditoria_turma_arquivo_protocolo", columnNames = "protocolo"))
+public class AuditoriaTurmaArquivo {
+
+    // Mesmo id de auditoria_turma
+    @Id
+    private Long id;
+
+    @Column(name = "turma_id", nullable = false)
+    private Long turmaId;
+
+    @Column(name = "protocolo", nullable = false, length = 100)
+    private String protocolo;
+
+    @Column(name = "data_alteracao", nullable = false)
+    private LocalDateTime dataAlteracao;
+
+    @Lob
+    @Column(name = "conteudo", nullable = false)
+    private byte[] conteudo;
+
+    @Column(name = "data_arquivamento", nullable = false)
+    private LocalDateTime dataArquivamento;
+
+    // Getters e Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getTurmaId() { return turmaId; }
+    public void setTurmaId(Long turmaId) { this.turmaId = turmaId; }
+
+    public String getProtocolo() { return protocolo; }
+    public void setProtocolo(String protocolo) { this.protocolo = protocolo; }
+
+    public LocalDateTime getDataAlteracao() { return dataAlteracao; }
+    public void setDataAlteracao(LocalDateTime dataAlteracao) { this.dataAlteracao = dataAlteracao; }
+
+    public byte[] getConteudo() { return conteudo; }
+    public void setConteudo(byte[] conteudo) { this.conteudo = conteudo; }
+
+    public LocalDateTime getDataArquivamento() { return dataArquivamento; }
+    public void setDataArquivamento(LocalDateTime dataArquivamento) { this.dataArquivamento = dataArquivamento; }
+}
@@ -36,6 +36,14 @@ public class Boletim {
     @Column(name = "finalizado")
     private boolean finalizado = false;
     
+    // Soma e quantidade das notas, mantidas a cada nota incluída ou removida (média em O(1)).
+    // Nulas em boletins anteriores a estes campos, até a verificação preenchê-las.
+    @Column(name = "soma_notas")
+    private Long somaNotas;
+    
+    @Column(name = "quantidade_notas")
+    private Integer quantidadeNotas;
+    
     // Getters e Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -60,5 +68,11 @@ public class Boletim {
     
     public boolean isFinalizado() { return finalizado; }
     public void setFinalizado(boolean finalizado) { this.finalizado = finalizado; }
+    
+    public Long getSomaNotas() { return somaNotas; }
+    public void setSomaNotas(Long somaNotas) { this.somaNotas = somaNotas; }
+    
+    public Integer getQuantidadeNotas() { return quantidadeNotas; }
+    public void setQuantidadeNotas(Integer quantidadeNotas) { this.quantidadeNotas = quantidadeNotas; }
 }
 
@@ -0,0 +1,119 @@
+package br.com.arirang.plataforma.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Totais materializados de mensalidades por competência (mês de vencimento) e turma.
+ * Mantido por DashboardSnapshotService a partir das parcelas; não é editado manualmente.
+ */
+@Entity
+@Table(name = "dashboard_snapshot",
+       uniqueConstraints = @UniqueConstraint(name = "uk_dashboard_snapshot_competencia_turma",
+                                             columnNames = {"competencia", "turma_id"}),
+       indexes = @Index(name = "idx_dashboard_snapshot_turma", columnList = "turma_id"))
+public class DashboardSnapshot {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    // Primeiro dia do mês de vencimento das parcelas
+    @Column(name = "competencia", nullable = false)
+    private LocalDate competencia;
+    
+    @Column(name = "turma_id", nullable = false)
+    private Long turmaId;
+    
+    @Column(name = "qtd_total", nullable = false)
+    private long qtdTotal;
+    
+    @Column(name = "qtd_pendentes", nullable = false)
+    private long qtdPendentes;
+    
+    @Column(name = "valor_pendente", precision = 12, scale = 2, nullable = false)
+    private BigDecimal valorPendente = BigDecimal.ZERO;
+    
+    @Column(name = "qtd_pagas", nullable = false)
+    private long qtdPagas;
+    
+    @Column(name = "valor_pago", precision = 12, scale = 2, nullable = false)
+    private BigDecimal valorPago = BigDecimal.ZERO;
+    
+    @Column(name = "qtd_vencidas", nullable = false)
+    private long qtdVencidas;
+    
+    @Column(name = "valor_vencido", precision = 12, scale = 2, nullable = false)
+    private BigDecimal valorVencido = BigDecimal.ZERO;
+    
+    @Column(name = "data_atualizacao", nullable = false)
+    private LocalDateTime dataAtualizacao;
+    
+    public DashboardSnapshot() {
+        this.dataAtualizacao = LocalDateTime.now();
+    }
+    
+    public DashboardSnapshot(LocalDate competencia, Long turmaId) {
+        this();
+        this.competencia = competencia;
+        this.turmaId = turmaId;
+    }
+    
+    // Métodos de negócio
+    public boolean mesmosTotais(DashboardSnapshot outro) {
+        return qtdTotal == outro.qtdTotal
+                && qtdPendentes == outro.qtdPendentes
+                && qtdPagas == outro.qtdPagas
+                && qtdVencidas == outro.qtdVencidas
+                && valorPendente.compareTo(outro.valorPendente) == 0
+                && valorPago.compareTo(outro.valorPago) == 0
+                && valorVencido.compareTo(outro.valorVencido) == 0;
+    }
+    
+    public void copiarTotais(DashboardSnapshot origem) {
+        this.qtdTotal = origem.qtdTotal;
+        this.qtdPendentes = origem.qtdPendentes;
+        this.valorPendente = origem.valorPendente;
+        this.qtdPagas = origem.qtdPagas;
+        this.valorPago = origem.valorPago;
+        this.qtdVencidas = origem.qtdVencidas;
+        this.valorVencido = origem.valorVencido;
+        this.dataAtualizacao = LocalDateTime.now();
+    }
+    
+    // Getters e Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public LocalDate getCompetencia() { return competencia; }
+    public void setCompetencia(LocalDate competencia) { this.competencia = competencia; }
+    
+    public Long getTurmaId() { return turmaId; }
+    public void setTurmaId(Long turmaId) { this.turmaId = turmaId; }
+    
+    public long getQtdTotal() { return qtdTotal; }
+    public void setQtdTotal(long qtdTotal) { this.qtdTotal = qtdTotal; }
+    
+    public long getQtdPendentes() { return qtdPendentes; }
+    public void setQtdPendentes(long qtdPendentes) { this.qtdPendentes = qtdPendentes; }
+    
+    public BigDecimal getValorPendente() { return valorPendente; }
+    public void setValorPendente(BigDecimal valorPendente) { this.valorPendente = valorPendente; }
+    
+    public long getQtdPagas() { return qtdPagas; }
+    public void setQtdPagas(long qtdPagas) { this.qtdPagas = qtdPagas; }
+    
+    public BigDecimal getValorPago() { return valorPago; }
+    public void setValorPago(BigDecimal valorPago) { this.valorPago = valorPago; }
+    
+    public long getQtdVencidas() { return qtdVencidas; }
+    public void setQtdVencidas(long qtdVencidas) { this.qtdVencidas = qtdVencidas; }
+    
+    public BigDecimal getValorVencido() { return valorVencido; }
+    public void setValorVencido(BigDecimal valorVencido) { this.valorVencido = valorVencido; }
+    
+    public LocalDateTime getDataAtualizacao() { return dataAtualizacao; }
+    public void setDataAtualizacao(LocalDateTime dataAtualizacao) { this.dataAtualizacao = dataAtualizacao; }
+}
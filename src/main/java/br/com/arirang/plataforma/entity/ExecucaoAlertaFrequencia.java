@@ -0,0 +1,85 @@
+package br.com.arirang.plataforma.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Registro de uma execução da verificação de frequência baixa, com duração e vazão.
+ * Gravado por FrequenciaAlertaService; não é editado manualmente.
+ */
+@Entity
+@Table(name = "execucoes_alerta_frequencia",
+       indexes = @Index(name = "idx_execucoes_alerta_frequencia_inicio", columnList = "data_inicio"))
+public class ExecucaoAlertaFrequencia {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "data_inicio", nullable = false)
+    private LocalDateTime dataInicio;
+    
+    @Column(name = "data_fim")
+    private LocalDateTime dataFim;
+    
+    // EM_EXECUCAO, CONCLUIDA ou CONCLUIDA_COM_ERROS
+    @Column(name = "status", nullable = false, length = 30)
+    private String status;
+    
+    @Column(name = "periodo_inicio", nullable = false)
+    private LocalDate periodoInicio;
+    
+    @Column(name = "periodo_fim", nullable = false)
+    private LocalDate periodoFim;
+    
+    @Column(name = "turmas_processadas", nullable = false)
+    private int turmasProcessadas;
+    
+    @Column(name = "turmas_com_erro", nullable = false)
+    private int turmasComErro;
+    
+    @Column(name = "alertas_gerados", nullable = false)
+    private int alertasGerados;
+    
+    @Column(name = "duracao_ms")
+    private Long duracaoMs;
+    
+    // Turmas processadas por segundo
+    @Column(name = "turmas_por_segundo")
+    private Double turmasPorSegundo;
+    
+    // Getters e Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public LocalDateTime getDataInicio() { return dataInicio; }
+    public void setDataInicio(LocalDateTime dataInicio) { this.dataInicio = dataInicio; }
+    
+    public LocalDateTime getDataFim() { return dataFim; }
+    public void setDataFim(LocalDateTime dataFim) { this.dataFim = dataFim; }
+    
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    
+    public LocalDate getPeriodoInicio() { return periodoInicio; }
+    public void setPeriodoInicio(LocalDate periodoInicio) { this.periodoInicio = periodoInicio; }
+    
+    public LocalDate getPeriodoFim() { return periodoFim; }
+    public void setPeriodoFim(LocalDate periodoFim) { this.periodoFim = periodoFim; }
+    
+    public int getTurmasProcessadas() { return turmasProcessadas; }
+    public void setTurmasProcessadas(int turmasProcessadas) { this.turmasProcessadas = turmasProcessadas; }
+    
+    public int getTurmasComErro() { return turmasComErro; }
+    public void setTurmasComErro(int turmasComErro) { this.turmasComErro = turmasComErro; }
+    
+    public int getAlertasGerados() { return alertasGerados; }
+    public void setAlertasGerados(int alertasGerados) { this.alertasGerados = alertasGerados; }
+    
+    public Long getDuracaoMs() { return duracaoMs; }
+    public void setDuracaoMs(Long duracaoMs) { this.duracaoMs = duracaoMs; }
+    
+    public Double getTurmasPorSegundo() { return turmasPorSegundo; }
+    public void setTurmasPorSegundo(Double turmasPorSegundo) { this.turmasPorSegundo = turmasPorSegundo; }
+}
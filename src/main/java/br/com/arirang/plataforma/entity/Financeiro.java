@@ -8,7 +8,9 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "financeiro")
+@Table(name = "financeiro",
+       indexes = @Index(name = "idx_financeiro_numero_documento", columnList = "numero_documento"),
+       uniqueConstraints = @UniqueConstraint(name = "uk_financeiro_chave_idempotencia", columnNames = "chave_idempotencia"))
 public class Financeiro {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -62,6 +64,10 @@ public class Financeiro {
     @Column(name = "referencia", length = 100)
     private String referencia; // Ex: "Matrícula 2024.1", "Mensalidade Jan/2024"
     
+    // Chave única de movimentos gerados pelo sistema (ex: "PAG-15"); nula em lançamentos manuais
+    @Column(name = "chave_idempotencia", length = 50)
+    private String chaveIdempotencia;
+    
     @Column(name = "confirmado")
     private boolean confirmado = false;
     
@@ -143,6 +149,9 @@ public class Financeiro {
     public String getReferencia() { return referencia; }
     public void setReferencia(String referencia) { this.referencia = referencia; }
     
+    public String getChaveIdempotencia() { return chaveIdempotencia; }
+    public void setChaveIdempotencia(String chaveIdempotencia) { this.chaveIdempotencia = chaveIdempotencia; }
+    
     public boolean isConfirmado() { return confirmado; }
     public void setConfirmado(boolean confirmado) { this.confirmado = confirmado; }
     
@@ -0,0 +1,99 @@
+package br.com.arirang.plataforma.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Progresso de uma migração de dados em lotes (uma linha por migração).
+ * O checkpoint (ultimoIdProcessado) é gravado na mesma transação de cada lote, de modo que
+ * uma execução interrompida continua do lote seguinte. Gravado por MigracaoDadosService.
+ */
+@Entity
+@Table(name = "migracoes_dados",
+       uniqueConstraints = @UniqueConstraint(name = "uk_migracoes_dados_nome", columnNames = "nome"))
+public class MigracaoDados {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "nome", nullable = false, length = 100)
+    private String nome;
+    
+    // EM_EXECUCAO, CONCLUIDA ou FALHOU
+    @Column(name = "status", nullable = false, length = 30)
+    private String status;
+    
+    // Maior id já processado; o próximo lote começa depois dele
+    @Column(name = "ultimo_id_processado", nullable = false)
+    private Long ultimoIdProcessado = 0L;
+    
+    @Column(name = "registros_processados", nullable = false)
+    private long registrosProcessados;
+    
+    @Column(name = "registros_alterados", nullable = false)
+    private long registrosAlterados;
+    
+    // Linhas dependentes alteradas (ex.: parcelas dos contratos alterados)
+    @Column(name = "itens_alterados", nullable = false)
+    private long itensAlterados;
+    
+    @Column(name = "data_inicio", nullable = false)
+    private LocalDateTime dataInicio;
+    
+    @Column(name = "data_atualizacao")
+    private LocalDateTime dataAtualizacao;
+    
+    @Column(name = "data_fim")
+    private LocalDateTime dataFim;
+    
+    // Duração e vazão da última execução (não acumulam entre retomadas)
+    @Column(name = "duracao_ms")
+    private Long duracaoMs;
+    
+    @Column(name = "registros_por_segundo")
+    private Double registrosPorSegundo;
+    
+    @Column(name = "mensagem", length = 500)
+    private String mensagem;
+    
+    // Getters e Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public String getNome() { return nome; }
+    public void setNome(String nome) { this.nome = nome; }
+    
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    
+    public Long getUltimoIdProcessado() { return ultimoIdProcessado; }
+    public void setUltimoIdProcessado(Long ultimoIdProcessado) { this.ultimoIdProcessado = ultimoIdProcessado; }
+    
+    public long getRegistrosProcessados() { return registrosProcessados; }
+    public void setRegistrosProcessados(long registrosProcessados) { this.registrosProcessados = registrosProcessados; }
+    
+    public long getRegistrosAlterados() { return registrosAlterados; }
+    public void setRegistrosAlterados(long registrosAlterados) { this.registrosAlterados = registrosAlterados; }
+    
+    public long getItensAlterados() { return itensAlterados; }
+    public void setItensAlterados(long itensAlterados) { this.itensAlterados = itensAlterados; }
+    
+    public LocalDateTime getDataInicio() { return dataInicio; }
+    public void setDataInicio(LocalDateTime dataInicio) { this.dataInicio = dataInicio; }
+    
+    public LocalDateTime getDataAtualizacao() { return dataAtualizacao; }
+    public void setDataAtualizacao(LocalDateTime dataAtualizacao) { this.dataAtualizacao = dataAtualizacao; }
+    
+    public LocalDateTime getDataFim() { return dataFim; }
+    public void setDataFim(LocalDateTime dataFim) { this.dataFim = dataFim; }
+    
+    public Long getDuracaoMs() { return duracaoMs; }
+    public void setDuracaoMs(Long duracaoMs) { this.duracaoMs = duracaoMs; }
+    
+    public Double getRegistrosPorSegundo() { return registrosPorSegundo; }
+    public void setRegistrosPorSegundo(Double registrosPorSegundo) { this.registrosPorSegundo = registrosPorSegundo; }
+    
+    public String getMensagem() { return mensagem; }
+    public void setMensagem(String mensagem) { this.mensagem = mensagem; }
+}
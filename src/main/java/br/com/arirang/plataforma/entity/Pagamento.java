@@ -8,7 +8,8 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "pagamentos")
+@Table(name = "pagamentos",
+       indexes = @Index(name = "idx_pagamentos_data_pagamento", columnList = "data_pagamento"))
 public class Pagamento {
 
     @Id
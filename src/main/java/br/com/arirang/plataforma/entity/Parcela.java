@@ -8,7 +8,8 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "parcelas")
+@Table(name = "parcelas",
+       indexes = @Index(name = "idx_parcelas_status_vencimento", columnList = "status_parcela, data_vencimento"))
 public class Parcela {
     
     @Id
@@ -9,7 +9,8 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "receitas")
+@Table(name = "receitas",
+       indexes = @Index(name = "idx_receitas_data_vencimento", columnList = "data_vencimento"))
 public class Receita {
 
     @Id
@@ -0,0 +1,26 @@
+package br.com.arirang.plataforma.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Último número sequencial de contrato emitido em cada mês (CTRYYYYMM####).
+ * Uma linha por mês, incrementada atomicamente por SequenciaContratoService; não é editada manualmente.
+ */
+@Entity
+@Table(name = "sequencias_contrato")
+public class SequenciaContrato {
+
+    // Ano e mês no formato YYYYMM
+    @Id
+    @Column(name = "periodo", length = 6)
+    private String periodo;
+
+    @Column(name = "ultimo_numero", nullable = false)
+    private int ultimoNumero;
+
+    public String getPeriodo() { return periodo; }
+    public void setPeriodo(String periodo) { this.periodo = periodo; }
+
+    public int getUltimoNumero() { return ultimoNumero; }
+    public void setUltimoNumero(int ultimoNumero) { this.ultimoNumero = ultimoNumero; }
+}
@@ -6,10 +6,14 @@ import br.com.arirang.plataforma.enums.Formato;
 import br.com.arirang.plataforma.enums.Modalidade;
 import br.com.arirang.plataforma.converter.ModalidadeConverter;
 import br.com.arirang.plataforma.converter.TurnoConverter;
+import br.com.arirang.plataforma.util.BuscaUtil;
 import java.time.LocalDate;
 import java.util.List;
 
 @Entity
+@Table(name = "turma", indexes = {
+        @Index(name = "idx_turma_nome_busca", columnList = "nome_busca")
+})
 public class Turma {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -57,6 +61,26 @@ public class Turma {
     )
     private List<Aluno> alunos;
 
+    // Colunas de busca (normalizadas por BuscaUtil), mantidas a cada gravação:
+    // nome_busca atende o autocompletar por prefixo (índice); termo_busca reúne os campos pesquisáveis
+    @Column(name = "nome_busca", length = 255)
+    private String nomeBusca;
+
+    @Column(name = "termo_busca", length = 500)
+    private String termoBusca;
+
+    @PrePersist
+    @PreUpdate
+    public void atualizarCamposBusca() {
+        nomeBusca = BuscaUtil.normalizar(nomeTurma);
+        termoBusca = BuscaUtil.termo(
+                nomeTurma,
+                nivelProficiencia,
+                turno != null ? turno.getDescricao() : null,
+                formato != null ? formato.getDescricao() : null,
+                modalidade != null ? modalidade.getDescricao() : null);
+    }
+
     // Getters e Setters (ajustados)
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -98,4 +122,6 @@ public class Turma {
     public void setProfessorResponsavel(Professor professorResponsavel) { this.professorResponsavel = professorResponsavel; }
     public List<Aluno> getAlunos() { return alunos; }
     public void setAlunos(List<Aluno> alunos) { this.alunos = alunos; }
+    public String getNomeBusca() { return nomeBusca; }
+    public String getTermoBusca() { return termoBusca; }
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package br.com.arirang.plataforma.event;
+
+/**
+ * Publicado quando a configuração visual (cores, logo) de um usuário é salva ou o logo é removido.
+ * Consumido por BoletimPdfService (template de PDF) e ConfiguracaoUsuarioService (cache
+ * "configuracoesUsuario") para descartar o que estiver em cache para o usuário.
+ */
+public record ConfiguracaoUsuarioAlteradaEvent(String username) {
+}
@@ -0,0 +1,8 @@
+package br.com.arirang.plataforma.event;
+
+/**
+ * Publicado quando parcelas de uma turma são criadas, pagas ou removidas.
+ * Consumido por DashboardSnapshotService para recalcular os totais da turma.
+ */
+public record ParcelasAlteradasEvent(Long turmaId, String origem) {
+}
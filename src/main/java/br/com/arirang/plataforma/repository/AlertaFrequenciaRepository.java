@@ -0,0 +1,14 @@
+package br.com.arirang.plataforma.repository;
+
+import br.com.arirang.plataforma.entity.AlertaFrequencia;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AlertaFrequenciaRepository extends JpaRepository<AlertaFrequencia, Long> {
+    
+    // Alertas gerados em uma execução
+    List<AlertaFrequencia> findByExecucaoIdOrderByTurmaNomeAscAlunoNomeAsc(Long execucaoId);
+}
@@ -1,10 +1,15 @@
 package br.com.arirang.plataforma.repository;
 
 import br.com.arirang.plataforma.entity.Aluno;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -13,6 +18,13 @@ public interface AlunoRepository extends JpaRepository<Aluno, Long> {
     @Query("SELECT DISTINCT a FROM Aluno a LEFT JOIN FETCH a.turmas LEFT JOIN FETCH a.responsavel")
     List<Aluno> findAllWithTurmasAndResponsavel();
 
+    // Página de ids (keyset em id ASC); as coleções são carregadas depois, apenas para a página
+    @Query("SELECT a.id FROM Aluno a WHERE (:cursorId IS NULL OR a.id > :cursorId) ORDER BY a.id ASC")
+    Slice<Long> findPaginaIds(Long cursorId, Pageable pageable);
+
+    @Query("SELECT DISTINCT a FROM Aluno a LEFT JOIN FETCH a.turmas LEFT JOIN FETCH a.responsavel WHERE a.id IN :ids ORDER BY a.id ASC")
+    List<Aluno> findAllWithTurmasAndResponsavelByIdIn(List<Long> ids);
+
     @Query("SELECT DISTINCT a FROM Aluno a JOIN a.turmas t LEFT JOIN FETCH a.turmas LEFT JOIN FETCH a.responsavel WHERE t.id = :turmaId")
     List<Aluno> findAllByTurmaIdWithFetch(Long turmaId);
 
@@ -27,4 +39,16 @@ public interface AlunoRepository extends JpaRepository<Aluno, Long> {
 
     @Query("SELECT a FROM Aluno a WHERE DAY(a.dataNascimento) = DAY(CURRENT_DATE) AND MONTH(a.dataNascimento) = MONTH(CURRENT_DATE)")
     List<Aluno> findAniversariantesDoDia();
-}
\ No newline at end of file
+
+    // Inativa, em um único UPDATE, os alunos sem nenhuma turma (NOT EXISTS em aluno_turma)
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Aluno a SET a.situacao = 'INATIVO' " +
+           "WHERE (a.situacao IS NULL OR a.situacao <> 'INATIVO') AND a.turmas IS EMPTY")
+    int inativarSemTurmas();
+
+    // Mesmo UPDATE, restrito aos alunos informados
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Aluno a SET a.situacao = 'INATIVO' " +
+           "WHERE a.id IN :ids AND (a.situacao IS NULL OR a.situacao <> 'INATIVO') AND a.turmas IS EMPTY")
+    int inativarSemTurmasByIdIn(@Param("ids") Collection<Long> ids);
+}
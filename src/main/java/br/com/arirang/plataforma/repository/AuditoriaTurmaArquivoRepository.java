@@ -0,0 +1,13 @@
+package br.com.arirang.plataforma.repository;
+
+import br.com.arirang.plataforma.entity.AuditoriaTurmaArquivo;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface AuditoriaTurmaArquivoRepository extends JpaRepository<AuditoriaTurmaArquivo, Long> {
+
+    Optional<AuditoriaTurmaArquivo> findByProtocolo(String protocolo);
+}
@@ -1,25 +1,57 @@
 package br.com.arirang.plataforma.repository;
 
+import br.com.arirang.plataforma.dto.HistoricoAlteracaoTurmaDTO;
 import br.com.arirang.plataforma.entity.AuditoriaTurma;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface AuditoriaTurmaRepository extends JpaRepository<AuditoriaTurma, Long> {
-    
-    List<AuditoriaTurma> findByTurmaIdOrderByDataAlteracaoDesc(Long turmaId);
-    
+
     Optional<AuditoriaTurma> findByProtocolo(String protocolo);
-    
-    @Query("SELECT COUNT(a) FROM AuditoriaTurma a WHERE a.turmaId = :turmaId AND DATE(a.dataAlteracao) = CURRENT_DATE")
-    Long countAlteracoesHoje(@Param("turmaId") Long turmaId);
-    
-    @Query("SELECT a FROM AuditoriaTurma a WHERE a.turmaId = :turmaId ORDER BY a.dataAlteracao DESC")
-    List<AuditoriaTurma> findHistoricoCompleto(@Param("turmaId") Long turmaId);
-}
 
+    // Intervalo [inicio, fim) sobre data_alteracao: usa o índice (turma_id, data_alteracao)
+    @Query("SELECT COUNT(a) FROM AuditoriaTurma a WHERE a.turmaId = :turmaId " +
+           "AND a.dataAlteracao >= :inicio AND a.dataAlteracao < :fim")
+    long countAlteracoesNoPeriodo(@Param("turmaId") Long turmaId,
+                                  @Param("inicio") LocalDateTime inicio,
+                                  @Param("fim") LocalDateTime fim);
+
+    /**
+     * Histórico da turma, do mais recente para o mais antigo, paginado por chave (dataAlteracao, id).
+     * Percorre o índice (turma_id, data_alteracao) e não lê os JSONs de antes/depois.
+     */
+    @Query("SELECT new br.com.arirang.plataforma.dto.HistoricoAlteracaoTurmaDTO(" +
+           "a.id, a.protocolo, a.dataAlteracao, a.usuario, a.justificativa, a.alteracoesDetalhadas, a.ipAddress) " +
+           "FROM AuditoriaTurma a WHERE a.turmaId = :turmaId " +
+           "AND (:cursorData IS NULL OR a.dataAlteracao < :cursorData " +
+           "OR (a.dataAlteracao = :cursorData AND a.id < :cursorId)) " +
+           "ORDER BY a.dataAlteracao DESC, a.id DESC")
+    Slice<HistoricoAlteracaoTurmaDTO> findHistorico(@Param("turmaId") Long turmaId,
+                                                    @Param("cursorData") LocalDateTime cursorData,
+                                                    @Param("cursorId") Long cursorId,
+                                                    Pageable pageable);
+
+    // Data da alteração do registro usado como cursor do histórico
+    @Query("SELECT a.dataAlteracao FROM AuditoriaTurma a WHERE a.id = :id")
+    Optional<LocalDateTime> findDataAlteracaoById(@Param("id") Long id);
+
+    // Ids dos registros anteriores ao limite, em ordem crescente, após o último id arquivado
+    @Query("SELECT a.id FROM AuditoriaTurma a WHERE a.dataAlteracao < :limite AND a.id > :ultimoId ORDER BY a.id")
+    List<Long> findIdsAnterioresA(@Param("limite") LocalDateTime limite,
+                                  @Param("ultimoId") Long ultimoId,
+                                  Pageable pageable);
+
+    // Protocolos já gravados entre os informados (o gravador assíncrono ignora os repetidos)
+    @Query("SELECT a.protocolo FROM AuditoriaTurma a WHERE a.protocolo IN :protocolos")
+    List<String> findProtocolosExistentes(@Param("protocolos") Collection<String> protocolos);
+}
@@ -1,8 +1,12 @@
 package br.com.arirang.plataforma.repository;
 
+import br.com.arirang.plataforma.dto.EstatisticasBoletinsDTO;
+import br.com.arirang.plataforma.dto.TotaisNotasBoletimDTO;
 import br.com.arirang.plataforma.entity.Boletim;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -26,6 +30,15 @@ public interface BoletimRepository extends JpaRepository<Boletim, Long> {
     @Query("SELECT COUNT(a) FROM Aluno a JOIN a.turmas t WHERE t.id = :turmaId")
     Long countAlunosByTurmaId(Long turmaId);
     
+    // Alunos matriculados na turma que ainda não possuem boletim nela (DISTINCT: aluno_turma
+    // é mapeada pelos dois lados do relacionamento e pode conter vínculos repetidos)
+    @Query("SELECT DISTINCT a.id FROM Aluno a JOIN a.turmas t WHERE t.id = :turmaId " +
+           "AND NOT EXISTS (SELECT 1 FROM Boletim b WHERE b.aluno = a AND b.turma = t) ORDER BY a.id")
+    List<Long> findAlunoIdsSemBoletimByTurmaId(@Param("turmaId") Long turmaId);
+    
+    @Query("SELECT b.id FROM Boletim b WHERE b.turma.id = :turmaId AND b.aluno.id IN :alunoIds")
+    List<Long> findIdsByTurmaIdAndAlunoIdIn(@Param("turmaId") Long turmaId, @Param("alunoIds") List<Long> alunoIds);
+    
     @Query("SELECT COUNT(b) FROM Boletim b")
     Long countAllBoletins();
     
@@ -35,6 +48,43 @@ public interface BoletimRepository extends JpaRepository<Boletim, Long> {
     @Query("SELECT COUNT(b) FROM Boletim b WHERE b.finalizado = true")
     Long countBoletinsFinalizados();
     
+    // Estatísticas agregadas por turma (opcionalmente de uma única turma) em uma só consulta.
+    // Aprovados, reprovados e médias consideram apenas boletins finalizados.
+    @Query("SELECT new br.com.arirang.plataforma.dto.EstatisticasBoletinsDTO(" +
+           "b.turma.id, COUNT(b), " +
+           "SUM(CASE WHEN b.finalizado = true THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN b.finalizado = true AND b.situacaoFinal = br.com.arirang.plataforma.entity.SituacaoFinal.APROVADO THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN b.finalizado = true AND b.situacaoFinal = br.com.arirang.plataforma.entity.SituacaoFinal.REPROVADO THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN b.finalizado = true THEN b.mediaFinal ELSE NULL END), " +
+           "COUNT(CASE WHEN b.finalizado = true THEN b.mediaFinal ELSE NULL END)) " +
+           "FROM Boletim b " +
+           "WHERE (:turmaId IS NULL OR b.turma.id = :turmaId) " +
+           "GROUP BY b.turma.id")
+    List<EstatisticasBoletinsDTO> calcularEstatisticasPorTurma(@Param("turmaId") Long turmaId);
+    
+    // Aplica a variação de uma nota (inclusão ou remoção) à soma e à quantidade de notas do boletim
+    // e recalcula a média no mesmo UPDATE, sem ler as notas. A média é atribuída primeiro para usar
+    // os valores anteriores das colunas também no MySQL (que avalia o SET da esquerda para a direita).
+    // Retorna 0 se os totais do boletim ainda não foram inicializados.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Boletim b SET " +
+           "b.mediaFinal = CASE WHEN b.quantidadeNotas + :variacaoQuantidade > 0 " +
+           "THEN ROUND((b.somaNotas + :variacaoSoma) * 1.0 / (b.quantidadeNotas + :variacaoQuantidade), 2) " +
+           "ELSE b.mediaFinal END, " +
+           "b.somaNotas = b.somaNotas + :variacaoSoma, " +
+           "b.quantidadeNotas = b.quantidadeNotas + :variacaoQuantidade " +
+           "WHERE b.id = :id AND b.somaNotas IS NOT NULL AND b.quantidadeNotas IS NOT NULL")
+    int aplicarVariacaoNotas(@Param("id") Long id,
+                             @Param("variacaoSoma") long variacaoSoma,
+                             @Param("variacaoQuantidade") int variacaoQuantidade);
+    
+    // Totais mantidos x totais calculados a partir das notas, para a verificação de divergências
+    @Query("SELECT new br.com.arirang.plataforma.dto.TotaisNotasBoletimDTO(" +
+           "b.id, b.somaNotas, b.quantidadeNotas, SUM(n.valorNota), COUNT(n)) " +
+           "FROM Boletim b LEFT JOIN b.notas n " +
+           "GROUP BY b.id, b.somaNotas, b.quantidadeNotas")
+    List<TotaisNotasBoletimDTO> compararTotaisNotas();
+    
     @Query("SELECT b FROM Boletim b LEFT JOIN FETCH b.notas LEFT JOIN FETCH b.aluno LEFT JOIN FETCH b.turma WHERE b.id = :id")
     Optional<Boletim> findByIdWithAlunoAndTurma(Long id);
 }
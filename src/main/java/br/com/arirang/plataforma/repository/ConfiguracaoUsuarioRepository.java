@@ -20,6 +20,11 @@ public interface ConfiguracaoUsuarioRepository extends JpaRepository<Configuraca
      */
     Optional<ConfiguracaoUsuario> findByUsuarioId(Long usuarioId);
     
+    /**
+     * Busca configuração pelo username do usuário
+     */
+    Optional<ConfiguracaoUsuario> findByUsuarioUsername(String username);
+    
     /**
      * Verifica se existe configuração para o usuário
      */
@@ -1,6 +1,8 @@
 package br.com.arirang.plataforma.repository;
 
 import br.com.arirang.plataforma.entity.Contrato;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -59,6 +61,28 @@ public interface ContratoRepository extends JpaRepository<Contrato, Long> {
                                            @Param("situacao") String situacao,
                                            @Param("numeroContrato") String numeroContrato);
 
+    /**
+     * Página de contratos com aluno e turma (keyset em id DESC, mais recentes primeiro),
+     * opcionalmente só de uma situação
+     */
+    @Query("SELECT c FROM Contrato c " +
+           "JOIN FETCH c.aluno " +
+           "JOIN FETCH c.turma " +
+           "WHERE (:situacao IS NULL OR c.situacaoContrato = :situacao) " +
+           "AND (:cursorId IS NULL OR c.id < :cursorId) " +
+           "ORDER BY c.id DESC")
+    Slice<Contrato> findPagina(@Param("situacao") String situacao,
+                               @Param("cursorId") Long cursorId,
+                               Pageable pageable);
+
+    long countBySituacaoContrato(String situacaoContrato);
+
+    /**
+     * Ids de contratos maiores que ultimoId, em ordem crescente (lotes das migrações de dados)
+     */
+    @Query("SELECT c.id FROM Contrato c WHERE c.id > :ultimoId ORDER BY c.id")
+    List<Long> findIdsAposId(@Param("ultimoId") Long ultimoId, Pageable pageable);
+
     /**
      * Conta contratos ativos por turma
      */
@@ -74,10 +98,9 @@ public interface ContratoRepository extends JpaRepository<Contrato, Long> {
                                     @Param("fim") LocalDateTime fim);
 
     /**
-     * Busca números de contrato do mês atual que seguem o padrão CTRYYYYMM####
-     * Usado para gerar o próximo número sequencial único
-     * Retorna ordenado do maior para o menor para facilitar encontrar o maior número
+     * Maior número de contrato com o prefixo do mês (CTRYYYYMM%)
+     * Usado apenas para iniciar a sequência do mês (SequenciaContratoService)
      */
-    @Query("SELECT c.numeroContrato FROM Contrato c WHERE c.numeroContrato LIKE :prefixo ORDER BY c.numeroContrato DESC")
-    List<String> findNumeroContratosByPrefixo(@Param("prefixo") String prefixo);
+    @Query("SELECT MAX(c.numeroContrato) FROM Contrato c WHERE c.numeroContrato LIKE :prefixo AND LENGTH(c.numeroContrato) = 13")
+    String findMaiorNumeroContratoByPrefixo(@Param("prefixo") String prefixo);
 }
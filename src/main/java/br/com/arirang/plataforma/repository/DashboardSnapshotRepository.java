@@ -0,0 +1,27 @@
+package br.com.arirang.plataforma.repository;
+
+import br.com.arirang.plataforma.dto.TotaisMensalidadesDTO;
+import br.com.arirang.plataforma.entity.DashboardSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DashboardSnapshotRepository extends JpaRepository<DashboardSnapshot, Long> {
+    
+    // Buscar totais de uma turma
+    List<DashboardSnapshot> findByTurmaIdOrderByCompetenciaAsc(Long turmaId);
+    
+    // Buscar totais de uma competência (mês), por turma
+    List<DashboardSnapshot> findByCompetenciaOrderByTurmaIdAsc(LocalDate competencia);
+    
+    // Somar os totais de todas as turmas e competências
+    @Query("SELECT new br.com.arirang.plataforma.dto.TotaisMensalidadesDTO(" +
+           "SUM(s.qtdTotal), SUM(s.qtdPendentes), SUM(s.qtdPagas), SUM(s.qtdVencidas), " +
+           "SUM(s.valorPendente), SUM(s.valorPago), SUM(s.valorVencido)) " +
+           "FROM DashboardSnapshot s")
+    TotaisMensalidadesDTO somarTotais();
+}
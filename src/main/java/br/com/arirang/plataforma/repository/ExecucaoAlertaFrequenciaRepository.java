@@ -0,0 +1,14 @@
+package br.com.arirang.plataforma.repository;
+
+import br.com.arirang.plataforma.entity.ExecucaoAlertaFrequencia;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ExecucaoAlertaFrequenciaRepository extends JpaRepository<ExecucaoAlertaFrequencia, Long> {
+    
+    // Última execução registrada
+    Optional<ExecucaoAlertaFrequencia> findFirstByOrderByDataInicioDesc();
+}
@@ -3,6 +3,7 @@ package br.com.arirang.plataforma.repository;
 import br.com.arirang.plataforma.entity.CategoriaFinanceira;
 import br.com.arirang.plataforma.entity.Financeiro;
 import br.com.arirang.plataforma.entity.TipoMovimentoFinanceiro;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -47,6 +48,19 @@ public interface FinanceiroRepository extends JpaRepository<Financeiro, Long> {
     // Buscar movimentos por número de documento
     Optional<Financeiro> findByNumeroDocumento(String numeroDocumento);
     
+    // Verificar existência por chave de idempotência (usa uk_financeiro_chave_idempotencia)
+    boolean existsByChaveIdempotencia(String chaveIdempotencia);
+    
+    // Movimentos de pagamento gravados antes da chave de idempotência e cuja chave ainda está livre
+    @Query("SELECT COUNT(f) FROM Financeiro f WHERE f.chaveIdempotencia IS NULL AND f.numeroDocumento LIKE 'PAG-%' " +
+           "AND NOT EXISTS (SELECT 1 FROM Financeiro g WHERE g.chaveIdempotencia = f.numeroDocumento)")
+    long countPagamentosSemChaveIdempotencia();
+    
+    @Query("SELECT f.id FROM Financeiro f WHERE f.chaveIdempotencia IS NULL AND f.numeroDocumento LIKE 'PAG-%' " +
+           "AND NOT EXISTS (SELECT 1 FROM Financeiro g WHERE g.chaveIdempotencia = f.numeroDocumento) " +
+           "AND f.id > :ultimoId ORDER BY f.id ASC")
+    List<Long> findIdsPagamentoSemChaveAposId(@Param("ultimoId") Long ultimoId, Pageable pageable);
+    
     // Buscar movimentos por referência
     List<Financeiro> findByReferencia(String referencia);
     
@@ -1,9 +1,9 @@
 package br.com.arirang.plataforma.repository;
 
+import br.com.arirang.plataforma.dto.ContagemFrequenciaDTO;
 import br.com.arirang.plataforma.entity.Frequencia;
 import br.com.arirang.plataforma.entity.Aluno;
 import br.com.arirang.plataforma.entity.Turma;
-import br.com.arirang.plataforma.enums.TipoPresenca;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -31,6 +31,15 @@ public interface FrequenciaRepository extends JpaRepository<Frequencia, Long> {
      */
     List<Frequencia> findByTurmaAndDataAula(Turma turma, LocalDate dataAula);
 
+    /**
+     * Lista frequências de uma turma em uma data, com aluno e usuário que registrou já carregados
+     */
+    @Query("SELECT f FROM Frequencia f JOIN FETCH f.aluno LEFT JOIN FETCH f.registradoPor " +
+           "WHERE f.turma.id = :turmaId AND f.dataAula = :dataAula")
+    List<Frequencia> findByTurmaIdAndDataAulaWithAluno(
+            @Param("turmaId") Long turmaId,
+            @Param("dataAula") LocalDate dataAula);
+
     /**
      * Lista frequências de uma turma em um período
      */
@@ -41,16 +50,6 @@ public interface FrequenciaRepository extends JpaRepository<Frequencia, Long> {
             @Param("dataInicio") LocalDate dataInicio,
             @Param("dataFim") LocalDate dataFim);
 
-    /**
-     * Conta total de presenças de um aluno em uma turma
-     */
-    @Query("SELECT COUNT(f) FROM Frequencia f WHERE f.aluno = :aluno AND f.turma = :turma " +
-           "AND f.tipoPresenca = :tipoPresenca")
-    Long countByAlunoAndTurmaAndTipoPresenca(
-            @Param("aluno") Aluno aluno,
-            @Param("turma") Turma turma,
-            @Param("tipoPresenca") TipoPresenca tipoPresenca);
-
     /**
      * Conta total de aulas registradas para uma turma em um período
      */
@@ -62,19 +61,23 @@ public interface FrequenciaRepository extends JpaRepository<Frequencia, Long> {
             @Param("dataFim") LocalDate dataFim);
 
     /**
-     * Lista alunos com frequência abaixo do mínimo em uma turma
+     * Conta registros, presenças, faltas, faltas justificadas e atrasos por aluno de uma turma em um período,
+     * em uma única leitura (opcionalmente de um único aluno)
      */
-    @Query("SELECT f.aluno, COUNT(CASE WHEN f.tipoPresenca = 'PRESENTE' THEN 1 END) as presencas, " +
-           "COUNT(f) as totalAulas " +
-           "FROM Frequencia f WHERE f.turma = :turma " +
-           "AND f.dataAula BETWEEN :dataInicio AND :dataFim " +
-           "GROUP BY f.aluno " +
-           "HAVING (COUNT(CASE WHEN f.tipoPresenca = 'PRESENTE' THEN 1 END) * 100.0 / COUNT(f)) < :percentualMinimo")
-    List<Object[]> findAlunosComFrequenciaBaixa(
-            @Param("turma") Turma turma,
+    @Query("SELECT new br.com.arirang.plataforma.dto.ContagemFrequenciaDTO(a.id, a.nomeCompleto, COUNT(f), " +
+           "SUM(CASE WHEN f.tipoPresenca = br.com.arirang.plataforma.enums.TipoPresenca.PRESENTE THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN f.tipoPresenca = br.com.arirang.plataforma.enums.TipoPresenca.FALTA THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN f.tipoPresenca = br.com.arirang.plataforma.enums.TipoPresenca.FALTA_JUSTIFICADA THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN f.tipoPresenca = br.com.arirang.plataforma.enums.TipoPresenca.ATRASO THEN 1 ELSE 0 END)) " +
+           "FROM Frequencia f JOIN f.aluno a " +
+           "WHERE f.turma.id = :turmaId AND f.dataAula BETWEEN :dataInicio AND :dataFim " +
+           "AND (:alunoId IS NULL OR a.id = :alunoId) " +
+           "GROUP BY a.id, a.nomeCompleto ORDER BY a.nomeCompleto")
+    List<ContagemFrequenciaDTO> contarPorAlunoNoPeriodo(
+            @Param("turmaId") Long turmaId,
+            @Param("alunoId") Long alunoId,
             @Param("dataInicio") LocalDate dataInicio,
-            @Param("dataFim") LocalDate dataFim,
-            @Param("percentualMinimo") Double percentualMinimo);
+            @Param("dataFim") LocalDate dataFim);
 
     /**
      * Lista frequências de um aluno em todas as turmas em um período
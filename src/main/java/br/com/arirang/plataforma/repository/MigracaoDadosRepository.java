@@ -0,0 +1,14 @@
+package br.com.arirang.plataforma.repository;
+
+import br.com.arirang.plataforma.entity.MigracaoDados;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface MigracaoDadosRepository extends JpaRepository<MigracaoDados, Long> {
+    
+    // Progresso da migração pelo nome
+    Optional<MigracaoDados> findByNome(String nome);
+}
@@ -1,14 +1,21 @@
 package br.com.arirang.plataforma.repository;
 
+import br.com.arirang.plataforma.dto.ResumoAgregadoDTO;
 import br.com.arirang.plataforma.entity.Pagamento;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PagamentoRepository extends JpaRepository<Pagamento, Long> {
@@ -61,12 +68,54 @@ public interface PagamentoRepository extends JpaRepository<Pagamento, Long> {
                                              @Param("dataInicio") LocalDate dataInicio,
                                              @Param("dataFim") LocalDate dataFim);
 
+    /**
+     * Página de pagamentos com receita e aluno (keyset em dataPagamento DESC, id DESC)
+     */
+    @Query("SELECT p FROM Pagamento p " +
+           "JOIN FETCH p.receita r " +
+           "LEFT JOIN FETCH r.aluno " +
+           "WHERE (:cursorData IS NULL OR p.dataPagamento < :cursorData " +
+           "OR (p.dataPagamento = :cursorData AND p.id < :cursorId)) " +
+           "ORDER BY p.dataPagamento DESC, p.id DESC")
+    Slice<Pagamento> findPagina(@Param("cursorData") LocalDate cursorData,
+                                @Param("cursorId") Long cursorId,
+                                Pageable pageable);
+
+    /**
+     * Exportação: pagamentos com receita, aluno e contrato lidos em streaming, sem montar a lista inteira.
+     * Fetch size Integer.MIN_VALUE faz o MySQL Connector/J entregar o resultado linha a linha.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Pagamento p " +
+           "JOIN FETCH p.receita r " +
+           "LEFT JOIN FETCH r.aluno a " +
+           "LEFT JOIN FETCH r.contrato " +
+           "WHERE (:alunoId IS NULL OR a.id = :alunoId) " +
+           "AND (:formaPagamento IS NULL OR p.formaPagamento = :formaPagamento) " +
+           "AND (:dataInicio IS NULL OR p.dataPagamento >= :dataInicio) " +
+           "AND (:dataFim IS NULL OR p.dataPagamento <= :dataFim) " +
+           "ORDER BY p.dataPagamento ASC, p.id ASC")
+    Stream<Pagamento> streamParaExportacao(@Param("alunoId") Long alunoId,
+                                           @Param("formaPagamento") String formaPagamento,
+                                           @Param("dataInicio") LocalDate dataInicio,
+                                           @Param("dataFim") LocalDate dataFim);
+
     /**
      * Conta pagamentos por forma de pagamento
      */
     @Query("SELECT COUNT(p) FROM Pagamento p WHERE p.formaPagamento = :formaPagamento")
     Long countPagamentosByFormaPagamento(@Param("formaPagamento") String formaPagamento);
 
+    /**
+     * Contagem e soma de pagamentos agrupadas por forma de pagamento
+     */
+    @Query("SELECT new br.com.arirang.plataforma.dto.ResumoAgregadoDTO(p.formaPagamento, COUNT(p), SUM(p.valorPago)) " +
+           "FROM Pagamento p GROUP BY p.formaPagamento")
+    List<ResumoAgregadoDTO> resumirPorFormaPagamento();
+
     /**
      * Busca último pagamento do aluno
      */
@@ -1,15 +1,24 @@
 package br.com.arirang.plataforma.repository;
 
+import br.com.arirang.plataforma.dto.ParcelaSemMovimentoDTO;
+import br.com.arirang.plataforma.dto.ResumoParcelasDTO;
+import br.com.arirang.plataforma.dto.ResumoParcelasMensalDTO;
 import br.com.arirang.plataforma.entity.Parcela;
 import br.com.arirang.plataforma.entity.StatusParcela;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ParcelaRepository extends JpaRepository<Parcela, Long> {
@@ -54,6 +63,30 @@ public interface ParcelaRepository extends JpaRepository<Parcela, Long> {
     List<Parcela> findParcelasPagasPorPeriodo(@Param("dataInicio") LocalDate dataInicio, 
                                              @Param("dataFim") LocalDate dataFim);
     
+    // Parcelas sem movimento financeiro (anti-join), por situação do contrato e/ou contrato, em páginas por id
+    @Query("SELECT new br.com.arirang.plataforma.dto.ParcelaSemMovimentoDTO(" +
+           "p.id, c.id, c.aluno.id, p.numeroParcela, c.numeroParcelas, p.valorParcela, p.dataVencimento) " +
+           "FROM Parcela p JOIN p.contrato c " +
+           "WHERE (:situacao IS NULL OR c.situacaoContrato = :situacao) " +
+           "AND (:contratoId IS NULL OR c.id = :contratoId) " +
+           "AND p.id > :ultimoId " +
+           "AND NOT EXISTS (SELECT 1 FROM Financeiro f WHERE f.parcela.id = p.id) " +
+           "ORDER BY p.id")
+    List<ParcelaSemMovimentoDTO> findParcelasSemMovimento(@Param("situacao") String situacao,
+                                                          @Param("contratoId") Long contratoId,
+                                                          @Param("ultimoId") Long ultimoId,
+                                                          Pageable pageable);
+    
+    // Contar parcelas sem movimento financeiro (progresso da sincronização)
+    @Query("SELECT COUNT(p) FROM Parcela p JOIN p.contrato c " +
+           "WHERE (:situacao IS NULL OR c.situacaoContrato = :situacao) " +
+           "AND (:contratoId IS NULL OR c.id = :contratoId) " +
+           "AND NOT EXISTS (SELECT 1 FROM Financeiro f WHERE f.parcela.id = p.id)")
+    long countParcelasSemMovimento(@Param("situacao") String situacao, @Param("contratoId") Long contratoId);
+    
+    // Buscar parcelas de vários contratos (lote das migrações de dados)
+    List<Parcela> findByContratoIdIn(List<Long> contratoIds);
+    
     // Buscar parcelas por contrato ordenadas por data de vencimento
     List<Parcela> findByContratoIdOrderByDataVencimentoAsc(Long contratoId);
     
@@ -69,6 +102,38 @@ public interface ParcelaRepository extends JpaRepository<Parcela, Long> {
            "ORDER BY p.dataVencimento DESC")
     List<Parcela> findAllWithAlunoAndContrato();
     
+    // Página de parcelas por status com aluno e contrato (keyset em dataVencimento DESC, id DESC)
+    @Query("SELECT p FROM Parcela p " +
+           "JOIN FETCH p.contrato c " +
+           "JOIN FETCH c.aluno a " +
+           "LEFT JOIN FETCH c.turma t " +
+           "WHERE p.statusParcela IN :statuses " +
+           "AND (:cursorData IS NULL OR p.dataVencimento < :cursorData " +
+           "OR (p.dataVencimento = :cursorData AND p.id < :cursorId)) " +
+           "ORDER BY p.dataVencimento DESC, p.id DESC")
+    Slice<Parcela> findPaginaPorStatus(@Param("statuses") List<StatusParcela> statuses,
+                                       @Param("cursorData") LocalDate cursorData,
+                                       @Param("cursorId") Long cursorId,
+                                       Pageable pageable);
+    
+    // Exportação: parcelas com aluno, contrato e turma lidas em streaming, sem montar a lista inteira.
+    // Fetch size Integer.MIN_VALUE faz o MySQL Connector/J entregar o resultado linha a linha.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Parcela p " +
+           "JOIN FETCH p.contrato c " +
+           "JOIN FETCH c.aluno a " +
+           "LEFT JOIN FETCH c.turma t " +
+           "WHERE (:status IS NULL OR p.statusParcela = :status) " +
+           "AND (:dataInicio IS NULL OR p.dataVencimento >= :dataInicio) " +
+           "AND (:dataFim IS NULL OR p.dataVencimento <= :dataFim) " +
+           "ORDER BY p.dataVencimento ASC, p.id ASC")
+    Stream<Parcela> streamParaExportacao(@Param("status") StatusParcela status,
+                                         @Param("dataInicio") LocalDate dataInicio,
+                                         @Param("dataFim") LocalDate dataFim);
+    
     // Buscar parcelas por status com aluno e contrato (excluindo alunos deletados)
     @Query("SELECT DISTINCT p FROM Parcela p " +
            "LEFT JOIN FETCH p.contrato c " +
@@ -117,4 +182,39 @@ public interface ParcelaRepository extends JpaRepository<Parcela, Long> {
     List<Parcela> findParcelasProximasAVencer(@Param("dataAtual") LocalDate dataAtual, 
                                                @Param("dataFim") LocalDate dataFim,
                                                @Param("statuses") java.util.List<StatusParcela> statuses);
+    
+    // Resumo agregado por status e vencimento (excluindo alunos deletados) em uma única consulta
+    @Query("SELECT new br.com.arirang.plataforma.dto.ResumoParcelasDTO(" +
+           "p.statusParcela, " +
+           "CASE WHEN p.dataVencimento < :dataAtual THEN true ELSE false END, " +
+           "COUNT(p), " +
+           "SUM(p.valorParcela), " +
+           "SUM(COALESCE(p.valorPago, 0)), " +
+           "SUM(CASE WHEN p.valorParcela + COALESCE(p.jurosAplicados, 0) + COALESCE(p.multaAplicada, 0) " +
+           "- COALESCE(p.descontoAplicado, 0) > 0 " +
+           "THEN p.valorParcela + COALESCE(p.jurosAplicados, 0) + COALESCE(p.multaAplicada, 0) " +
+           "- COALESCE(p.descontoAplicado, 0) " +
+           "ELSE p.valorParcela END)) " +
+           "FROM Parcela p JOIN p.contrato c JOIN c.aluno a " +
+           "GROUP BY p.statusParcela, CASE WHEN p.dataVencimento < :dataAtual THEN true ELSE false END")
+    List<ResumoParcelasDTO> resumirPorStatus(@Param("dataAtual") LocalDate dataAtual);
+    
+    // Resumo agregado por turma, mês de vencimento, status e vencimento (turmaId nulo = todas as turmas)
+    @Query("SELECT new br.com.arirang.plataforma.dto.ResumoParcelasMensalDTO(" +
+           "t.id, YEAR(p.dataVencimento), MONTH(p.dataVencimento), p.statusParcela, " +
+           "CASE WHEN p.dataVencimento < :dataAtual THEN true ELSE false END, " +
+           "COUNT(p), " +
+           "SUM(p.valorParcela), " +
+           "SUM(COALESCE(p.valorPago, 0)), " +
+           "SUM(CASE WHEN p.valorParcela + COALESCE(p.jurosAplicados, 0) + COALESCE(p.multaAplicada, 0) " +
+           "- COALESCE(p.descontoAplicado, 0) > 0 " +
+           "THEN p.valorParcela + COALESCE(p.jurosAplicados, 0) + COALESCE(p.multaAplicada, 0) " +
+           "- COALESCE(p.descontoAplicado, 0) " +
+           "ELSE p.valorParcela END)) " +
+           "FROM Parcela p JOIN p.contrato c JOIN c.aluno a JOIN c.turma t " +
+           "WHERE (:turmaId IS NULL OR t.id = :turmaId) " +
+           "GROUP BY t.id, YEAR(p.dataVencimento), MONTH(p.dataVencimento), p.statusParcela, " +
+           "CASE WHEN p.dataVencimento < :dataAtual THEN true ELSE false END")
+    List<ResumoParcelasMensalDTO> resumirPorTurmaEMes(@Param("turmaId") Long turmaId,
+                                                      @Param("dataAtual") LocalDate dataAtual);
 }
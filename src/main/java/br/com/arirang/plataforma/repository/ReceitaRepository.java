@@ -1,6 +1,9 @@
 package br.com.arirang.plataforma.repository;
 
+import br.com.arirang.plataforma.dto.ResumoAgregadoDTO;
 import br.com.arirang.plataforma.entity.Receita;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -58,12 +61,33 @@ public interface ReceitaRepository extends JpaRepository<Receita, Long> {
                                          @Param("dataInicio") LocalDate dataInicio,
                                          @Param("dataFim") LocalDate dataFim);
 
+    /**
+     * Página de receitas com aluno e contrato, excluindo alunos deletados
+     * (keyset em dataVencimento ASC, id ASC)
+     */
+    @Query("SELECT r FROM Receita r " +
+           "JOIN FETCH r.aluno a " +
+           "LEFT JOIN FETCH r.contrato " +
+           "WHERE (:cursorData IS NULL OR r.dataVencimento > :cursorData " +
+           "OR (r.dataVencimento = :cursorData AND r.id > :cursorId)) " +
+           "ORDER BY r.dataVencimento ASC, r.id ASC")
+    Slice<Receita> findPagina(@Param("cursorData") LocalDate cursorData,
+                              @Param("cursorId") Long cursorId,
+                              Pageable pageable);
+
     /**
      * Soma receitas por situação (excluindo alunos deletados)
      */
     @Query("SELECT SUM(r.valorFinal) FROM Receita r WHERE r.situacao = :situacao AND r.aluno.id IS NOT NULL")
     Optional<Double> sumReceitasBySituacao(@Param("situacao") String situacao);
 
+    /**
+     * Contagem e soma de receitas agrupadas por situação (excluindo alunos deletados)
+     */
+    @Query("SELECT new br.com.arirang.plataforma.dto.ResumoAgregadoDTO(r.situacao, COUNT(r), SUM(r.valorFinal)) " +
+           "FROM Receita r WHERE r.aluno.id IS NOT NULL GROUP BY r.situacao")
+    List<ResumoAgregadoDTO> resumirPorSituacao();
+
     /**
      * Soma receitas por aluno e situação
      */
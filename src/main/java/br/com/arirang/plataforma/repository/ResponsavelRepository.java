@@ -2,6 +2,14 @@ package br.com.arirang.plataforma.repository;
 
 import br.com.arirang.plataforma.entity.Responsavel;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface ResponsavelRepository extends JpaRepository<Responsavel, Long> {
-}
\ No newline at end of file
+
+    // Remove o responsável somente se nenhum aluno o referencia (verificação e remoção no mesmo comando)
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM Responsavel r WHERE r.id = :id AND NOT EXISTS (SELECT 1 FROM Aluno a WHERE a.responsavel.id = r.id)")
+    int deleteByIdSemAlunos(@Param("id") Long id);
+}
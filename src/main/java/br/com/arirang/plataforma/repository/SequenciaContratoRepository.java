@@ -0,0 +1,21 @@
+package br.com.arirang.plataforma.repository;
+
+import br.com.arirang.plataforma.entity.SequenciaContrato;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SequenciaContratoRepository extends JpaRepository<SequenciaContrato, String> {
+
+    // Reserva o próximo número do mês; o lock da linha vale até o fim da transação. Retorna 0 se o mês ainda não tem linha
+    @Modifying
+    @Query("UPDATE SequenciaContrato s SET s.ultimoNumero = s.ultimoNumero + 1 WHERE s.periodo = :periodo")
+    int incrementar(@Param("periodo") String periodo);
+
+    // Número reservado pelo incrementar na mesma transação
+    @Query("SELECT s.ultimoNumero FROM SequenciaContrato s WHERE s.periodo = :periodo")
+    Integer findUltimoNumero(@Param("periodo") String periodo);
+}
@@ -1,8 +1,12 @@
 package br.com.arirang.plataforma.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import br.com.arirang.plataforma.dto.TurmaResumoDTO;
+import br.com.arirang.plataforma.dto.TurmaSugestaoDTO;
 import br.com.arirang.plataforma.entity.Turma;
 
 import java.util.Optional;
@@ -15,6 +19,49 @@ public interface TurmaRepository extends JpaRepository<Turma, Long> {
     @Query("SELECT DISTINCT t FROM Turma t LEFT JOIN FETCH t.alunos LEFT JOIN FETCH t.professorResponsavel")
     java.util.List<Turma> findAllWithAlunos();
     
+    // Página de ids (keyset em id ASC); alunos e professor são carregados depois, apenas para a página
+    @Query("SELECT t.id FROM Turma t WHERE (:cursorId IS NULL OR t.id > :cursorId) ORDER BY t.id ASC")
+    Slice<Long> findPaginaIds(@Param("cursorId") Long cursorId, Pageable pageable);
+    
+    @Query("SELECT DISTINCT t FROM Turma t LEFT JOIN FETCH t.alunos LEFT JOIN FETCH t.professorResponsavel WHERE t.id IN :ids ORDER BY t.id ASC")
+    java.util.List<Turma> findAllWithAlunosByIdIn(@Param("ids") java.util.List<Long> ids);
+    
+    // Busca: página de ids (keyset em id ASC) das turmas cujo termo de busca normalizado contém o termo,
+    // ou cujo id é o número digitado. O termo já vem normalizado e com os curingas escapados (BuscaUtil)
+    @Query("SELECT t.id FROM Turma t " +
+           "WHERE (t.termoBusca LIKE CONCAT('%', :termo, '%') ESCAPE '!' OR t.id = :idBuscado) " +
+           "AND (:cursorId IS NULL OR t.id > :cursorId) ORDER BY t.id ASC")
+    Slice<Long> buscarIds(@Param("termo") String termo, @Param("idBuscado") Long idBuscado,
+                          @Param("cursorId") Long cursorId, Pageable pageable);
+    
+    // Resumos (listagem e seletores): só as colunas usadas, sem carregar alunos nem o professor
+    @Query("SELECT new br.com.arirang.plataforma.dto.TurmaResumoDTO(" +
+           "t.id, t.nomeTurma, t.idioma, t.nivelProficiencia, t.turno, t.formato, t.modalidade, " +
+           "t.situacaoTurma, t.calendarioPdf, p.id, p.nomeCompleto) " +
+           "FROM Turma t LEFT JOIN t.professorResponsavel p ORDER BY t.id ASC")
+    java.util.List<TurmaResumoDTO> findAllResumos();
+    
+    @Query("SELECT new br.com.arirang.plataforma.dto.TurmaResumoDTO(" +
+           "t.id, t.nomeTurma, t.idioma, t.nivelProficiencia, t.turno, t.formato, t.modalidade, " +
+           "t.situacaoTurma, t.calendarioPdf, p.id, p.nomeCompleto) " +
+           "FROM Turma t LEFT JOIN t.professorResponsavel p WHERE t.id IN :ids ORDER BY t.id ASC")
+    java.util.List<TurmaResumoDTO> findResumosByIdIn(@Param("ids") java.util.List<Long> ids);
+    
+    // Autocompletar: turmas cujo nome normalizado começa com o prefixo (usa idx_turma_nome_busca)
+    @Query("SELECT new br.com.arirang.plataforma.dto.TurmaSugestaoDTO(t.id, t.nomeTurma) FROM Turma t " +
+           "WHERE t.nomeBusca LIKE CONCAT(:prefixo, '%') ESCAPE '!' ORDER BY t.nomeBusca ASC, t.id ASC")
+    java.util.List<TurmaSugestaoDTO> findSugestoes(@Param("prefixo") String prefixo, Pageable pageable);
+    
+    // Turmas ainda sem as colunas de busca preenchidas (cadastradas antes delas), em ordem de id
+    @Query("SELECT t.id FROM Turma t WHERE t.termoBusca IS NULL AND t.id > :ultimoId ORDER BY t.id ASC")
+    java.util.List<Long> findIdsSemTermoBuscaAposId(@Param("ultimoId") Long ultimoId, Pageable pageable);
+    
+    boolean existsByTermoBuscaIsNull();
+    
+    // IDs das turmas em andamento (situação ATIVA ou EM_ANDAMENTO)
+    @Query("SELECT t.id FROM Turma t WHERE UPPER(t.situacaoTurma) IN ('ATIVA', 'EM_ANDAMENTO') ORDER BY t.id ASC")
+    java.util.List<Long> findIdsAtivas();
+    
     @Query("SELECT t FROM Turma t WHERE LOWER(TRIM(t.nomeTurma)) = LOWER(TRIM(:nomeTurma))")
     java.util.List<Turma> findByNomeTurmaIgnoreCaseAndTrim(@Param("nomeTurma") String nomeTurma);
 }
\ No newline at end of file
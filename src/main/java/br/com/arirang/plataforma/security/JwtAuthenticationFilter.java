@@ -1,6 +1,7 @@
 package br.com.arirang.plataforma.security;
 
 import br.com.arirang.plataforma.service.UsuarioService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -35,8 +36,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
             
-            if (jwt != null && jwtUtil.validateToken(jwt)) {
-                String username = jwtUtil.extractUsername(jwt);
+            // Uma única verificação do token por requisição (as seguintes vêm do cache do JwtUtil)
+            Claims claims = jwt != null ? jwtUtil.parseValidToken(jwt) : null;
+            if (claims != null) {
+                String username = claims.getSubject();
                 UserDetails userDetails = usuarioService.loadUserByUsername(username);
                 
                 if (userDetails != null) {
@@ -9,9 +9,14 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 @Component
@@ -19,13 +24,48 @@ public class JwtUtil {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtUtil.class);
 
+    // Limite de tokens verificados mantidos em cache
+    private static final int MAX_TOKENS_EM_CACHE = 10_000;
+
     @Value("${jwt.secret:}")
     private String secret;
 
     @Value("${jwt.expiration:86400000}") // 24 horas em millisegundos
     private Long expiration;
 
+    // Chave e parser calculados uma única vez a partir do secret (ambos são imutáveis e thread-safe)
+    private volatile SecretKey signingKey;
+    private volatile JwtParser parser;
+
+    // Claims de tokens com assinatura já verificada, por hash SHA-256 do token; cada entrada vale até a expiração do token
+    private final Map<String, TokenVerificado> tokensVerificados = new ConcurrentHashMap<>();
+
     private SecretKey getSigningKey() {
+        SecretKey key = signingKey;
+        if (key == null) {
+            synchronized (this) {
+                key = signingKey;
+                if (key == null) {
+                    key = criarSigningKey();
+                    signingKey = key;
+                }
+            }
+        }
+        return key;
+    }
+
+    private JwtParser getParser() {
+        JwtParser jwtParser = parser;
+        if (jwtParser == null) {
+            jwtParser = Jwts.parserBuilder()
+                    .setSigningKey(getSigningKey())
+                    .build();
+            parser = jwtParser;
+        }
+        return jwtParser;
+    }
+
+    private SecretKey criarSigningKey() {
         if (secret == null || secret.trim().isEmpty()) {
             throw new IllegalStateException(
                 "JWT secret não configurado! Configure a variável de ambiente JWT_SECRET " +
@@ -62,17 +102,68 @@ public class JwtUtil {
         return claimsResolver.apply(claims);
     }
 
+    /**
+     * Claims de um token válido (assinatura verificada e não expirado), ou null se o token for inválido.
+     * O token é verificado uma única vez; as chamadas seguintes até a expiração são uma consulta ao cache.
+     */
+    public Claims parseValidToken(String token) {
+        try {
+            Claims claims = extractAllClaims(token);
+            return claims.getExpiration() == null || claims.getExpiration().after(new Date()) ? claims : null;
+        } catch (Exception e) {
+            logger.error("Erro ao validar token: {}", e.getMessage());
+            return null;
+        }
+    }
+
     private Claims extractAllClaims(String token) {
+        String chave = hash(token);
+        TokenVerificado verificado = tokensVerificados.get(chave);
+        if (verificado != null) {
+            if (verificado.expiraEm() > System.currentTimeMillis()) {
+                return verificado.claims();
+            }
+            tokensVerificados.remove(chave);
+        }
+
+        Claims claims;
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
+            claims = getParser()
                     .parseClaimsJws(token)
                     .getBody();
         } catch (JwtException e) {
             logger.error("Erro ao extrair claims do token: {}", e.getMessage());
             throw new JwtException("Token inválido");
         }
+
+        // Tokens sem expiração não são mantidos em cache
+        if (claims.getExpiration() != null) {
+            if (tokensVerificados.size() >= MAX_TOKENS_EM_CACHE) {
+                removerTokensExpirados();
+            }
+            if (tokensVerificados.size() < MAX_TOKENS_EM_CACHE) {
+                tokensVerificados.put(chave, new TokenVerificado(claims, claims.getExpiration().getTime()));
+            }
+        }
+        return claims;
+    }
+
+    private void removerTokensExpirados() {
+        long agora = System.currentTimeMillis();
+        tokensVerificados.values().removeIf(verificado -> verificado.expiraEm() <= agora);
+        if (tokensVerificados.size() >= MAX_TOKENS_EM_CACHE) {
+            // Todos ainda válidos: descarta o cache inteiro (os tokens voltam a ser verificados sob demanda)
+            tokensVerificados.clear();
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
     }
 
     public Boolean isTokenExpired(String token) {
@@ -115,11 +206,8 @@ public class JwtUtil {
     }
 
     public Boolean validateToken(String token) {
-        try {
-            return !isTokenExpired(token);
-        } catch (Exception e) {
-            logger.error("Erro ao validar token: {}", e.getMessage());
-            return false;
-        }
+        return parseValidToken(token) != null;
     }
+
+    private record TokenVerificado(Claims claims, long expiraEm) {}
 }
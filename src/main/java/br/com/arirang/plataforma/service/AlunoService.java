@@ -1,24 +1,27 @@
 package br.com.arirang.plataforma.service;
 
 import br.com.arirang.plataforma.dto.AlunoDTO;
+import br.com.arirang.plataforma.dto.PaginaDTO;
 import br.com.arirang.plataforma.entity.Aluno;
 import br.com.arirang.plataforma.entity.Responsavel;
 import br.com.arirang.plataforma.entity.Turma;
 import br.com.arirang.plataforma.repository.AlunoRepository;
 import br.com.arirang.plataforma.repository.ResponsavelRepository;
 import br.com.arirang.plataforma.repository.TurmaRepository;
+import br.com.arirang.plataforma.util.PaginacaoUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import br.com.arirang.plataforma.exception.BusinessException;
 import br.com.arirang.plataforma.exception.ResourceNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 public class AlunoService {
@@ -34,11 +37,30 @@ public class AlunoService {
     @Autowired
     private TurmaRepository turmaRepository;
 
+    @Autowired
+    private ManutencaoCadastroService manutencaoCadastroService;
+
     @Transactional(readOnly = true)
     public List<Aluno> listarTodosAlunos() {
         return alunoRepository.findAllWithTurmasAndResponsavel();
     }
 
+    /**
+     * Lista uma página de alunos (ordem de cadastro), continuando a partir do cursor.
+     * Pagina primeiro os ids e só então carrega turmas e responsável da página,
+     * pois fetch de coleção com limite seria paginado em memória.
+     */
+    @Transactional(readOnly = true)
+    public PaginaDTO<Aluno> listarAlunosPagina(String cursor, Integer tamanho) {
+        PaginacaoUtil.Cursor posicao = PaginacaoUtil.Cursor.decodificar(cursor);
+        Slice<Long> ids = alunoRepository.findPaginaIds(posicao.id(), PaginacaoUtil.limite(tamanho));
+        List<Aluno> alunos = ids.isEmpty()
+                ? Collections.emptyList()
+                : alunoRepository.findAllWithTurmasAndResponsavelByIdIn(ids.getContent());
+        return PaginaDTO.de(new SliceImpl<>(alunos, ids.getPageable(), ids.hasNext()),
+                aluno -> aluno, aluno -> PaginacaoUtil.Cursor.de(aluno.getId()));
+    }
+
     @Transactional(readOnly = true)
     public Optional<Aluno> buscarAlunoPorId(Long id) {
         // Usar método com fetch join para carregar turmas e responsável dentro da transação
@@ -360,25 +382,11 @@ public class AlunoService {
                 if (aluno.getResponsavel() != null) {
                     Responsavel responsavelAntigo = aluno.getResponsavel();
                     aluno.setResponsavel(null);
-                    // Verificar se há outros alunos usando este responsável antes de deletar
-                    List<Aluno> alunosComResponsavel = alunoRepository.findAll().stream()
-                        .filter(a -> a.getResponsavel() != null && 
-                                    a.getResponsavel().getId() != null &&
-                                    a.getResponsavel().getId().equals(responsavelAntigo.getId()) &&
-                                    !a.getId().equals(id))
-                        .collect(Collectors.toList());
-                    
-                    if (alunosComResponsavel.isEmpty()) {
-                        // Nenhum outro aluno usa este responsável, pode deletar
-                        try {
-                            responsavelRepository.deleteById(responsavelAntigo.getId());
-                            logger.debug("Responsável órfão deletado: ID {}", responsavelAntigo.getId());
-                        } catch (Exception e) {
-                            logger.warn("Não foi possível deletar responsável ID {}: {}", responsavelAntigo.getId(), e.getMessage());
-                        }
-                    } else {
-                        logger.debug("Responsável ID {} mantido (usado por {} outro(s) aluno(s))", 
-                            responsavelAntigo.getId(), alunosComResponsavel.size());
+                    // Remove o responsável se nenhum outro aluno o usa (o próprio aluno já foi desvinculado)
+                    try {
+                        manutencaoCadastroService.removerResponsavelSeOrfao(responsavelAntigo.getId());
+                    } catch (Exception e) {
+                        logger.warn("Não foi possível deletar responsável ID {}: {}", responsavelAntigo.getId(), e.getMessage());
                     }
                 }
                 logger.debug("Responsável removido do aluno ID {} - checkbox: {}, nome: {}", 
@@ -478,31 +486,15 @@ public class AlunoService {
 
     /**
      * Atualiza o status de todos os alunos que perderam a relação com uma turma.
-     * Chamado quando uma turma é deletada.
+     * @return quantidade de alunos atualizados para INATIVO
      */
     @Transactional
-    public void atualizarStatusAlunosSemTurmas() {
+    public int atualizarStatusAlunosSemTurmas() {
         try {
-            List<Aluno> todosAlunos = alunoRepository.findAllWithTurmasAndResponsavel();
-            int atualizados = 0;
-            
-            for (Aluno aluno : todosAlunos) {
-                if (aluno.getTurmas() == null || aluno.getTurmas().isEmpty()) {
-                    if (!"INATIVO".equals(aluno.getSituacao())) {
-                        aluno.setSituacao("INATIVO");
-                        alunoRepository.save(aluno);
-                        atualizados++;
-                        logger.debug("Aluno ID {} atualizado para INATIVO (sem turmas)", aluno.getId());
-                    }
-                }
-            }
-            
-            if (atualizados > 0) {
-                logger.info("Status atualizado para {} aluno(s) que ficaram sem turmas", atualizados);
-            }
+            return manutencaoCadastroService.inativarAlunosSemTurmas();
         } catch (Exception e) {
             logger.error("Erro ao atualizar status de alunos sem turmas: ", e);
             throw new BusinessException("Erro ao atualizar status de alunos: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,377 @@
+package br.com.arirang.plataforma.service;
+
+import br.com.arirang.plataforma.repository.AuditoriaTurmaRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Gravação assíncrona da auditoria de turmas.
+ *
+ * Cada registro é anexado (com sincronização em disco) ao arquivo atual e colocado em uma
+ * fila limitada; uma única thread do executor "auditoriaExecutor" grava os registros em lotes,
+ * com um INSERT em lote por transação. Assim, salvar uma turma não espera nem ocupa uma
+ * conexão extra do pool pela auditoria.
+ *
+ * A cada lote, o arquivo atual é renomeado para um arquivo de lote e a fila é esvaziada, ambos
+ * sob a trava (operações de arquivo apenas); a gravação no banco é feita fora da trava e o
+ * arquivo de lote é apagado ao final. Se o banco falhar ou a aplicação parar, os arquivos de
+ * lote permanecem no diretório e são gravados na próxima tentativa ou inicialização; protocolos
+ * já existentes na tabela são ignorados, de modo que regravar é seguro (o protocolo é único por
+ * alteração, ver AuditoriaTurmaService.gerarProtocolo). Registros recusados pelo banco (ex.:
+ * justificativa maior que a coluna) e registros diferentes com o mesmo protocolo vão para o
+ * arquivo de rejeitados.
+ */
+@Service
+public class AuditoriaTurmaGravador {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditoriaTurmaGravador.class);
+
+    private static final String NOME_ARQUIVO = "auditoria-turma.jsonl";
+    private static final String PREFIXO_LOTE = "auditoria-turma-lote-";
+    private static final String NOME_REJEITADOS = "auditoria-turma-rejeitados.jsonl";
+    private static final int TAMANHO_LOTE = 100;
+    private static final long ESPERA_APOS_FALHA_MS = 5000;
+
+    private static final String SQL_INSERIR =
+            "INSERT INTO auditoria_turma (turma_id, protocolo, alteracao_antes, alteracao_depois, " +
+            "alteracoes_detalhadas, usuario, data_alteracao, justificativa, ip_address, user_agent) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private AuditoriaTurmaRepository auditoriaTurmaRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    @Qualifier("auditoriaExecutor")
+    private TaskExecutor auditoriaExecutor;
+
+    @Value("${app.auditoria.diretorio:data/auditoria}")
+    private String diretorio;
+
+    @Value("${app.auditoria.capacidade-fila:1000}")
+    private int capacidadeFila;
+
+    // Protege o arquivo atual: anexar + enfileirar é atômico em relação à rotação
+    private final Object travaArquivo = new Object();
+    private final CountDownLatch gravadorEncerrado = new CountDownLatch(1);
+    private final AtomicLong sequenciaLote = new AtomicLong();
+
+    private BlockingQueue<RegistroAuditoria> fila;
+    private Path arquivo;
+    private Path arquivoRejeitados;
+    // Há registros no arquivo atual que não couberam na fila
+    private boolean arquivoExcedente;
+    // Há arquivos de lote no diretório (inicialização ou falha anterior)
+    private volatile boolean lotesPendentes;
+    private volatile boolean encerrando;
+
+    /**
+     * Linha da tabela auditoria_turma, já calculada na requisição
+     */
+    public record RegistroAuditoria(
+            Long turmaId,
+            String protocolo,
+            String alteracaoAntes,
+            String alteracaoDepois,
+            String alteracoesDetalhadas,
+            String usuario,
+            LocalDateTime dataAlteracao,
+            String justificativa,
+            String ipAddress,
+            String userAgent
+    ) {}
+
+    /**
+     * Linha do arquivo de rejeitados
+     */
+    public record RegistroRejeitado(LocalDateTime dataRejeicao, String erro, RegistroAuditoria registro) {}
+
+    @PostConstruct
+    void iniciar() throws IOException {
+        fila = new ArrayBlockingQueue<>(capacidadeFila);
+        Path pasta = Path.of(diretorio);
+        Files.createDirectories(pasta);
+        arquivo = pasta.resolve(NOME_ARQUIVO);
+        arquivoRejeitados = pasta.resolve(NOME_REJEITADOS);
+        // Registros de uma execução anterior ainda não gravados passam a um arquivo de lote
+        if (Files.exists(arquivo) && Files.size(arquivo) > 0) {
+            rotacionar();
+        }
+        try (Stream<Path> arquivos = Files.list(pasta)) {
+            lotesPendentes = arquivos.anyMatch(this::isArquivoLote);
+        }
+        if (lotesPendentes) {
+            logger.info("Diretório de auditoria {} contém registros pendentes; serão gravados", pasta.toAbsolutePath());
+        }
+        auditoriaExecutor.execute(this::gravarContinuamente);
+    }
+
+    /**
+     * Aguarda a gravação do que está na fila; o que restar em arquivo é gravado na próxima inicialização
+     */
+    @PreDestroy
+    void encerrar() {
+        encerrando = true;
+        try {
+            if (!gravadorEncerrado.await(30, TimeUnit.SECONDS)) {
+                logger.warn("Gravador de auditoria não terminou a tempo; {} registros ficam no arquivo local", fila.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Registra a alteração no arquivo local e a enfileira para gravação no banco.
+     * Não acessa o banco: a trava é disputada apenas com a rotação do arquivo.
+     * @return false se o registro não pôde ser gravado no arquivo local
+     */
+    public boolean registrar(RegistroAuditoria registro) {
+        byte[] linha;
+        try {
+            linha = (objectMapper.writeValueAsString(registro) + "\n").getBytes(StandardCharsets.UTF_8);
+        } catch (JsonProcessingException e) {
+            logger.error("Erro ao serializar o registro de auditoria {}: ", registro.protocolo(), e);
+            return false;
+        }
+
+        synchronized (travaArquivo) {
+            try {
+                Files.write(arquivo, linha, StandardOpenOption.CREATE, StandardOpenOption.APPEND,
+                        StandardOpenOption.WRITE, StandardOpenOption.DSYNC);
+            } catch (IOException e) {
+                logger.error("Erro ao gravar o registro de auditoria {} no arquivo local: ", registro.protocolo(), e);
+                return false;
+            }
+            if (!fila.offer(registro)) {
+                arquivoExcedente = true;
+                logger.warn("Fila de auditoria cheia; o protocolo {} será gravado a partir do arquivo local", registro.protocolo());
+            }
+            return true;
+        }
+    }
+
+    private void gravarContinuamente() {
+        try {
+            while (!encerrando || !fila.isEmpty()) {
+                try {
+                    if (lotesPendentes) {
+                        gravarLotesPendentes();
+                    }
+                    RegistroAuditoria primeiro = fila.poll(1, TimeUnit.SECONDS);
+                    if (primeiro != null) {
+                        gravarArquivoAtual(primeiro);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (RuntimeException | IOException e) {
+                    // O arquivo de lote permanece no diretório e é gravado na próxima volta
+                    lotesPendentes = true;
+                    if (encerrando) {
+                        logger.error("Erro ao gravar auditoria durante o encerramento; os registros ficam no arquivo local: {}",
+                                e.getMessage());
+                        return;
+                    }
+                    logger.error("Erro ao gravar lote de auditoria; nova tentativa em {} ms: ", ESPERA_APOS_FALHA_MS, e);
+                    Thread.sleep(ESPERA_APOS_FALHA_MS);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            gravadorEncerrado.countDown();
+        }
+    }
+
+    /**
+     * Separa o arquivo atual e a fila (sob a trava) e grava os registros no banco (fora dela).
+     * Todo registro da fila tem sua linha no arquivo atual, então o arquivo de lote contém todos eles.
+     */
+    private void gravarArquivoAtual(RegistroAuditoria primeiro) throws IOException {
+        List<RegistroAuditoria> registros = new ArrayList<>();
+        registros.add(primeiro);
+        Path lote;
+        boolean excedente;
+        synchronized (travaArquivo) {
+            lote = rotacionar();
+            fila.drainTo(registros);
+            excedente = arquivoExcedente;
+            arquivoExcedente = false;
+        }
+
+        if (excedente) {
+            // Parte dos registros não coube na fila e só está no arquivo
+            gravarArquivo(lote);
+        } else {
+            for (int inicio = 0; inicio < registros.size(); inicio += TAMANHO_LOTE) {
+                inserir(registros.subList(inicio, Math.min(inicio + TAMANHO_LOTE, registros.size())));
+            }
+        }
+        Files.delete(lote);
+    }
+
+    private void gravarLotesPendentes() throws IOException {
+        List<Path> lotes;
+        try (Stream<Path> arquivos = Files.list(arquivo.getParent())) {
+            lotes = arquivos.filter(this::isArquivoLote).sorted().toList();
+        }
+        for (Path lote : lotes) {
+            gravarArquivo(lote);
+            Files.delete(lote);
+            logger.info("Arquivo de auditoria pendente {} gravado", lote.getFileName());
+        }
+        lotesPendentes = false;
+    }
+
+    /**
+     * Grava os registros de um arquivo de lote, TAMANHO_LOTE por vez (a memória não depende do tamanho do arquivo)
+     */
+    private void gravarArquivo(Path lote) throws IOException {
+        List<RegistroAuditoria> registros = new ArrayList<>(TAMANHO_LOTE);
+        try (BufferedReader leitor = Files.newBufferedReader(lote, StandardCharsets.UTF_8)) {
+            String linha;
+            while ((linha = leitor.readLine()) != null) {
+                if (linha.isBlank()) {
+                    continue;
+                }
+                try {
+                    registros.add(objectMapper.readValue(linha, RegistroAuditoria.class));
+                } catch (JsonProcessingException e) {
+                    // Linha incompleta de uma gravação interrompida
+                    logger.warn("Linha inválida ignorada no arquivo de auditoria {}: {}", lote.getFileName(), e.getOriginalMessage());
+                    continue;
+                }
+                if (registros.size() == TAMANHO_LOTE) {
+                    inserir(registros);
+                    registros.clear();
+                }
+            }
+        }
+        if (!registros.isEmpty()) {
+            inserir(registros);
+        }
+    }
+
+    private void inserir(List<RegistroAuditoria> lote) {
+        Map<String, RegistroAuditoria> porProtocolo = new LinkedHashMap<>();
+        for (RegistroAuditoria registro : lote) {
+            RegistroAuditoria anterior = porProtocolo.putIfAbsent(registro.protocolo(), registro);
+            if (anterior != null && !anterior.equals(registro)) {
+                // Outra alteração com o mesmo protocolo: não é uma regravação do mesmo registro
+                rejeitar(registro, "Protocolo repetido no lote por outra alteração");
+            }
+        }
+        porProtocolo.keySet().removeAll(auditoriaTurmaRepository.findProtocolosExistentes(porProtocolo.keySet()));
+        if (porProtocolo.isEmpty()) {
+            return;
+        }
+
+        List<RegistroAuditoria> novos = new ArrayList<>(porProtocolo.values());
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(SQL_INSERIR, novos, TAMANHO_LOTE, this::preencher));
+        } catch (DataAccessException e) {
+            // Separa os registros recusados; uma falha do banco interrompe no primeiro registro
+            logger.warn("Lote de auditoria recusado ({}); gravando registro a registro", e.getMessage());
+            novos.forEach(this::inserirIndividualmente);
+        }
+        logger.debug("Lote de auditoria gravado: {} registros ({} novos)", lote.size(), novos.size());
+    }
+
+    private void inserirIndividualmente(RegistroAuditoria registro) {
+        try {
+            jdbcTemplate.update(SQL_INSERIR, ps -> preencher(ps, registro));
+        } catch (DuplicateKeyException e) {
+            // Os protocolos já gravados foram filtrados antes: a chave foi ocupada por outra alteração
+            logger.warn("Protocolo de auditoria {} já existe na tabela para outra alteração", registro.protocolo());
+            rejeitar(registro, e.getMostSpecificCause().getMessage());
+        } catch (DataIntegrityViolationException e) {
+            rejeitar(registro, e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    private void rejeitar(RegistroAuditoria registro, String erro) {
+        logger.error("Registro de auditoria {} recusado e movido para {}: {}", registro.protocolo(), NOME_REJEITADOS, erro);
+        try {
+            RegistroRejeitado rejeitado = new RegistroRejeitado(LocalDateTime.now(), erro, registro);
+            Files.write(arquivoRejeitados, (objectMapper.writeValueAsString(rejeitado) + "\n").getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE, StandardOpenOption.DSYNC);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao gravar o arquivo de auditorias rejeitadas", e);
+        }
+    }
+
+    private void preencher(PreparedStatement ps, RegistroAuditoria registro) throws SQLException {
+        ps.setLong(1, registro.turmaId());
+        ps.setString(2, registro.protocolo());
+        ps.setString(3, registro.alteracaoAntes());
+        ps.setString(4, registro.alteracaoDepois());
+        ps.setString(5, registro.alteracoesDetalhadas());
+        ps.setString(6, registro.usuario());
+        ps.setTimestamp(7, Timestamp.valueOf(registro.dataAlteracao()));
+        ps.setString(8, registro.justificativa());
+        ps.setString(9, registro.ipAddress());
+        ps.setString(10, registro.userAgent());
+    }
+
+    /**
+     * Renomeia o arquivo atual para um arquivo de lote; os próximos registros criam um arquivo novo
+     */
+    private Path rotacionar() throws IOException {
+        Path lote = arquivo.resolveSibling(String.format("%s%013d-%06d.jsonl",
+                PREFIXO_LOTE, System.currentTimeMillis(), sequenciaLote.incrementAndGet()));
+        Files.move(arquivo, lote, StandardCopyOption.ATOMIC_MOVE);
+        return lote;
+    }
+
+    private boolean isArquivoLote(Path caminho) {
+        return caminho.getFileName().toString().startsWith(PREFIXO_LOTE);
+    }
+}
@@ -1,23 +1,42 @@
 package br.com.arirang.plataforma.service;
 
+import br.com.arirang.plataforma.dto.HistoricoAlteracaoTurmaDTO;
+import br.com.arirang.plataforma.dto.PaginaDTO;
 import br.com.arirang.plataforma.dto.TurmaDTO;
 import br.com.arirang.plataforma.entity.AuditoriaTurma;
+import br.com.arirang.plataforma.exception.BusinessException;
+import br.com.arirang.plataforma.repository.AuditoriaTurmaArquivoRepository;
 import br.com.arirang.plataforma.repository.AuditoriaTurmaRepository;
+import br.com.arirang.plataforma.util.PaginacaoUtil;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 @Service
 @Transactional
@@ -25,26 +44,54 @@ public class AuditoriaTurmaService {
     
     private static final Logger logger = LoggerFactory.getLogger(AuditoriaTurmaService.class);
     
+    /**
+     * Atributo da requisição com o protocolo da alteração registrada (exibido após salvar a turma)
+     */
+    public static final String ATRIBUTO_PROTOCOLO = "auditoriaTurmaProtocolo";
+    
+    private static final int TAMANHO_MAXIMO_USUARIO_PROTOCOLO = 30;
+    
     @Autowired
     private AuditoriaTurmaRepository auditoriaTurmaRepository;
     
     @Autowired
     private ObjectMapper objectMapper;
     
+    @Autowired
+    private AuditoriaTurmaGravador auditoriaTurmaGravador;
+    
+    @Autowired
+    private AuditoriaTurmaArquivoRepository auditoriaTurmaArquivoRepository;
+    
+    @Autowired
+    private MigracaoDadosService migracaoDadosService;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Value("${app.auditoria.arquivamento.meses:12}")
+    private int mesesRetencao;
+    
     /**
      * Gera um protocolo único para a alteração
-     * Formato: ALT-TUR-[ID]-[DDMMYYYY]-[HHMM]-[USUARIO]
+     * Formato: ALT-TUR-[ID]-[DDMMYYYY]-[HHMMSSmmm]-[USUARIO]-[SUFIXO]
+     * O sufixo aleatório distingue alterações da mesma turma e usuário no mesmo milissegundo
+     * (ou em outra instância); o usuário é limitado a 30 caracteres para caber na coluna (100).
      */
     public String gerarProtocolo(Long turmaId, String usuario) {
         LocalDateTime now = LocalDateTime.now();
         DateTimeFormatter dataFormatter = DateTimeFormatter.ofPattern("ddMMyyyy");
-        DateTimeFormatter horaFormatter = DateTimeFormatter.ofPattern("HHmm");
+        DateTimeFormatter horaFormatter = DateTimeFormatter.ofPattern("HHmmssSSS");
         
         String data = now.format(dataFormatter);
         String hora = now.format(horaFormatter);
         String usuarioLimpo = usuario != null ? usuario.replaceAll("[^a-zA-Z0-9]", "").toLowerCase() : "sistema";
+        if (usuarioLimpo.length() > TAMANHO_MAXIMO_USUARIO_PROTOCOLO) {
+            usuarioLimpo = usuarioLimpo.substring(0, TAMANHO_MAXIMO_USUARIO_PROTOCOLO);
+        }
+        String sufixo = UUID.randomUUID().toString().substring(0, 8);
         
-        String protocolo = String.format("ALT-TUR-%d-%s-%s-%s", turmaId, data, hora, usuarioLimpo);
+        String protocolo = String.format("ALT-TUR-%d-%s-%s-%s-%s", turmaId, data, hora, usuarioLimpo, sufixo);
         logger.info("Protocolo gerado: {}", protocolo);
         return protocolo;
     }
@@ -183,11 +230,13 @@ public class AuditoriaTurmaService {
     }
     
     /**
-     * Registra uma alteração auditada
-     * Usa REQUIRES_NEW para garantir que a auditoria seja persistida mesmo se a transação principal falhar
+     * Registra uma alteração auditada.
+     * O registro é calculado aqui (IP e User-Agent só existem na thread da requisição) e gravado
+     * em segundo plano pelo AuditoriaTurmaGravador, fora da transação principal: a auditoria
+     * persiste mesmo se a transação principal falhar e não ocupa outra conexão durante o salvamento.
+     * @return o protocolo da alteração, ou null se a auditoria não pôde ser registrada
      */
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public AuditoriaTurma registrarAlteracao(
+    public String registrarAlteracao(
             Long turmaId,
             TurmaDTO antes,
             TurmaDTO depois,
@@ -207,30 +256,30 @@ public class AuditoriaTurmaService {
             String alteracaoDepoisJson = depois != null ? objectMapper.writeValueAsString(depois) : null;
             String alteracoesDetalhadas = gerarDescricaoAlteracoes(alteracoes);
             
-            // Criar registro de auditoria
-            AuditoriaTurma auditoria = new AuditoriaTurma();
-            auditoria.setTurmaId(turmaId);
-            auditoria.setProtocolo(protocolo);
-            auditoria.setAlteracaoAntes(alteracaoAntesJson);
-            auditoria.setAlteracaoDepois(alteracaoDepoisJson);
-            auditoria.setAlteracoesDetalhadas(alteracoesDetalhadas);
-            auditoria.setUsuario(usuario);
-            auditoria.setJustificativa(justificativa);
-            auditoria.setDataAlteracao(LocalDateTime.now());
+            AuditoriaTurmaGravador.RegistroAuditoria registro = new AuditoriaTurmaGravador.RegistroAuditoria(
+                    turmaId,
+                    protocolo,
+                    alteracaoAntesJson,
+                    alteracaoDepoisJson,
+                    alteracoesDetalhadas,
+                    usuario,
+                    LocalDateTime.now(),
+                    justificativa,
+                    request != null ? obterIpAddress(request) : null,
+                    request != null ? request.getHeader("User-Agent") : null
+            );
             
+            if (!auditoriaTurmaGravador.registrar(registro)) {
+                return null;
+            }
             if (request != null) {
-                auditoria.setIpAddress(obterIpAddress(request));
-                auditoria.setUserAgent(request.getHeader("User-Agent"));
+                request.setAttribute(ATRIBUTO_PROTOCOLO, protocolo);
             }
-            
-            AuditoriaTurma salva = auditoriaTurmaRepository.save(auditoria);
             logger.info("Alteração auditada registrada - Protocolo: {} - Turma ID: {}", protocolo, turmaId);
-            
-            return salva;
+            return protocolo;
         } catch (Exception e) {
             logger.error("Erro ao registrar auditoria para turma ID {}: {}", turmaId, e.getMessage(), e);
-            // Não lançar exceção para não causar rollback da transação principal
-            // A auditoria é importante mas não deve impedir a atualização da turma
+            // Não lançar exceção: a auditoria é importante mas não deve impedir a atualização da turma
             return null;
         }
     }
@@ -247,19 +296,33 @@ public class AuditoriaTurmaService {
     }
     
     /**
-     * Busca histórico de alterações de uma turma
+     * Página do histórico de alterações de uma turma, da mais recente para a mais antiga.
+     * O cursor é o id do último registro da página anterior.
      */
     @Transactional(readOnly = true)
-    public List<AuditoriaTurma> buscarHistorico(Long turmaId) {
-        return auditoriaTurmaRepository.findHistoricoCompleto(turmaId);
+    public PaginaDTO<HistoricoAlteracaoTurmaDTO> buscarHistorico(Long turmaId, String cursor, Integer tamanho) {
+        PaginacaoUtil.Cursor posicao = PaginacaoUtil.Cursor.decodificar(cursor);
+        LocalDateTime cursorData = null;
+        if (!posicao.isInicio()) {
+            cursorData = auditoriaTurmaRepository.findDataAlteracaoById(posicao.id())
+                    .orElseThrow(() -> new BusinessException("Cursor de paginação inválido: " + cursor));
+        }
+        Slice<HistoricoAlteracaoTurmaDTO> fatia = auditoriaTurmaRepository.findHistorico(
+                turmaId, cursorData, posicao.id(), PaginacaoUtil.limite(tamanho));
+        return PaginaDTO.de(fatia, Function.identity(), item -> PaginacaoUtil.Cursor.de(item.id()));
     }
     
     /**
-     * Busca auditoria por protocolo
+     * Busca auditoria por protocolo, inclusive entre os registros já arquivados
      */
     @Transactional(readOnly = true)
     public Optional<AuditoriaTurma> buscarPorProtocolo(String protocolo) {
-        return auditoriaTurmaRepository.findByProtocolo(protocolo);
+        Optional<AuditoriaTurma> auditoria = auditoriaTurmaRepository.findByProtocolo(protocolo);
+        if (auditoria.isPresent()) {
+            return auditoria;
+        }
+        return auditoriaTurmaArquivoRepository.findByProtocolo(protocolo)
+                .map(arquivo -> descomprimir(arquivo.getConteudo()));
     }
     
     /**
@@ -267,8 +330,78 @@ public class AuditoriaTurmaService {
      */
     @Transactional(readOnly = true)
     public boolean temMultiplasAlteracoesHoje(Long turmaId) {
-        Long count = auditoriaTurmaRepository.countAlteracoesHoje(turmaId);
-        return count != null && count > 1;
+        LocalDateTime inicioDoDia = LocalDate.now().atStartOfDay();
+        return auditoriaTurmaRepository.countAlteracoesNoPeriodo(turmaId, inicioDoDia, inicioDoDia.plusDays(1)) > 1;
+    }
+    
+    /**
+     * Arquivamento noturno: move os registros com mais de app.auditoria.arquivamento.meses meses
+     * para auditoria_turma_arquivo (JSON comprimido), em lotes pelo MigracaoDadosService.
+     * Cada lote grava o arquivo e remove os originais na mesma transação.
+     * Executa diariamente às 03:00.
+     */
+    @Scheduled(cron = "0 0 3 * * ?")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void arquivarAuditoriasAntigas() {
+        if (mesesRetencao <= 0) {
+            return;
+        }
+        LocalDateTime limite = LocalDate.now().minusMonths(mesesRetencao).atStartOfDay();
+        try {
+            migracaoDadosService.executar(new MigracaoDadosService.Migracao() {
+                @Override
+                public String nome() {
+                    return "auditoria-turma-arquivamento";
+                }
+                
+                @Override
+                public List<Long> buscarProximosIds(Long ultimoId, int limiteIds) {
+                    return auditoriaTurmaRepository.findIdsAnterioresA(limite, ultimoId, PageRequest.of(0, limiteIds));
+                }
+                
+                @Override
+                public MigracaoDadosService.ResultadoLote processarLote(List<Long> ids) {
+                    return arquivar(auditoriaTurmaRepository.findAllById(ids));
+                }
+            }, MigracaoDadosService.TAMANHO_LOTE_PADRAO);
+        } catch (BusinessException e) {
+            // Já registrado pelo MigracaoDadosService; o próximo agendamento retoma do último lote
+            logger.warn("Arquivamento da auditoria de turmas não concluído: {}", e.getMessage());
+        }
+    }
+    
+    private MigracaoDadosService.ResultadoLote arquivar(List<AuditoriaTurma> auditorias) {
+        LocalDateTime agora = LocalDateTime.now();
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO auditoria_turma_arquivo (id, turma_id, protocolo, data_alteracao, conteudo, data_arquivamento) " +
+                "VALUES (?, ?, ?, ?, ?, ?)",
+                auditorias, auditorias.size(), (ps, auditoria) -> {
+                    ps.setLong(1, auditoria.getId());
+                    ps.setLong(2, auditoria.getTurmaId());
+                    ps.setString(3, auditoria.getProtocolo());
+                    ps.setTimestamp(4, Timestamp.valueOf(auditoria.getDataAlteracao()));
+                    ps.setBytes(5, comprimir(auditoria));
+                    ps.setTimestamp(6, Timestamp.valueOf(agora));
+                });
+        auditoriaTurmaRepository.deleteAllInBatch(auditorias);
+        return new MigracaoDadosService.ResultadoLote(auditorias.size(), 0);
+    }
+    
+    private byte[] comprimir(AuditoriaTurma auditoria) {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(saida)) {
+            objectMapper.writeValue(gzip, auditoria);
+        } catch (IOException e) {
+            throw new BusinessException("Erro ao comprimir a auditoria " + auditoria.getProtocolo() + ": " + e.getMessage());
+        }
+        return saida.toByteArray();
+    }
+    
+    private AuditoriaTurma descomprimir(byte[] conteudo) {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(conteudo))) {
+            return objectMapper.readValue(gzip, AuditoriaTurma.class);
+        } catch (IOException e) {
+            throw new BusinessException("Erro ao ler auditoria arquivada: " + e.getMessage());
+        }
     }
 }
-
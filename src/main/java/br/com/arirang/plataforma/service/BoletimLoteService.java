@@ -0,0 +1,212 @@
+package br.com.arirang.plataforma.service;
+
+import br.com.arirang.plataforma.dto.BoletimDTO;
+import br.com.arirang.plataforma.dto.LoteBoletinsDTO;
+import br.com.arirang.plataforma.exception.BusinessException;
+import br.com.arirang.plataforma.exception.ResourceNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Geração em lote dos PDFs de boletins finalizados de uma turma.
+ * Os boletins são renderizados em paralelo no executor limitado "boletimPdfExecutor"
+ * e reunidos em um ZIP, mantido em memória até ser baixado ou expirar.
+ */
+@Service
+public class BoletimLoteService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BoletimLoteService.class);
+
+    private static final long HORAS_RETENCAO = 1;
+
+    @Autowired
+    private BoletimService boletimService;
+
+    @Autowired
+    private BoletimPdfService boletimPdfService;
+
+    @Autowired
+    @Qualifier("boletimPdfExecutor")
+    private TaskExecutor boletimPdfExecutor;
+
+    private final Map<String, Lote> lotes = new ConcurrentHashMap<>();
+
+    private static final int QUANTIDADE_TRAVAS = 64;
+
+    // Travas fixas indexadas pela turma: a verificação do lote em andamento e o registro do novo são
+    // atômicos por turma, sem guardar uma trava para cada turma já processada
+    private final Object[] travasPorTurma = Stream.generate(Object::new).limit(QUANTIDADE_TRAVAS).toArray();
+
+    /**
+     * Inicia a geração dos PDFs da turma. Se já houver um lote em processamento
+     * para a mesma turma, retorna esse lote em vez de iniciar outro.
+     */
+    public LoteBoletinsDTO iniciarLote(Long turmaId) {
+        Lote lote;
+        List<BoletimDTO> boletins;
+        BoletimPdfService.Template template;
+        synchronized (travasPorTurma[Math.floorMod(turmaId.hashCode(), QUANTIDADE_TRAVAS)]) {
+            Lote emAndamento = lotes.values().stream()
+                    .filter(existente -> existente.turmaId.equals(turmaId) && existente.dataConclusao == null)
+                    .findFirst()
+                    .orElse(null);
+            if (emAndamento != null) {
+                return emAndamento.toDTO();
+            }
+
+            // Carrega os boletins (e notas) na thread da requisição; os workers só renderizam
+            boletins = boletimService.buscarBoletinsPorTurmaAsDTO(turmaId).stream()
+                    .filter(BoletimDTO::finalizado)
+                    .toList();
+            if (boletins.isEmpty()) {
+                throw new BusinessException("A turma não possui boletins finalizados para gerar PDF");
+            }
+
+            // Template resolvido aqui: as threads do executor não têm o usuário autenticado
+            template = boletimPdfService.obterTemplate();
+
+            lote = new Lote(UUID.randomUUID().toString(), turmaId, boletins.size());
+            lotes.put(lote.id, lote);
+        }
+        logger.info("Iniciando lote {} de PDFs de boletins da turma ID {} ({} boletins)", lote.id, turmaId, boletins.size());
+
+        List<CompletableFuture<ArquivoPdf>> tarefas = boletins.stream()
+                .map(boletim -> CompletableFuture.supplyAsync(() -> renderizar(lote, boletim, template), boletimPdfExecutor))
+                .toList();
+
+        CompletableFuture.allOf(tarefas.toArray(new CompletableFuture[0]))
+                .whenComplete((ignorado, erro) -> concluir(lote, tarefas));
+
+        return lote.toDTO();
+    }
+
+    public LoteBoletinsDTO consultarLote(String loteId) {
+        return buscarLote(loteId).toDTO();
+    }
+
+    /**
+     * ZIP com os PDFs do lote concluído
+     */
+    public byte[] obterArquivo(String loteId) {
+        Lote lote = buscarLote(loteId);
+        if (lote.arquivo == null) {
+            throw new BusinessException("O lote ainda não foi concluído ou não gerou nenhum PDF");
+        }
+        return lote.arquivo;
+    }
+
+    /**
+     * Remove lotes concluídos há mais de uma hora (libera a memória dos ZIPs)
+     */
+    @Scheduled(fixedDelay = 600000)
+    public void removerLotesExpirados() {
+        LocalDateTime limite = LocalDateTime.now().minusHours(HORAS_RETENCAO);
+        lotes.values().removeIf(lote -> lote.dataConclusao != null && lote.dataConclusao.isBefore(limite));
+    }
+
+    private Lote buscarLote(String loteId) {
+        Lote lote = lotes.get(loteId);
+        if (lote == null) {
+            throw new ResourceNotFoundException("Lote de boletins não encontrado ou expirado: " + loteId);
+        }
+        return lote;
+    }
+
+    private ArquivoPdf renderizar(Lote lote, BoletimDTO boletim, BoletimPdfService.Template template) {
+        try {
+            byte[] pdf = boletimPdfService.gerarPdf(boletim, template);
+            return new ArquivoPdf(nomeArquivo(boletim), pdf);
+        } catch (Exception e) {
+            lote.falhas.incrementAndGet();
+            logger.error("Erro ao gerar PDF do boletim ID {} (lote {}): ", boletim.id(), lote.id, e);
+            return null;
+        } finally {
+            lote.processados.incrementAndGet();
+        }
+    }
+
+    private void concluir(Lote lote, List<CompletableFuture<ArquivoPdf>> tarefas) {
+        try {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            int arquivos = 0;
+            try (ZipOutputStream zip = new ZipOutputStream(baos)) {
+                for (CompletableFuture<ArquivoPdf> tarefa : tarefas) {
+                    ArquivoPdf arquivo = tarefa.getNow(null);
+                    if (arquivo == null) {
+                        continue;
+                    }
+                    zip.putNextEntry(new ZipEntry(arquivo.nome()));
+                    zip.write(arquivo.conteudo());
+                    zip.closeEntry();
+                    arquivos++;
+                }
+            }
+            lote.arquivo = arquivos > 0 ? baos.toByteArray() : null;
+            lote.mensagem = lote.falhas.get() > 0
+                    ? lote.falhas.get() + " boletim(ns) não puderam ser gerados"
+                    : null;
+        } catch (IOException e) {
+            logger.error("Erro ao compactar lote {}: ", lote.id, e);
+            lote.mensagem = "Erro ao compactar os PDFs: " + e.getMessage();
+        } finally {
+            lote.dataConclusao = LocalDateTime.now();
+            logger.info("Lote {} concluído: {} de {} boletins gerados", lote.id,
+                    lote.total - lote.falhas.get(), lote.total);
+        }
+    }
+
+    private String nomeArquivo(BoletimDTO boletim) {
+        String aluno = boletim.alunoNome() != null ? boletim.alunoNome().replaceAll("[^a-zA-Z0-9]", "_") : "aluno";
+        return "boletim_" + aluno + "_" + boletim.id() + ".pdf";
+    }
+
+    private record ArquivoPdf(String nome, byte[] conteudo) {}
+
+    private static class Lote {
+        private final String id;
+        private final Long turmaId;
+        private final int total;
+        private final AtomicInteger processados = new AtomicInteger();
+        private final AtomicInteger falhas = new AtomicInteger();
+        private final LocalDateTime dataInicio = LocalDateTime.now();
+        private volatile LocalDateTime dataConclusao;
+        private volatile byte[] arquivo;
+        private volatile String mensagem;
+
+        private Lote(String id, Long turmaId, int total) {
+            this.id = id;
+            this.turmaId = turmaId;
+            this.total = total;
+        }
+
+        private LoteBoletinsDTO toDTO() {
+            String status;
+            if (dataConclusao == null) {
+                status = "PROCESSANDO";
+            } else {
+                status = arquivo != null ? "CONCLUIDO" : "FALHOU";
+            }
+            int feitos = processados.get();
+            return new LoteBoletinsDTO(id, turmaId, status, total, feitos, falhas.get(),
+                    total > 0 ? feitos * 100 / total : 100, dataInicio, dataConclusao, mensagem);
+        }
+    }
+}
@@ -2,34 +2,89 @@ package br.com.arirang.plataforma.service;
 
 import br.com.arirang.plataforma.dto.BoletimDTO;
 import br.com.arirang.plataforma.dto.NotaDTO;
+import br.com.arirang.plataforma.event.ConfiguracaoUsuarioAlteradaEvent;
 import com.lowagie.text.*;
 import com.lowagie.text.pdf.PdfPCell;
 import com.lowagie.text.pdf.PdfPTable;
 import com.lowagie.text.pdf.PdfWriter;
 import java.awt.Color;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class BoletimPdfService {
 
+    private static final Logger logger = LoggerFactory.getLogger(BoletimPdfService.class);
+
+    private static final String SEM_USUARIO = "";
+    private static final DateTimeFormatter FORMATO_DATA_HORA = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+
+    @Autowired
+    private ConfiguracaoUsuarioService configuracaoUsuarioService;
+
+    // Template por usuário (o logo vem da configuração de cada um); descartado quando a configuração muda
+    private final Map<String, Template> templates = new ConcurrentHashMap<>();
+
+    /**
+     * Gera o PDF com o template do usuário autenticado
+     */
     public byte[] gerarPdf(BoletimDTO boletim) throws DocumentException, IOException {
+        return gerarPdf(boletim, obterTemplate());
+    }
+
+    /**
+     * Template do usuário autenticado (fontes e logo já carregados).
+     * Deve ser obtido na thread da requisição e reutilizado nas gerações em lote.
+     */
+    public Template obterTemplate() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String username = authentication != null && authentication.isAuthenticated()
+                ? authentication.getName()
+                : SEM_USUARIO;
+        return templates.computeIfAbsent(username, this::criarTemplate);
+    }
+
+    // Após o commit, para que o template recriado leia a configuração já gravada
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoAlterarConfiguracao(ConfiguracaoUsuarioAlteradaEvent evento) {
+        if (templates.remove(evento.username()) != null) {
+            logger.debug("Template de PDF do usuário {} descartado após alteração da configuração", evento.username());
+        }
+    }
+
+    public byte[] gerarPdf(BoletimDTO boletim, Template template) throws DocumentException, IOException {
         Document document = new Document(PageSize.A4);
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
         PdfWriter.getInstance(document, baos);
 
         document.open();
 
-        // Configurar fonte padrão
-        Font titleFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 18, Color.BLACK);
-        Font headerFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 12, Color.BLACK);
-        Font normalFont = FontFactory.getFont(FontFactory.HELVETICA, 10, Color.BLACK);
-        Font smallFont = FontFactory.getFont(FontFactory.HELVETICA, 9, Color.DARK_GRAY);
+        Font titleFont = template.titleFont;
+        Font headerFont = template.headerFont;
+        Font normalFont = template.normalFont;
+        Font smallFont = template.smallFont;
 
         // Cabeçalho
+        Image logo = template.novoLogo();
+        if (logo != null) {
+            logo.setAlignment(Element.ALIGN_CENTER);
+            document.add(logo);
+        }
+
         Paragraph title = new Paragraph("AriranG - Centro de Idiomas", titleFont);
         title.setAlignment(Element.ALIGN_CENTER);
         title.setSpacingAfter(4);
@@ -57,7 +112,7 @@ public class BoletimPdfService {
         
         if (boletim.dataLancamento() != null) {
             addCell(infoTable, "Data de Lançamento:", normalFont);
-            addCell(infoTable, boletim.dataLancamento().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm")), normalFont);
+            addCell(infoTable, boletim.dataLancamento().format(FORMATO_DATA_HORA), normalFont);
         }
 
         document.add(infoTable);
@@ -99,8 +154,7 @@ public class BoletimPdfService {
         document.add(mediaTitle);
 
         if (boletim.mediaFinal() != null) {
-            Font mediaFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 16, Color.BLACK);
-            Paragraph media = new Paragraph(String.format("%.2f", boletim.mediaFinal()), mediaFont);
+            Paragraph media = new Paragraph(String.format("%.2f", boletim.mediaFinal()), template.mediaFont);
             media.setAlignment(Element.ALIGN_CENTER);
             media.setSpacingAfter(10);
             document.add(media);
@@ -108,8 +162,7 @@ public class BoletimPdfService {
 
         // Situação Final
         if (boletim.situacaoFinal() != null) {
-            Font statusFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 14, 
-                    "APROVADO".equals(boletim.situacaoFinal()) ? Color.GREEN : Color.RED);
+            Font statusFont = "APROVADO".equals(boletim.situacaoFinal()) ? template.aprovadoFont : template.reprovadoFont;
             Paragraph situacao = new Paragraph(boletim.situacaoFinal(), statusFont);
             situacao.setAlignment(Element.ALIGN_CENTER);
             situacao.setSpacingAfter(20);
@@ -138,7 +191,7 @@ public class BoletimPdfService {
         // Rodapé
         Paragraph footer = new Paragraph(
                 "Este documento foi gerado automaticamente pelo sistema AriranG em " + 
-                java.time.LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm")),
+                java.time.LocalDateTime.now().format(FORMATO_DATA_HORA),
                 smallFont);
         footer.setAlignment(Element.ALIGN_CENTER);
         footer.setSpacingBefore(20);
@@ -149,6 +202,21 @@ public class BoletimPdfService {
         return baos.toByteArray();
     }
 
+    private Template criarTemplate(String username) {
+        byte[] logo = null;
+        if (!SEM_USUARIO.equals(username)) {
+            try {
+                Path arquivo = configuracaoUsuarioService.buscarArquivoLogo(username).orElse(null);
+                if (arquivo != null) {
+                    logo = Files.readAllBytes(arquivo);
+                }
+            } catch (Exception e) {
+                logger.warn("Não foi possível carregar o logo do usuário {} para o PDF: {}", username, e.getMessage());
+            }
+        }
+        return new Template(logo);
+    }
+
     private void addCell(PdfPTable table, String text, Font font) {
         PdfPCell cell = new PdfPCell(new Phrase(text != null ? text : "", font));
         cell.setPadding(5);
@@ -163,5 +231,49 @@ public class BoletimPdfService {
         cell.setBorder(Rectangle.BOX);
         table.addCell(cell);
     }
-}
 
+    /**
+     * Recursos do PDF carregados uma única vez: fontes e logo já decodificado.
+     * Imutável e compartilhado entre threads; os elementos do documento (parágrafos,
+     * tabelas) continuam sendo criados por PDF, pois o OpenPDF os altera ao renderizar.
+     */
+    public static final class Template {
+
+        private static final float LOGO_LARGURA_MAXIMA = 120;
+        private static final float LOGO_ALTURA_MAXIMA = 60;
+
+        private final Font titleFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 18, Color.BLACK);
+        private final Font headerFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 12, Color.BLACK);
+        private final Font normalFont = FontFactory.getFont(FontFactory.HELVETICA, 10, Color.BLACK);
+        private final Font smallFont = FontFactory.getFont(FontFactory.HELVETICA, 9, Color.DARK_GRAY);
+        private final Font mediaFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 16, Color.BLACK);
+        private final Font aprovadoFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 14, Color.GREEN);
+        private final Font reprovadoFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 14, Color.RED);
+        private final Image logo;
+
+        private Template(byte[] logoBytes) {
+            Image imagem = null;
+            if (logoBytes != null) {
+                try {
+                    imagem = Image.getInstance(logoBytes);
+                    imagem.scaleToFit(LOGO_LARGURA_MAXIMA, LOGO_ALTURA_MAXIMA);
+                } catch (Exception e) {
+                    logger.warn("Logo inválido ignorado no template do boletim: {}", e.getMessage());
+                }
+            }
+            this.logo = imagem;
+        }
+
+        /**
+         * Cópia do logo para um documento (compartilha os dados já decodificados da imagem)
+         */
+        private Image novoLogo() {
+            if (logo == null) {
+                return null;
+            }
+            Image copia = Image.getInstance(logo);
+            copia.scaleToFit(LOGO_LARGURA_MAXIMA, LOGO_ALTURA_MAXIMA);
+            return copia;
+        }
+    }
+}
@@ -1,20 +1,30 @@
 package br.com.arirang.plataforma.service;
 
 import br.com.arirang.plataforma.dto.BoletimDTO;
+import br.com.arirang.plataforma.dto.EstatisticasBoletinsDTO;
 import br.com.arirang.plataforma.dto.NotaDTO;
+import br.com.arirang.plataforma.dto.PadraoBoletimDTO;
+import br.com.arirang.plataforma.dto.TotaisNotasBoletimDTO;
 import br.com.arirang.plataforma.entity.*;
+import br.com.arirang.plataforma.exception.ResourceNotFoundException;
 import br.com.arirang.plataforma.repository.BoletimRepository;
 import br.com.arirang.plataforma.repository.NotaRepository;
 import br.com.arirang.plataforma.repository.TurmaRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,6 +32,10 @@ public class BoletimService {
 
     private static final Logger logger = LoggerFactory.getLogger(BoletimService.class);
 
+    // Valor inicial das notas criadas a partir do padrão da turma (usuário pode alterar depois)
+    private static final int VALOR_NOTA_PADRAO = 1;
+    private static final int TAMANHO_LOTE_INSERCAO = 100;
+
     @Autowired
     private BoletimRepository boletimRepository;
 
@@ -37,6 +51,9 @@ public class BoletimService {
     @Autowired
     private PadraoBoletimService padraoBoletimService;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Transactional
     public Boletim criarBoletim(Long alunoId, Long turmaId) {
         Aluno aluno = alunoService.buscarAlunoPorId(alunoId)
@@ -72,6 +89,8 @@ public class BoletimService {
         boletim.setTurma(turma);
         boletim.setDataLancamento(LocalDateTime.now());
         boletim.setSituacaoFinal(SituacaoFinal.EM_ANDAMENTO);
+        boletim.setSomaNotas(0L);
+        boletim.setQuantidadeNotas(0);
 
         Boletim savedBoletim = boletimRepository.saveAndFlush(boletim);
         
@@ -86,37 +105,105 @@ public class BoletimService {
                 .orElse(savedBoletim);
     }
     
+    /**
+     * Cria, em uma única transação, os boletins de todos os alunos da turma que ainda não
+     * possuem um, já com as notas do padrão da turma. O padrão é lido uma vez e boletins e
+     * notas são gravados com inserções JDBC em lote: as entidades usam IDENTITY, o que
+     * impede o Hibernate de agrupar os INSERTs. Boletins já existentes não são alterados.
+     * @return quantidade de boletins criados
+     */
+    @Transactional
+    public int criarBoletinsDaTurma(Long turmaId) {
+        if (!turmaRepository.existsById(turmaId)) {
+            throw new ResourceNotFoundException("Turma não encontrada com ID: " + turmaId);
+        }
+
+        List<Long> alunoIds = boletimRepository.findAlunoIdsSemBoletimByTurmaId(turmaId);
+        if (alunoIds.isEmpty()) {
+            logger.info("Todos os alunos da turma ID {} já possuem boletim", turmaId);
+            return 0;
+        }
+
+        List<Object[]> notasPadrao = new ArrayList<>();
+        padraoBoletimService.buscarPadraoPorTurmaId(turmaId).ifPresent(padrao -> {
+            for (TipoNota tipoNota : TipoNota.values()) {
+                String descricaoPadrao = padrao.descricaoPorTipo(tipoNota);
+                if (descricaoPadrao != null && !descricaoPadrao.trim().isEmpty()) {
+                    notasPadrao.add(new Object[]{tipoNota.name(), descricaoPadrao});
+                }
+            }
+        });
+        // Todas as notas padrão têm o mesmo valor, que passa a ser a média inicial
+        Double mediaInicial = notasPadrao.isEmpty() ? null : (double) VALOR_NOTA_PADRAO;
+        Timestamp dataLancamento = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO boletins (aluno_id, turma_id, media_final, situacao_final, data_lancamento, finalizado, " +
+                "soma_notas, quantidade_notas) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                alunoIds, TAMANHO_LOTE_INSERCAO, (ps, alunoId) -> {
+                    ps.setLong(1, alunoId);
+                    ps.setLong(2, turmaId);
+                    ps.setObject(3, mediaInicial);
+                    ps.setString(4, SituacaoFinal.EM_ANDAMENTO.name());
+                    ps.setTimestamp(5, dataLancamento);
+                    ps.setBoolean(6, false);
+                    ps.setLong(7, (long) VALOR_NOTA_PADRAO * notasPadrao.size());
+                    ps.setInt(8, notasPadrao.size());
+                });
+
+        if (!notasPadrao.isEmpty()) {
+            List<Object[]> notas = new ArrayList<>();
+            for (Long boletimId : boletimRepository.findIdsByTurmaIdAndAlunoIdIn(turmaId, alunoIds)) {
+                for (Object[] notaPadrao : notasPadrao) {
+                    notas.add(new Object[]{boletimId, notaPadrao[0], notaPadrao[1], VALOR_NOTA_PADRAO});
+                }
+            }
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO notas (boletim_id, tipo_nota, descricao, valor_nota) VALUES (?, ?, ?, ?)",
+                    notas, TAMANHO_LOTE_INSERCAO, (ps, nota) -> {
+                        for (int i = 0; i < nota.length; i++) {
+                            ps.setObject(i + 1, nota[i]);
+                        }
+                    });
+        }
+
+        logger.info("Criados {} boletins ({} notas padrão cada) para a turma ID {}",
+                alunoIds.size(), notasPadrao.size(), turmaId);
+        return alunoIds.size();
+    }
+    
     /**
      * Aplica o padrão de boletim da turma, se existir
      * Cria notas padrão para cada tipo que tiver descrição definida no padrão
      */
     private void aplicarPadraoSeExistir(Boletim boletim, Long turmaId) {
         logger.debug("Aplicando padrão para boletim ID {} da turma ID {}", boletim.getId(), turmaId);
-        Optional<PadraoBoletim> padraoOpt = padraoBoletimService.buscarPadraoPorTurmaIdEntity(turmaId);
+        Optional<PadraoBoletimDTO> padraoOpt = padraoBoletimService.buscarPadraoPorTurmaId(turmaId);
         if (padraoOpt.isEmpty()) {
             logger.debug("Nenhum padrão encontrado para turma ID {}", turmaId);
             return;
         }
         
-        PadraoBoletim padrao = padraoOpt.get();
+        PadraoBoletimDTO padrao = padraoOpt.get();
         logger.debug("Padrão encontrado para turma ID {}, aplicando notas padrão", turmaId);
         
+        // Tipos de nota já lançados no boletim (uma consulta, não uma por tipo)
+        java.util.Set<TipoNota> tiposExistentes = notaRepository.findByBoletimId(boletim.getId()).stream()
+                .map(Nota::getTipoNota)
+                .collect(Collectors.toSet());
+        
         int notasCriadas = 0;
         // Criar notas padrão para cada tipo que tiver descrição definida
         for (TipoNota tipoNota : TipoNota.values()) {
-            String descricaoPadrao = padrao.getDescricaoPorTipo(tipoNota);
+            String descricaoPadrao = padrao.descricaoPorTipo(tipoNota);
             if (descricaoPadrao != null && !descricaoPadrao.trim().isEmpty()) {
-                // Verificar se já existe nota deste tipo
-                boolean jaExiste = notaRepository.findByBoletimId(boletim.getId()).stream()
-                        .anyMatch(nota -> nota.getTipoNota() == tipoNota);
-                
-                if (!jaExiste) {
+                if (!tiposExistentes.contains(tipoNota)) {
                     Nota nota = new Nota();
                     nota.setBoletim(boletim);
                     nota.setTipoNota(tipoNota);
                     nota.setDescricao(descricaoPadrao);
-                    nota.setValorNota(1); // Valor inicial mínimo (usuário pode alterar depois)
-                    notaRepository.saveAndFlush(nota);
+                    nota.setValorNota(VALOR_NOTA_PADRAO);
+                    notaRepository.save(nota);
                     notasCriadas++;
                     logger.debug("Nota padrão criada: tipo {} - descrição: {}", tipoNota, descricaoPadrao);
                 } else {
@@ -127,9 +214,9 @@ public class BoletimService {
         
         logger.debug("Padrão aplicado: {} notas criadas para boletim ID {}", notasCriadas, boletim.getId());
         
-        // Recalcular média após adicionar notas padrão
+        // Atualizar média após adicionar notas padrão
         if (notasCriadas > 0) {
-            calcularMediaFinal(boletim.getId());
+            atualizarMediaIncremental(boletim.getId(), (long) VALOR_NOTA_PADRAO * notasCriadas, notasCriadas);
         }
     }
 
@@ -150,8 +237,8 @@ public class BoletimService {
 
         notaRepository.save(nota);
         
-        // Recalcular média
-        calcularMediaFinal(boletimId);
+        // Atualizar média
+        atualizarMediaIncremental(boletimId, nota.getValorNota(), 1);
         
         return boletimRepository.findById(boletimId).orElse(boletim);
     }
@@ -169,8 +256,8 @@ public class BoletimService {
 
         notaRepository.delete(nota);
         
-        // Recalcular média
-        calcularMediaFinal(boletim.getId());
+        // Atualizar média
+        atualizarMediaIncremental(boletim.getId(), -nota.getValorNota(), -1);
         
         return boletimRepository.findById(boletim.getId()).orElse(boletim);
     }
@@ -190,11 +277,10 @@ public class BoletimService {
             throw new RuntimeException("Existem campos a serem preenchidos");
         }
 
-        // Calcular média final
-        calcularMediaFinal(boletimId);
+        // Calcular média final a partir das notas já carregadas (confere os totais mantidos)
+        aplicarTotaisNotas(boletim, notas.stream().mapToLong(Nota::getValorNota).sum(), notas.size());
         
         // Atualizar boletim
-        boletim = boletimRepository.findById(boletimId).orElse(boletim);
         boletim.setFinalizado(true);
         // Critério de aprovação: média >= 7.0 (escala de 0 a 10)
         boletim.setSituacaoFinal(boletim.getMediaFinal() != null && boletim.getMediaFinal() >= 7.0 ? SituacaoFinal.APROVADO : SituacaoFinal.REPROVADO);
@@ -215,8 +301,10 @@ public class BoletimService {
             throw new RuntimeException("Não é possível salvar um boletim finalizado");
         }
         
-        // Recalcular média
-        calcularMediaFinal(boletimId);
+        // Boletins anteriores aos totais de notas: inicializar a partir das notas
+        if (boletim.getSomaNotas() == null || boletim.getQuantidadeNotas() == null) {
+            recalcularMediaFinal(boletim);
+        }
         
         // Salvar boletim (pode não ter mudanças, mas força persistência)
         return boletimRepository.save(boletim);
@@ -353,40 +441,38 @@ public class BoletimService {
         return boletimRepository.countBoletinsFinalizados();
     }
 
+    /**
+     * Estatísticas gerais de boletins (totais, média, aprovados e reprovados) em uma consulta agregada
+     */
+    @Transactional(readOnly = true)
+    public EstatisticasBoletinsDTO calcularEstatisticas() {
+        return EstatisticasBoletinsDTO.somar(boletimRepository.calcularEstatisticasPorTurma(null));
+    }
+
+    /**
+     * Estatísticas de todas as turmas que possuem boletins, indexadas pelo ID da turma
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, EstatisticasBoletinsDTO> calcularEstatisticasPorTurma() {
+        return boletimRepository.calcularEstatisticasPorTurma(null).stream()
+                .collect(Collectors.toMap(EstatisticasBoletinsDTO::turmaId, Function.identity()));
+    }
+
+    @Transactional(readOnly = true)
+    public EstatisticasBoletinsDTO calcularEstatisticasTurma(Long turmaId) {
+        return boletimRepository.calcularEstatisticasPorTurma(turmaId).stream()
+                .findFirst()
+                .orElseGet(() -> EstatisticasBoletinsDTO.vazia(turmaId));
+    }
+
     @Transactional(readOnly = true)
     public Double calcularMediaGeral() {
-        List<Boletim> boletinsFinalizados = boletimRepository.findAll().stream()
-                .filter(Boletim::isFinalizado)
-                .filter(b -> b.getMediaFinal() != null)
-                .collect(Collectors.toList());
-        
-        if (boletinsFinalizados.isEmpty()) {
-            return 0.0;
-        }
-        
-        double soma = boletinsFinalizados.stream()
-                .mapToDouble(b -> b.getMediaFinal() != null ? b.getMediaFinal() : 0.0)
-                .sum();
-        
-        return Math.round((soma / boletinsFinalizados.size()) * 100.0) / 100.0;
+        return calcularEstatisticas().mediaGeral();
     }
 
     @Transactional(readOnly = true)
     public Double calcularMediaPorTurma(Long turmaId) {
-        List<Boletim> boletins = buscarBoletinsPorTurma(turmaId).stream()
-                .filter(Boletim::isFinalizado)
-                .filter(b -> b.getMediaFinal() != null)
-                .collect(Collectors.toList());
-        
-        if (boletins.isEmpty()) {
-            return 0.0;
-        }
-        
-        double soma = boletins.stream()
-                .mapToDouble(b -> b.getMediaFinal() != null ? b.getMediaFinal() : 0.0)
-                .sum();
-        
-        return Math.round((soma / boletins.size()) * 100.0) / 100.0;
+        return calcularEstatisticasTurma(turmaId).mediaGeral();
     }
 
     @Transactional(readOnly = true)
@@ -409,48 +495,27 @@ public class BoletimService {
 
     @Transactional(readOnly = true)
     public Long contarAprovados() {
-        return boletimRepository.findAll().stream()
-                .filter(Boletim::isFinalizado)
-                .filter(b -> b.getSituacaoFinal() == SituacaoFinal.APROVADO)
-                .count();
+        return calcularEstatisticas().aprovados();
     }
 
     @Transactional(readOnly = true)
     public Long contarReprovados() {
-        return boletimRepository.findAll().stream()
-                .filter(Boletim::isFinalizado)
-                .filter(b -> b.getSituacaoFinal() == SituacaoFinal.REPROVADO)
-                .count();
+        return calcularEstatisticas().reprovados();
     }
 
     @Transactional(readOnly = true)
     public Long contarAprovadosPorTurma(Long turmaId) {
-        return buscarBoletinsPorTurma(turmaId).stream()
-                .filter(Boletim::isFinalizado)
-                .filter(b -> b.getSituacaoFinal() == SituacaoFinal.APROVADO)
-                .count();
+        return calcularEstatisticasTurma(turmaId).aprovados();
     }
 
     @Transactional(readOnly = true)
     public Long contarReprovadosPorTurma(Long turmaId) {
-        return buscarBoletinsPorTurma(turmaId).stream()
-                .filter(Boletim::isFinalizado)
-                .filter(b -> b.getSituacaoFinal() == SituacaoFinal.REPROVADO)
-                .count();
+        return calcularEstatisticasTurma(turmaId).reprovados();
     }
 
     @Transactional(readOnly = true)
     public Double calcularTaxaAprovacaoPorTurma(Long turmaId) {
-        List<Boletim> boletinsFinalizados = buscarBoletinsPorTurma(turmaId).stream()
-                .filter(Boletim::isFinalizado)
-                .collect(Collectors.toList());
-        
-        if (boletinsFinalizados.isEmpty()) {
-            return 0.0;
-        }
-        
-        long aprovados = contarAprovadosPorTurma(turmaId);
-        return Math.round((aprovados * 100.0 / boletinsFinalizados.size()) * 100.0) / 100.0;
+        return calcularEstatisticasTurma(turmaId).taxaAprovacao();
     }
 
     @Transactional
@@ -468,24 +533,70 @@ public class BoletimService {
         return boletimRepository.save(boletim);
     }
 
-    private void calcularMediaFinal(Long boletimId) {
-        List<Nota> notas = notaRepository.findByBoletimId(boletimId);
-        
-        if (notas.isEmpty()) {
-            return;
+    /**
+     * Aplica a variação de uma nota aos totais do boletim em um único UPDATE. Boletins cujos
+     * totais ainda não foram inicializados são recalculados a partir de todas as notas.
+     */
+    private void atualizarMediaIncremental(Long boletimId, long variacaoSoma, int variacaoQuantidade) {
+        if (boletimRepository.aplicarVariacaoNotas(boletimId, variacaoSoma, variacaoQuantidade) == 0) {
+            boletimRepository.findById(boletimId).ifPresent(this::recalcularMediaFinal);
         }
+    }
 
-        double soma = notas.stream()
-                .mapToInt(Nota::getValorNota)
-                .sum();
-        
-        double media = soma / notas.size();
-        
-        Boletim boletim = boletimRepository.findById(boletimId).orElse(null);
-        if (boletim != null) {
-            boletim.setMediaFinal(Math.round(media * 100.0) / 100.0);
-            boletimRepository.save(boletim);
+    private void recalcularMediaFinal(Boletim boletim) {
+        List<Nota> notas = notaRepository.findByBoletimId(boletim.getId());
+        aplicarTotaisNotas(boletim, notas.stream().mapToLong(Nota::getValorNota).sum(), notas.size());
+        boletimRepository.save(boletim);
+    }
+
+    /**
+     * Define soma, quantidade e média das notas (a média é mantida se o boletim não tiver notas)
+     */
+    private void aplicarTotaisNotas(Boletim boletim, long soma, long quantidade) {
+        boletim.setSomaNotas(soma);
+        boletim.setQuantidadeNotas((int) quantidade);
+        if (quantidade > 0) {
+            boletim.setMediaFinal(Math.round(((double) soma / quantidade) * 100.0) / 100.0);
+        }
+    }
+
+    /**
+     * Verificação noturna dos totais de notas mantidos nos boletins: recalcula a partir das notas,
+     * registra e corrige divergências e inicializa boletins anteriores a esses totais.
+     * Executa diariamente às 02:00. A média de boletins finalizados não é alterada.
+     * @return quantidade de boletins corrigidos
+     */
+    @Scheduled(cron = "0 0 2 * * ?")
+    @Transactional
+    public int verificarTotaisNotas() {
+        long inicio = System.currentTimeMillis();
+        int inicializados = 0;
+        int divergentes = 0;
+        for (TotaisNotasBoletimDTO totais : boletimRepository.compararTotaisNotas()) {
+            if (!totais.divergente()) {
+                continue;
+            }
+            if (totais.inicializado()) {
+                divergentes++;
+                logger.warn("Totais de notas divergentes no boletim ID {}: soma {} (calculada {}), quantidade {} (calculada {})",
+                        totais.boletimId(), totais.somaNotas(), totais.somaCalculada(),
+                        totais.quantidadeNotas(), totais.quantidadeCalculada());
+            } else {
+                inicializados++;
+            }
+            Boletim boletim = boletimRepository.findById(totais.boletimId()).orElse(null);
+            if (boletim == null) {
+                continue;
+            }
+            Double mediaAtual = boletim.getMediaFinal();
+            aplicarTotaisNotas(boletim, totais.somaCalculada(), totais.quantidadeCalculada());
+            if (boletim.isFinalizado()) {
+                boletim.setMediaFinal(mediaAtual);
+            }
         }
+        logger.info("Verificação dos totais de notas concluída em {} ms - {} divergências corrigidas, {} boletins inicializados",
+                System.currentTimeMillis() - inicio, divergentes, inicializados);
+        return divergentes + inicializados;
     }
 
     @Transactional(readOnly = true)
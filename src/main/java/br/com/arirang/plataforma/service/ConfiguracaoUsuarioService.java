@@ -3,16 +3,22 @@ package br.com.arirang.plataforma.service;
 import br.com.arirang.plataforma.dto.ConfiguracaoUsuarioDTO;
 import br.com.arirang.plataforma.entity.ConfiguracaoUsuario;
 import br.com.arirang.plataforma.entity.Usuario;
+import br.com.arirang.plataforma.event.ConfiguracaoUsuarioAlteradaEvent;
 import br.com.arirang.plataforma.exception.FileUploadException;
 import br.com.arirang.plataforma.exception.ResourceNotFoundException;
 import br.com.arirang.plataforma.repository.ConfiguracaoUsuarioRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.nio.file.Files;
@@ -37,6 +43,9 @@ public class ConfiguracaoUsuarioService {
     @Autowired
     private FileUploadValidationService fileUploadValidationService;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     /**
      * Busca ou cria configuração para o usuário atual
      */
@@ -53,6 +62,33 @@ public class ConfiguracaoUsuarioService {
         return ConfiguracaoUsuarioDTO.createDefault(usuario.getId());
     }
 
+    /**
+     * Configuração de tema do usuário (ou a padrão), aplicada pelo ThemeInterceptor em toda página.
+     * Em cache por username; descartada quando a configuração é alterada (ConfiguracaoUsuarioAlteradaEvent)
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(value = "configuracoesUsuario", key = "#username")
+    public ConfiguracaoUsuarioDTO buscarConfiguracaoTema(String username) {
+        Optional<ConfiguracaoUsuario> configOpt = configuracaoUsuarioRepository.findByUsuarioUsername(username);
+        if (configOpt.isPresent()) {
+            return toDTO(configOpt.get());
+        }
+
+        Usuario usuario = usuarioService.buscarPorUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado: " + username));
+        return ConfiguracaoUsuarioDTO.createDefault(usuario.getId());
+    }
+
+    /**
+     * Descarta a configuração do cache só após o commit: antes dele, uma leitura concorrente
+     * recarregaria o valor antigo, e um rollback não deve descartar nada
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @CacheEvict(value = "configuracoesUsuario", key = "#evento.username()")
+    public void aoAlterarConfiguracao(ConfiguracaoUsuarioAlteradaEvent evento) {
+        logger.debug("Configuração de tema do usuário {} removida do cache", evento.username());
+    }
+
     /**
      * Salva ou atualiza configuração do usuário
      */
@@ -83,6 +119,7 @@ public class ConfiguracaoUsuarioService {
         
         ConfiguracaoUsuario salva = configuracaoUsuarioRepository.save(config);
         logger.info("Configuração salva para usuário ID: {}", usuario.getId());
+        eventPublisher.publishEvent(new ConfiguracaoUsuarioAlteradaEvent(usuario.getUsername()));
         
         return toDTO(salva);
     }
@@ -126,6 +163,7 @@ public class ConfiguracaoUsuarioService {
                 config.setLogoUrl(null);
                 configuracaoUsuarioRepository.save(config);
                 logger.info("Logo removido para usuário ID: {}", usuario.getId());
+                eventPublisher.publishEvent(new ConfiguracaoUsuarioAlteradaEvent(usuario.getUsername()));
             }
         }
     }
@@ -188,6 +226,18 @@ public class ConfiguracaoUsuarioService {
                 .map(this::toDTO);
     }
 
+    /**
+     * Arquivo do logo enviado pelo usuário, se houver (logos externos por URL são ignorados)
+     */
+    @Transactional(readOnly = true)
+    public Optional<Path> buscarArquivoLogo(String username) {
+        return configuracaoUsuarioRepository.findByUsuarioUsername(username)
+                .map(ConfiguracaoUsuario::getLogoUrl)
+                .filter(logoUrl -> logoUrl.startsWith("/configuracao/logo/"))
+                .map(logoUrl -> LOGO_UPLOAD_DIR.resolve(logoUrl.substring(logoUrl.lastIndexOf("/") + 1)).normalize())
+                .filter(logoPath -> logoPath.startsWith(LOGO_UPLOAD_DIR.normalize()) && Files.exists(logoPath));
+    }
+
     // Métodos privados auxiliares
 
     private Usuario getUsuarioAtual() {
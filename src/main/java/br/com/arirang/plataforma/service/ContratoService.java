@@ -1,9 +1,12 @@
 package br.com.arirang.plataforma.service;
 
 import br.com.arirang.plataforma.dto.ContratoDTO;
+import br.com.arirang.plataforma.dto.PaginaDTO;
 import br.com.arirang.plataforma.entity.Aluno;
 import br.com.arirang.plataforma.entity.Contrato;
+import br.com.arirang.plataforma.entity.MigracaoDados;
 import br.com.arirang.plataforma.entity.Turma;
+import br.com.arirang.plataforma.event.ParcelasAlteradasEvent;
 import br.com.arirang.plataforma.exception.BusinessException;
 import br.com.arirang.plataforma.exception.ResourceNotFoundException;
 import br.com.arirang.plataforma.mapper.ContratoMapper;
@@ -21,10 +24,15 @@ import br.com.arirang.plataforma.repository.PagamentoRepository;
 import br.com.arirang.plataforma.repository.ReceitaRepository;
 import br.com.arirang.plataforma.repository.ComprovantePagamentoRepository;
 import br.com.arirang.plataforma.repository.FinanceiroRepository;
+import br.com.arirang.plataforma.util.PaginacaoUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
@@ -69,6 +77,15 @@ public class ContratoService {
     @Autowired
     private FinanceiroRepository financeiroRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private SequenciaContratoService sequenciaContratoService;
+
+    @Autowired
+    private MigracaoDadosService migracaoDadosService;
+
     /**
      * Lista todos os contratos
      */
@@ -81,6 +98,25 @@ public class ContratoService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Lista uma página de contratos (mais recentes primeiro), continuando a partir do cursor
+     * @param situacao situação dos contratos (ex.: ATIVO), ou null para todas
+     */
+    @Transactional(readOnly = true)
+    public PaginaDTO<ContratoDTO> listarContratosPagina(String situacao, String cursor, Integer tamanho) {
+        PaginacaoUtil.Cursor posicao = PaginacaoUtil.Cursor.decodificar(cursor);
+        Slice<Contrato> fatia = contratoRepository.findPagina(situacao, posicao.id(), PaginacaoUtil.limite(tamanho));
+        return PaginaDTO.de(fatia, contratoMapper::toDto, contrato -> PaginacaoUtil.Cursor.de(contrato.getId()));
+    }
+
+    /**
+     * Quantidade de contratos em uma situação (total exibido junto da listagem paginada)
+     */
+    @Transactional(readOnly = true)
+    public long contarContratosPorSituacao(String situacao) {
+        return contratoRepository.countBySituacaoContrato(situacao);
+    }
+
     /**
      * Busca contrato por ID
      */
@@ -170,6 +206,8 @@ public class ContratoService {
         // Criar receita total no dashboard financeiro
         criarReceitaTotalNoDashboard(contratoSalvo);
 
+        eventPublisher.publishEvent(new ParcelasAlteradasEvent(turma.getId(), "contrato " + contratoSalvo.getId()));
+
         return contratoMapper.toDto(contratoSalvo);
     }
 
@@ -256,6 +294,8 @@ public class ContratoService {
         // Criar receita total no dashboard financeiro
         criarReceitaTotalNoDashboard(contratoSalvo);
 
+        eventPublisher.publishEvent(new ParcelasAlteradasEvent(turma.getId(), "contrato " + contratoSalvo.getId()));
+
         return contratoMapper.toDto(contratoSalvo);
     }
 
@@ -267,6 +307,7 @@ public class ContratoService {
 
         Contrato contratoExistente = contratoRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Contrato não encontrado com ID: " + id));
+        Long turmaAnteriorId = contratoExistente.getTurma() != null ? contratoExistente.getTurma().getId() : null;
 
         // Atualizar campos permitidos
         contratoExistente.setDataContrato(contratoDTO.dataContrato());
@@ -300,6 +341,13 @@ public class ContratoService {
         Contrato contratoAtualizado = contratoRepository.save(contratoExistente);
         logger.info("Contrato atualizado com sucesso. ID: {}", contratoAtualizado.getId());
 
+        // As parcelas acompanham o contrato: com troca de turma, as duas turmas mudam no snapshot
+        Long turmaAtualId = contratoAtualizado.getTurma() != null ? contratoAtualizado.getTurma().getId() : null;
+        eventPublisher.publishEvent(new ParcelasAlteradasEvent(turmaAtualId, "contrato " + id));
+        if (turmaAnteriorId != null && !turmaAnteriorId.equals(turmaAtualId)) {
+            eventPublisher.publishEvent(new ParcelasAlteradasEvent(turmaAnteriorId, "contrato " + id));
+        }
+
         return contratoMapper.toDto(contratoAtualizado);
     }
 
@@ -384,8 +432,11 @@ public class ContratoService {
         }
 
         // Deletar contrato
+        Long turmaId = contrato.getTurma() != null ? contrato.getTurma().getId() : null;
         contratoRepository.delete(contrato);
         logger.info("Contrato deletado com sucesso. ID: {}", id);
+
+        eventPublisher.publishEvent(new ParcelasAlteradasEvent(turmaId, "exclusão do contrato " + id));
     }
 
     /**
@@ -536,77 +587,10 @@ public class ContratoService {
 
     /**
      * Gera número único do contrato baseado no mês/ano atual
-     * Formato: CTRYYYYMM####
-     * Thread-safe: busca o maior número existente e incrementa sequencialmente
+     * Formato: CTRYYYYMM#### (sequência mensal em SequenciaContratoService)
      */
-    @Transactional
     private String gerarNumeroContrato() {
-        LocalDate hoje = LocalDate.now();
-        String ano = String.valueOf(hoje.getYear());
-        String mes = String.format("%02d", hoje.getMonthValue());
-        String prefixo = "CTR" + ano + mes;
-        
-        // Buscar números de contrato do mês atual que seguem o padrão (ordenados do maior para o menor)
-        List<String> numerosExistentes = contratoRepository.findNumeroContratosByPrefixo(prefixo + "%");
-        
-        // Extrair o maior número sequencial do mês atual
-        long proximoNumero = 1; // Começar do 1 se não houver contratos no mês
-        
-        if (!numerosExistentes.isEmpty()) {
-            // Como a query retorna ordenado do maior para o menor, pegar o primeiro
-            // e iterar apenas se necessário (caso o primeiro não seja válido)
-            for (String numero : numerosExistentes) {
-                try {
-                    // Validar formato: deve ter pelo menos 11 caracteres (CTR + 4 ano + 2 mês + 4 sequencial)
-                    if (numero != null && numero.length() >= 11 && numero.startsWith(prefixo)) {
-                        // Extrair os últimos 4 dígitos (número sequencial)
-                        String sequencialStr = numero.substring(numero.length() - 4);
-                        long sequencial = Long.parseLong(sequencialStr);
-                        proximoNumero = sequencial + 1;
-                        break; // Encontrou o maior número válido, pode parar
-                    }
-                } catch (NumberFormatException e) {
-                    logger.warn("Número de contrato com formato inválido ignorado: {}", numero);
-                    // Continuar para o próximo número na lista
-                }
-            }
-        }
-        
-        // Tentar gerar número único (com retry para evitar race conditions)
-        String numeroContrato;
-        int tentativas = 0;
-        int maxTentativas = 100; // Aumentado para permitir mais tentativas
-        
-        do {
-            // Garantir que não ultrapasse o limite de 4 dígitos (9999)
-            if (proximoNumero > 9999) {
-                throw new BusinessException("Limite de contratos do mês atingido (9999). Não é possível gerar mais números.");
-            }
-            
-            numeroContrato = String.format("CTR%s%s%04d", ano, mes, proximoNumero);
-            
-            // Verificar se número já existe (pode ter sido criado por outra thread)
-            Optional<Contrato> contratoExistente = contratoRepository.findByNumeroContrato(numeroContrato);
-            if (contratoExistente.isEmpty()) {
-                break; // Número disponível
-            }
-            
-            tentativas++;
-            proximoNumero++; // Tentar próximo número
-            
-            if (tentativas % 10 == 0) {
-                logger.warn("Número de contrato {} já existe. Tentando próximo número... (tentativa {}/{})", 
-                           numeroContrato, tentativas, maxTentativas);
-            }
-            
-        } while (tentativas < maxTentativas);
-        
-        if (tentativas >= maxTentativas) {
-            throw new BusinessException("Não foi possível gerar número único de contrato após " + maxTentativas + " tentativas. Tente novamente.");
-        }
-        
-        logger.debug("Número de contrato gerado: {} (tentativas: {})", numeroContrato, tentativas);
-        return numeroContrato;
+        return sequenciaContratoService.proximoNumeroContrato();
     }
 
     /**
@@ -670,18 +654,34 @@ public class ContratoService {
         return valorTotal;
     }
 
+    /**
+     * Gera as parcelas de um contrato que ainda não tem nenhuma
+     * @return quantidade de parcelas geradas (0 se o contrato já possuía parcelas)
+     */
+    public int gerarParcelasSeAusentes(Long contratoId) {
+        Contrato contrato = contratoRepository.findById(contratoId)
+                .orElseThrow(() -> new ResourceNotFoundException("Contrato não encontrado com ID: " + contratoId));
+
+        int geradas = gerarParcelasAutomaticamente(contrato);
+        if (geradas > 0 && contrato.getTurma() != null) {
+            eventPublisher.publishEvent(new ParcelasAlteradasEvent(contrato.getTurma().getId(), "contrato " + contratoId));
+        }
+        return geradas;
+    }
+
     /**
      * Gera parcelas automaticamente para um contrato
      * Sincroniza mensalidades com o contrato criado
+     * @return quantidade de parcelas geradas
      */
-    private void gerarParcelasAutomaticamente(Contrato contrato) {
+    private int gerarParcelasAutomaticamente(Contrato contrato) {
         try {
             // Verificar se já existem parcelas para este contrato
             List<Parcela> parcelasExistentes = parcelaRepository.findByContratoId(contrato.getId());
             if (!parcelasExistentes.isEmpty()) {
                 logger.info("Contrato ID {} já possui {} parcelas. Não serão geradas novas parcelas.", 
                            contrato.getId(), parcelasExistentes.size());
-                return;
+                return 0;
             }
 
             // Calcular data de início para as parcelas (primeiro vencimento um mês após a data de início de vigência)
@@ -725,11 +725,13 @@ public class ContratoService {
             parcelaRepository.saveAll(parcelas);
             logger.info("Geradas {} parcelas automaticamente para contrato ID {}", 
                        parcelas.size(), contrato.getId());
+            return parcelas.size();
                        
         } catch (Exception e) {
             logger.error("Erro ao gerar parcelas automaticamente para contrato ID {}: ", contrato.getId(), e);
             // Não lançar exceção para não impedir a criação do contrato
             // As parcelas podem ser geradas manualmente depois
+            return 0;
         }
     }
 
@@ -790,81 +792,17 @@ public class ContratoService {
      * 
      * Este método recalcula as datas das parcelas PENDENTES baseado em dataInicioVigencia
      * quando disponível, mantendo o intervalo mensal entre parcelas.
+     * Executada em lotes de contratos (MigracaoDadosService): cada lote é confirmado
+     * separadamente e uma execução interrompida continua do último lote concluído.
      * 
-     * @return Número de contratos atualizados
+     * @return Progresso da migração (contratos processados e atualizados, parcelas ajustadas)
      */
-    @Transactional
-    public int migrarParcelasParaDataInicioVigencia() {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public MigracaoDados migrarParcelasParaDataInicioVigencia() {
         logger.info("Iniciando migração de parcelas para usar dataInicioVigencia");
-        
-        int contratosAtualizados = 0;
-        int parcelasAtualizadas = 0;
-        
-        try {
-            // Buscar todos os contratos que têm parcelas
-            List<Contrato> contratos = contratoRepository.findAll();
-            
-            for (Contrato contrato : contratos) {
-                // Buscar parcelas do contrato
-                List<Parcela> parcelas = parcelaRepository.findByContratoIdOrderByDataVencimentoAsc(contrato.getId());
-                
-                if (parcelas.isEmpty()) {
-                    continue; // Pular contratos sem parcelas
-                }
-                
-                // Verificar se o contrato tem dataInicioVigencia e se é diferente de dataContrato
-                LocalDate dataInicioVigencia = contrato.getDataInicioVigencia();
-                LocalDate dataContrato = contrato.getDataContrato();
-                
-                // Se não tem dataInicioVigencia ou é igual a dataContrato, não precisa atualizar
-                if (dataInicioVigencia == null || dataInicioVigencia.equals(dataContrato)) {
-                    continue;
-                }
-                
-                // Calcular nova data base (dataInicioVigencia + 1 mês para primeira parcela)
-                LocalDate novaDataBase = dataInicioVigencia.plusMonths(1);
-                
-                // Atualizar apenas parcelas PENDENTES (não mexer nas pagas)
-                boolean contratoFoiAtualizado = false;
-                int parcelasAtualizadasContrato = 0;
-                
-                for (Parcela parcela : parcelas) {
-                    // Apenas atualizar parcelas pendentes
-                    if (parcela.getStatusParcela() == StatusParcela.PENDENTE) {
-                        // Calcular nova data de vencimento baseada no número da parcela
-                        LocalDate novaDataVencimento = novaDataBase.plusMonths(parcela.getNumeroParcela() - 1);
-                        
-                        // Só atualizar se a data for diferente
-                        if (!parcela.getDataVencimento().equals(novaDataVencimento)) {
-                            logger.debug("Atualizando parcela {} do contrato {}: {} -> {}", 
-                                    parcela.getNumeroParcela(), contrato.getId(), 
-                                    parcela.getDataVencimento(), novaDataVencimento);
-                            
-                            parcela.setDataVencimento(novaDataVencimento);
-                            parcelaRepository.save(parcela);
-                            parcelasAtualizadas++;
-                            parcelasAtualizadasContrato++;
-                            contratoFoiAtualizado = true;
-                        }
-                    }
-                }
-                
-                if (contratoFoiAtualizado) {
-                    contratosAtualizados++;
-                    logger.info("Contrato ID {} atualizado: {} parcelas ajustadas", 
-                            contrato.getId(), parcelasAtualizadasContrato);
-                }
-            }
-            
-            logger.info("Migração concluída: {} contratos atualizados, {} parcelas ajustadas", 
-                    contratosAtualizados, parcelasAtualizadas);
-            
-            return contratosAtualizados;
-            
-        } catch (Exception e) {
-            logger.error("Erro durante migração de parcelas: ", e);
-            throw new BusinessException("Erro ao migrar parcelas: " + e.getMessage());
-        }
+        return migracaoDadosService.executar(
+                migracaoDeContratos("parcelas-data-inicio-vigencia", this::ajustarDatasParcelas),
+                MigracaoDadosService.TAMANHO_LOTE_PADRAO);
     }
 
     /**
@@ -876,87 +814,135 @@ public class ContratoService {
      * - Demais parcelas: apenas valorMensalidade
      * 
      * Parcelas já pagas não são alteradas para preservar histórico.
+     * Executada em lotes de contratos, como migrarParcelasParaDataInicioVigencia.
      * 
-     * @return Número de contratos atualizados
+     * @return Progresso da migração (contratos processados e atualizados, parcelas ajustadas)
      */
-    @Transactional
-    public int migrarValoresParcelasParaIncluirMatricula() {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public MigracaoDados migrarValoresParcelasParaIncluirMatricula() {
         logger.info("Iniciando migração de valores de parcelas para incluir matrícula na primeira parcela");
+        return migracaoDadosService.executar(
+                migracaoDeContratos("parcelas-valor-matricula", this::ajustarValoresParcelas),
+                MigracaoDadosService.TAMANHO_LOTE_PADRAO);
+    }
+
+    /**
+     * Migração que percorre os contratos por id e ajusta as parcelas de cada um.
+     * As parcelas do lote são lidas em uma consulta; as alterações são gravadas no commit do lote.
+     */
+    private MigracaoDadosService.Migracao migracaoDeContratos(String nome,
+                                                              java.util.function.BiFunction<Contrato, List<Parcela>, Integer> ajuste) {
+        return new MigracaoDadosService.Migracao() {
+            @Override
+            public String nome() {
+                return nome;
+            }
+
+            @Override
+            public List<Long> buscarProximosIds(Long ultimoId, int limite) {
+                return contratoRepository.findIdsAposId(ultimoId, PageRequest.of(0, limite));
+            }
+
+            @Override
+            public MigracaoDadosService.ResultadoLote processarLote(List<Long> ids) {
+                java.util.Map<Long, List<Parcela>> parcelasPorContrato = parcelaRepository.findByContratoIdIn(ids).stream()
+                        .collect(Collectors.groupingBy(parcela -> parcela.getContrato().getId()));
+                java.util.Set<Long> turmasAlteradas = new java.util.HashSet<>();
+                int contratosAtualizados = 0;
+                int parcelasAtualizadas = 0;
+                for (Contrato contrato : contratoRepository.findAllById(ids)) {
+                    List<Parcela> parcelas = parcelasPorContrato.get(contrato.getId());
+                    if (parcelas == null) {
+                        continue; // Pular contratos sem parcelas
+                    }
+                    int ajustadas = ajuste.apply(contrato, parcelas);
+                    if (ajustadas > 0) {
+                        contratosAtualizados++;
+                        parcelasAtualizadas += ajustadas;
+                        turmasAlteradas.add(contrato.getTurma().getId());
+                        logger.debug("Contrato ID {} atualizado: {} parcelas ajustadas", contrato.getId(), ajustadas);
+                    }
+                }
+                // Snapshots do dashboard das turmas afetadas, após o commit do lote
+                turmasAlteradas.forEach(turmaId ->
+                        eventPublisher.publishEvent(new ParcelasAlteradasEvent(turmaId, "migração " + nome)));
+                return new MigracaoDadosService.ResultadoLote(contratosAtualizados, parcelasAtualizadas);
+            }
+        };
+    }
+
+    /**
+     * Recalcula o vencimento das parcelas PENDENTES a partir de dataInicioVigencia
+     * @return Número de parcelas alteradas
+     */
+    private int ajustarDatasParcelas(Contrato contrato, List<Parcela> parcelas) {
+        LocalDate dataInicioVigencia = contrato.getDataInicioVigencia();
+        LocalDate dataContrato = contrato.getDataContrato();
         
-        int contratosAtualizados = 0;
-        int parcelasAtualizadas = 0;
+        // Se não tem dataInicioVigencia ou é igual a dataContrato, não precisa atualizar
+        if (dataInicioVigencia == null || dataInicioVigencia.equals(dataContrato)) {
+            return 0;
+        }
         
-        try {
-            // Buscar todos os contratos que têm parcelas
-            List<Contrato> contratos = contratoRepository.findAll();
-            
-            for (Contrato contrato : contratos) {
-                // Buscar parcelas do contrato ordenadas por número
-                List<Parcela> parcelas = parcelaRepository.findByContratoIdOrderByDataVencimentoAsc(contrato.getId());
-                
-                if (parcelas.isEmpty()) {
-                    continue; // Pular contratos sem parcelas
-                }
-                
-                // Verificar se o contrato tem valores necessários
-                if (contrato.getValorMensalidade() == null || contrato.getValorMensalidade().compareTo(BigDecimal.ZERO) <= 0) {
-                    logger.debug("Contrato ID {} não tem valor de mensalidade válido. Pulando.", contrato.getId());
-                    continue;
-                }
-                
-                // Calcular valor esperado para primeira parcela
-                BigDecimal valorEsperadoPrimeiraParcela = contrato.getValorMensalidade();
-                if (contrato.getValorMatricula() != null && contrato.getValorMatricula().compareTo(BigDecimal.ZERO) > 0) {
-                    valorEsperadoPrimeiraParcela = valorEsperadoPrimeiraParcela.add(contrato.getValorMatricula());
-                }
-                
-                // Atualizar apenas parcelas PENDENTES (não mexer nas pagas)
-                boolean contratoFoiAtualizado = false;
-                int parcelasAtualizadasContrato = 0;
+        // Calcular nova data base (dataInicioVigencia + 1 mês para primeira parcela)
+        LocalDate novaDataBase = dataInicioVigencia.plusMonths(1);
+        
+        int parcelasAtualizadas = 0;
+        for (Parcela parcela : parcelas) {
+            // Apenas atualizar parcelas pendentes (não mexer nas pagas)
+            if (parcela.getStatusParcela() == StatusParcela.PENDENTE) {
+                // Calcular nova data de vencimento baseada no número da parcela
+                LocalDate novaDataVencimento = novaDataBase.plusMonths(parcela.getNumeroParcela() - 1);
                 
-                for (Parcela parcela : parcelas) {
-                    // Apenas atualizar parcelas pendentes
-                    if (parcela.getStatusParcela() == StatusParcela.PENDENTE) {
-                        BigDecimal novoValor;
-                        
-                        if (parcela.getNumeroParcela() == 1) {
-                            // Primeira parcela: deve incluir matrícula + mensalidade
-                            novoValor = valorEsperadoPrimeiraParcela;
-                        } else {
-                            // Demais parcelas: apenas mensalidade
-                            novoValor = contrato.getValorMensalidade();
-                        }
-                        
-                        // Só atualizar se o valor for diferente
-                        if (!parcela.getValorParcela().equals(novoValor)) {
-                            logger.debug("Atualizando parcela {} do contrato {}: R$ {} -> R$ {}", 
-                                    parcela.getNumeroParcela(), contrato.getId(), 
-                                    parcela.getValorParcela(), novoValor);
-                            
-                            parcela.setValorParcela(novoValor);
-                            parcelaRepository.save(parcela);
-                            parcelasAtualizadas++;
-                            parcelasAtualizadasContrato++;
-                            contratoFoiAtualizado = true;
-                        }
-                    }
+                // Só atualizar se a data for diferente
+                if (!parcela.getDataVencimento().equals(novaDataVencimento)) {
+                    logger.debug("Atualizando parcela {} do contrato {}: {} -> {}", 
+                            parcela.getNumeroParcela(), contrato.getId(), 
+                            parcela.getDataVencimento(), novaDataVencimento);
+                    parcela.setDataVencimento(novaDataVencimento);
+                    parcelasAtualizadas++;
                 }
+            }
+        }
+        return parcelasAtualizadas;
+    }
+
+    /**
+     * Ajusta o valor das parcelas PENDENTES: matrícula + mensalidade na primeira, mensalidade nas demais
+     * @return Número de parcelas alteradas
+     */
+    private int ajustarValoresParcelas(Contrato contrato, List<Parcela> parcelas) {
+        // Verificar se o contrato tem valores necessários
+        if (contrato.getValorMensalidade() == null || contrato.getValorMensalidade().compareTo(BigDecimal.ZERO) <= 0) {
+            logger.debug("Contrato ID {} não tem valor de mensalidade válido. Pulando.", contrato.getId());
+            return 0;
+        }
+        
+        // Calcular valor esperado para primeira parcela
+        BigDecimal valorEsperadoPrimeiraParcela = contrato.getValorMensalidade();
+        if (contrato.getValorMatricula() != null && contrato.getValorMatricula().compareTo(BigDecimal.ZERO) > 0) {
+            valorEsperadoPrimeiraParcela = valorEsperadoPrimeiraParcela.add(contrato.getValorMatricula());
+        }
+        
+        int parcelasAtualizadas = 0;
+        for (Parcela parcela : parcelas) {
+            // Apenas atualizar parcelas pendentes (não mexer nas pagas)
+            if (parcela.getStatusParcela() == StatusParcela.PENDENTE) {
+                // Primeira parcela: matrícula + mensalidade; demais: apenas mensalidade
+                BigDecimal novoValor = parcela.getNumeroParcela() == 1
+                        ? valorEsperadoPrimeiraParcela
+                        : contrato.getValorMensalidade();
                 
-                if (contratoFoiAtualizado) {
-                    contratosAtualizados++;
-                    logger.info("Contrato ID {} atualizado: {} parcelas ajustadas", 
-                            contrato.getId(), parcelasAtualizadasContrato);
+                // Só atualizar se o valor for diferente
+                if (!parcela.getValorParcela().equals(novoValor)) {
+                    logger.debug("Atualizando parcela {} do contrato {}: R$ {} -> R$ {}", 
+                            parcela.getNumeroParcela(), contrato.getId(), 
+                            parcela.getValorParcela(), novoValor);
+                    parcela.setValorParcela(novoValor);
+                    parcelasAtualizadas++;
                 }
             }
-            
-            logger.info("Migração de valores concluída: {} contratos atualizados, {} parcelas ajustadas", 
-                    contratosAtualizados, parcelasAtualizadas);
-            
-            return contratosAtualizados;
-            
-        } catch (Exception e) {
-            logger.error("Erro durante migração de valores de parcelas: ", e);
-            throw new BusinessException("Erro ao migrar valores de parcelas: " + e.getMessage());
         }
+        return parcelasAtualizadas;
     }
 }
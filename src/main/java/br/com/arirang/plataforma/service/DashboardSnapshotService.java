@@ -0,0 +1,200 @@
+package br.com.arirang.plataforma.service;
+
+import br.com.arirang.plataforma.dto.ResumoParcelasMensalDTO;
+import br.com.arirang.plataforma.dto.TotaisMensalidadesDTO;
+import br.com.arirang.plataforma.entity.DashboardSnapshot;
+import br.com.arirang.plataforma.entity.StatusParcela;
+import br.com.arirang.plataforma.event.ParcelasAlteradasEvent;
+import br.com.arirang.plataforma.repository.DashboardSnapshotRepository;
+import br.com.arirang.plataforma.repository.ParcelaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mantém os totais materializados do dashboard financeiro (DashboardSnapshot).
+ * Cada alteração de parcelas recalcula apenas as competências da turma afetada;
+ * a reconciliação noturna recalcula tudo, corrige divergências e atualiza as
+ * parcelas que passaram a ficar vencidas com a virada do dia.
+ */
+@Service
+public class DashboardSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardSnapshotService.class);
+
+    @Autowired
+    private DashboardSnapshotRepository dashboardSnapshotRepository;
+
+    @Autowired
+    private ParcelaRepository parcelaRepository;
+
+    /**
+     * Estatísticas de mensalidades para o dashboard, lidas do snapshot
+     * Mesmas chaves de MensalidadeService.calcularEstatisticasMensalidades
+     * Somente leitura: o snapshot é montado na inicialização (DashboardSnapshotInitializer)
+     * e mantido pelos eventos de parcelas e pela reconciliação noturna.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> obterEstatisticasMensalidades() {
+        return dashboardSnapshotRepository.somarTotais().toMap();
+    }
+
+    /**
+     * Monta o snapshot completo se ele ainda estiver vazio (primeira inicialização após a criação da tabela)
+     * @return quantidade de linhas inseridas
+     */
+    @Transactional
+    public int inicializarSeVazio() {
+        if (dashboardSnapshotRepository.count() > 0) {
+            return 0;
+        }
+        logger.info("Snapshot do dashboard vazio. Reconstruindo a partir das parcelas...");
+        int inseridos = reconstruir();
+        logger.info("Snapshot do dashboard inicializado com {} competências", inseridos);
+        return inseridos;
+    }
+
+    /**
+     * Totais de uma turma, por competência
+     */
+    @Transactional(readOnly = true)
+    public List<DashboardSnapshot> listarPorTurma(Long turmaId) {
+        return dashboardSnapshotRepository.findByTurmaIdOrderByCompetenciaAsc(turmaId);
+    }
+
+    /**
+     * Totais de uma competência (mês), por turma
+     */
+    @Transactional(readOnly = true)
+    public List<DashboardSnapshot> listarPorCompetencia(YearMonth competencia) {
+        return dashboardSnapshotRepository.findByCompetenciaOrderByTurmaIdAsc(competencia.atDay(1));
+    }
+
+    /**
+     * Atualiza o snapshot da turma após o commit da transação que alterou as parcelas.
+     * Falhas são apenas registradas: a reconciliação noturna corrige o snapshot.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void aoAlterarParcelas(ParcelasAlteradasEvent evento) {
+        if (evento.turmaId() == null) {
+            return;
+        }
+        try {
+            int alterados = atualizarTurma(evento.turmaId());
+            logger.debug("Snapshot da turma ID {} atualizado ({}): {} competências alteradas",
+                    evento.turmaId(), evento.origem(), alterados);
+        } catch (Exception e) {
+            logger.error("Erro ao atualizar snapshot do dashboard para turma ID {}: ", evento.turmaId(), e);
+        }
+    }
+
+    /**
+     * Reconciliação noturna: recalcula todos os totais e registra divergências
+     * Executa diariamente às 00:05, logo após a virada do dia (parcelas que passam a vencer)
+     */
+    @Scheduled(cron = "0 5 0 * * ?")
+    @Transactional
+    public void reconciliar() {
+        long inicio = System.currentTimeMillis();
+        int divergencias = reconstruir();
+        logger.info("Reconciliação do snapshot do dashboard concluída em {} ms - {} competências corrigidas",
+                System.currentTimeMillis() - inicio, divergencias);
+    }
+
+    /**
+     * Recalcula as competências de uma turma
+     * @return quantidade de linhas inseridas, alteradas ou removidas
+     */
+    @Transactional
+    public int atualizarTurma(Long turmaId) {
+        List<ResumoParcelasMensalDTO> resumo = parcelaRepository.resumirPorTurmaEMes(turmaId, LocalDate.now());
+        return aplicar(dashboardSnapshotRepository.findByTurmaIdOrderByCompetenciaAsc(turmaId), consolidar(resumo));
+    }
+
+    /**
+     * Recalcula o snapshot completo
+     * @return quantidade de linhas inseridas, alteradas ou removidas
+     */
+    @Transactional
+    public int reconstruir() {
+        List<ResumoParcelasMensalDTO> resumo = parcelaRepository.resumirPorTurmaEMes(null, LocalDate.now());
+        return aplicar(dashboardSnapshotRepository.findAll(), consolidar(resumo));
+    }
+
+    /**
+     * Consolida as linhas agregadas (status x vencimento) em um snapshot por competência e turma,
+     * com as mesmas regras de MensalidadeService.calcularEstatisticasMensalidades
+     */
+    private Map<String, DashboardSnapshot> consolidar(List<ResumoParcelasMensalDTO> resumo) {
+        Map<String, DashboardSnapshot> snapshots = new HashMap<>();
+        for (ResumoParcelasMensalDTO grupo : resumo) {
+            LocalDate competencia = LocalDate.of(grupo.ano(), grupo.mes(), 1);
+            DashboardSnapshot snapshot = snapshots.computeIfAbsent(chave(competencia, grupo.turmaId()),
+                    k -> new DashboardSnapshot(competencia, grupo.turmaId()));
+
+            snapshot.setQtdTotal(snapshot.getQtdTotal() + grupo.quantidade());
+
+            if (grupo.statusParcela() == StatusParcela.PENDENTE) {
+                snapshot.setQtdPendentes(snapshot.getQtdPendentes() + grupo.quantidade());
+                snapshot.setValorPendente(snapshot.getValorPendente().add(grupo.valorParcelas()));
+            }
+
+            if (grupo.statusParcela() == StatusParcela.PAGA) {
+                snapshot.setQtdPagas(snapshot.getQtdPagas() + grupo.quantidade());
+                snapshot.setValorPago(snapshot.getValorPago().add(grupo.valorPago()));
+            }
+
+            if (grupo.vencida() && (grupo.statusParcela() == StatusParcela.PENDENTE
+                    || grupo.statusParcela() == StatusParcela.EM_ATRASO)) {
+                snapshot.setQtdVencidas(snapshot.getQtdVencidas() + grupo.quantidade());
+                snapshot.setValorVencido(snapshot.getValorVencido().add(grupo.valorComJurosEMulta()));
+            }
+        }
+        return snapshots;
+    }
+
+    /**
+     * Grava apenas as diferenças entre o snapshot atual e o recalculado
+     */
+    private int aplicar(List<DashboardSnapshot> existentes, Map<String, DashboardSnapshot> calculados) {
+        int alterados = 0;
+        List<DashboardSnapshot> salvar = new ArrayList<>();
+        List<DashboardSnapshot> remover = new ArrayList<>();
+
+        for (DashboardSnapshot existente : existentes) {
+            DashboardSnapshot calculado = calculados.remove(chave(existente.getCompetencia(), existente.getTurmaId()));
+            if (calculado == null) {
+                remover.add(existente);
+                alterados++;
+            } else if (!existente.mesmosTotais(calculado)) {
+                existente.copiarTotais(calculado);
+                salvar.add(existente);
+                alterados++;
+            }
+        }
+        salvar.addAll(calculados.values());
+        alterados += calculados.size();
+
+        dashboardSnapshotRepository.deleteAll(remover);
+        dashboardSnapshotRepository.saveAll(salvar);
+        return alterados;
+    }
+
+    private String chave(LocalDate competencia, Long turmaId) {
+        return competencia + "|" + turmaId;
+    }
+}
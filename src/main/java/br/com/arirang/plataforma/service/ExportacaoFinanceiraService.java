@@ -0,0 +1,176 @@
+package br.com.arirang.plataforma.service;
+
+import br.com.arirang.plataforma.entity.Aluno;
+import br.com.arirang.plataforma.entity.Contrato;
+import br.com.arirang.plataforma.entity.Pagamento;
+import br.com.arirang.plataforma.entity.Parcela;
+import br.com.arirang.plataforma.entity.Receita;
+import br.com.arirang.plataforma.entity.StatusParcela;
+import br.com.arirang.plataforma.repository.PagamentoRepository;
+import br.com.arirang.plataforma.repository.ParcelaRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Exportação de mensalidades e pagamentos em CSV.
+ * As linhas são lidas do banco em streaming e escritas direto no Writer da resposta,
+ * com o contexto de persistência limpo periodicamente: o uso de memória não depende
+ * da quantidade de registros exportados.
+ */
+@Service
+public class ExportacaoFinanceiraService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportacaoFinanceiraService.class);
+
+    // Ponto e vírgula: separador padrão do Excel em pt-BR (a vírgula é o separador decimal)
+    private static final char SEPARADOR = ';';
+    private static final int LINHAS_POR_LOTE = 500;
+    private static final DateTimeFormatter FORMATO_DATA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    @Autowired
+    private ParcelaRepository parcelaRepository;
+
+    @Autowired
+    private PagamentoRepository pagamentoRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Exporta mensalidades (parcelas) filtradas por status e período de vencimento
+     * @return quantidade de linhas exportadas
+     */
+    @Transactional(readOnly = true)
+    public long exportarMensalidadesCsv(StatusParcela status, LocalDate dataInicio, LocalDate dataFim,
+                                        Writer writer) throws IOException {
+        escreverLinha(writer, "ID", "Aluno", "Contrato", "Turma", "Parcela", "Vencimento", "Valor",
+                "Juros", "Multa", "Desconto", "Valor com Juros e Multa", "Valor Pago", "Data Pagamento", "Status");
+
+        long linhas = 0;
+        try (Stream<Parcela> parcelas = parcelaRepository.streamParaExportacao(status, dataInicio, dataFim)) {
+            Iterator<Parcela> iterator = parcelas.iterator();
+            while (iterator.hasNext()) {
+                Parcela parcela = iterator.next();
+                Contrato contrato = parcela.getContrato();
+                escreverLinha(writer,
+                        texto(parcela.getId()),
+                        contrato.getAluno().getNomeCompleto(),
+                        contrato.getNumeroContrato(),
+                        contrato.getTurma() != null ? contrato.getTurma().getNomeTurma() : "",
+                        texto(parcela.getNumeroParcela()),
+                        data(parcela.getDataVencimento()),
+                        valor(parcela.getValorParcela()),
+                        valor(parcela.getJurosAplicados()),
+                        valor(parcela.getMultaAplicada()),
+                        valor(parcela.getDescontoAplicado()),
+                        valor(parcela.getValorComJurosEMulta()),
+                        valor(parcela.getValorPago()),
+                        data(parcela.getDataPagamento()),
+                        parcela.getStatusParcela() != null ? parcela.getStatusParcela().name() : "");
+                linhas = concluirLinha(writer, linhas);
+            }
+        }
+        writer.flush();
+        logger.info("Exportação de mensalidades concluída: {} linhas", linhas);
+        return linhas;
+    }
+
+    /**
+     * Exporta pagamentos filtrados por aluno, forma de pagamento e período
+     * @return quantidade de linhas exportadas
+     */
+    @Transactional(readOnly = true)
+    public long exportarPagamentosCsv(Long alunoId, String formaPagamento, LocalDate dataInicio, LocalDate dataFim,
+                                      Writer writer) throws IOException {
+        escreverLinha(writer, "ID", "Data Pagamento", "Aluno", "Contrato", "Receita", "Forma de Pagamento",
+                "Valor Pago", "Desconto", "Nº Transação", "Usuário");
+
+        long linhas = 0;
+        try (Stream<Pagamento> pagamentos = pagamentoRepository.streamParaExportacao(alunoId, formaPagamento,
+                dataInicio, dataFim)) {
+            Iterator<Pagamento> iterator = pagamentos.iterator();
+            while (iterator.hasNext()) {
+                Pagamento pagamento = iterator.next();
+                Receita receita = pagamento.getReceita();
+                Aluno aluno = receita.getAluno();
+                escreverLinha(writer,
+                        texto(pagamento.getId()),
+                        data(pagamento.getDataPagamento()),
+                        aluno != null ? aluno.getNomeCompleto() : "",
+                        receita.getContrato() != null ? receita.getContrato().getNumeroContrato() : "",
+                        receita.getDescricao(),
+                        pagamento.getFormaPagamento(),
+                        valor(pagamento.getValorPago()),
+                        valor(pagamento.getDescontoValor()),
+                        pagamento.getNumeroTransacao(),
+                        pagamento.getUsuarioPagamento());
+                linhas = concluirLinha(writer, linhas);
+            }
+        }
+        writer.flush();
+        logger.info("Exportação de pagamentos concluída: {} linhas", linhas);
+        return linhas;
+    }
+
+    /**
+     * A cada lote, envia o que foi escrito ao cliente e descarta as entidades já exportadas
+     */
+    private long concluirLinha(Writer writer, long linhas) throws IOException {
+        linhas++;
+        if (linhas % LINHAS_POR_LOTE == 0) {
+            writer.flush();
+            entityManager.clear();
+        }
+        return linhas;
+    }
+
+    private void escreverLinha(Writer writer, String... campos) throws IOException {
+        for (int i = 0; i < campos.length; i++) {
+            if (i > 0) {
+                writer.write(SEPARADOR);
+            }
+            writer.write(escapar(campos[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * Aspas para campos com separador, aspas ou quebra de linha; apóstrofo antes de
+     * textos iniciados por = + - @ para que a planilha não os interprete como fórmula
+     */
+    private String escapar(String campo) {
+        if (campo == null || campo.isEmpty()) {
+            return "";
+        }
+        String valor = "=+-@".indexOf(campo.charAt(0)) >= 0 && !campo.matches("-?[\\d.,]+") ? "'" + campo : campo;
+        if (valor.indexOf(SEPARADOR) >= 0 || valor.indexOf('"') >= 0 || valor.indexOf('\n') >= 0 || valor.indexOf('\r') >= 0) {
+            return '"' + valor.replace("\"", "\"\"") + '"';
+        }
+        return valor;
+    }
+
+    private String texto(Object valor) {
+        return valor != null ? valor.toString() : "";
+    }
+
+    private String data(LocalDate data) {
+        return data != null ? data.format(FORMATO_DATA) : "";
+    }
+
+    private String valor(BigDecimal valor) {
+        return valor != null ? valor.toPlainString().replace('.', ',') : "";
+    }
+}
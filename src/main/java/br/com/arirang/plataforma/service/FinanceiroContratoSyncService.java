@@ -1,5 +1,7 @@
 package br.com.arirang.plataforma.service;
 
+import br.com.arirang.plataforma.dto.ParcelaSemMovimentoDTO;
+import br.com.arirang.plataforma.dto.SincronizacaoFinanceiraDTO;
 import br.com.arirang.plataforma.entity.*;
 import br.com.arirang.plataforma.repository.FinanceiroRepository;
 import br.com.arirang.plataforma.repository.ContratoRepository;
@@ -7,18 +9,34 @@ import br.com.arirang.plataforma.repository.ParcelaRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.Date;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongConsumer;
 
 @Service
 public class FinanceiroContratoSyncService {
 
     private static final Logger logger = LoggerFactory.getLogger(FinanceiroContratoSyncService.class);
 
+    private static final int PARCELAS_POR_PAGINA = 1000;
+    private static final int TAMANHO_LOTE_INSERCAO = 100;
+
     @Autowired
     private FinanceiroRepository financeiroRepository;
 
@@ -28,6 +46,18 @@ public class FinanceiroContratoSyncService {
     @Autowired
     private ParcelaRepository parcelaRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("sincronizacaoFinanceiraExecutor")
+    private TaskExecutor sincronizacaoFinanceiraExecutor;
+
+    private final AtomicReference<Sincronizacao> ultimaSincronizacao = new AtomicReference<>();
+
     /**
      * Sincroniza um novo contrato com o sistema financeiro
      * Cria apenas a receita da parcela mais próxima (próximo vencimento)
@@ -213,65 +243,21 @@ public class FinanceiroContratoSyncService {
 
     /**
      * Sincroniza TODAS as parcelas de um contrato com o sistema financeiro
-     * Cria movimentos financeiros para todas as parcelas pendentes
+     * Cria movimentos financeiros para as parcelas que ainda não têm movimento
      */
     @Transactional
     public void sincronizarTodasParcelasDoContrato(Long contratoId) {
         try {
             logger.info("Iniciando sincronização de TODAS as parcelas para contrato ID: {}", contratoId);
             
-            Optional<Contrato> contratoOpt = contratoRepository.findById(contratoId);
-            if (contratoOpt.isEmpty()) {
+            if (!contratoRepository.existsById(contratoId)) {
                 logger.warn("Contrato ID {} não encontrado para sincronização", contratoId);
                 return;
             }
-
-            Contrato contrato = contratoOpt.get();
-            
-            // Buscar todas as parcelas do contrato
-            List<Parcela> parcelas = parcelaRepository.findByContratoIdOrderByDataVencimentoAsc(contratoId);
-            if (parcelas.isEmpty()) {
-                logger.warn("Nenhuma parcela encontrada para contrato ID {}", contratoId);
-                return;
-            }
-            
-            int parcelasSincronizadas = 0;
-            int parcelasJaExistentes = 0;
-            
-            for (Parcela parcela : parcelas) {
-                // Verificar se já existe movimento financeiro para esta parcela
-                List<Financeiro> movimentosExistentes = financeiroRepository.findByParcelaId(parcela.getId());
-                if (!movimentosExistentes.isEmpty()) {
-                    parcelasJaExistentes++;
-                    logger.debug("Parcela ID {} já possui movimento financeiro. Pulando.", parcela.getId());
-                    continue;
-                }
-                
-                // Criar movimento financeiro para esta parcela
-                Financeiro movimentoFinanceiro = new Financeiro();
-                movimentoFinanceiro.setTipoMovimento(TipoMovimentoFinanceiro.RECEITA);
-                movimentoFinanceiro.setValor(parcela.getValorParcela());
-                movimentoFinanceiro.setDataMovimento(parcela.getDataVencimento());
-                movimentoFinanceiro.setDescricao("Receita - Parcela " + parcela.getNumeroParcela() + "/" + contrato.getNumeroParcelas());
-                movimentoFinanceiro.setCategoria(CategoriaFinanceira.MENSALIDADE);
-                movimentoFinanceiro.setContrato(contrato);
-                movimentoFinanceiro.setParcela(parcela);
-                movimentoFinanceiro.setAluno(contrato.getAluno());
-                movimentoFinanceiro.setReferencia("Parcela " + parcela.getNumeroParcela() + "/" + contrato.getNumeroParcelas());
-                movimentoFinanceiro.setNumeroDocumento("PARC-" + parcela.getId());
-                movimentoFinanceiro.setObservacoes("Receita automática gerada para parcela do contrato");
-                movimentoFinanceiro.setConfirmado(false);
-                movimentoFinanceiro.setDataCriacao(LocalDateTime.now());
-
-                financeiroRepository.save(movimentoFinanceiro);
-                parcelasSincronizadas++;
-                
-                logger.debug("Movimento financeiro criado para parcela {} do contrato ID {}", 
-                           parcela.getNumeroParcela(), contratoId);
-            }
             
-            logger.info("Sincronização concluída para contrato ID {}: {} parcelas sincronizadas, {} já existentes", 
-                       contratoId, parcelasSincronizadas, parcelasJaExistentes);
+            int parcelasSincronizadas = sincronizarParcelasSemMovimento(null, contratoId, quantidade -> {});
+            logger.info("Sincronização concluída para contrato ID {}: {} parcelas sincronizadas", 
+                       contratoId, parcelasSincronizadas);
 
         } catch (Exception e) {
             logger.error("Erro ao sincronizar todas as parcelas do contrato ID {}: ", contratoId, e);
@@ -280,41 +266,121 @@ public class FinanceiroContratoSyncService {
     }
 
     /**
-     * Sincroniza todos os contratos ativos com o sistema financeiro
-     * Agora sincroniza TODAS as parcelas de cada contrato
+     * Sincroniza todos os contratos ativos com o sistema financeiro (TODAS as parcelas de cada contrato)
+     * Não deve ser chamado dentro de uma transação: cada lote é confirmado separadamente.
+     * @return Número de movimentos financeiros criados
      */
-    @Transactional
-    public void sincronizarTodosContratosAtivos() {
+    public int sincronizarTodosContratosAtivos() {
         try {
             logger.info("Iniciando sincronização de todos os contratos ativos");
-            
-            List<Contrato> contratosAtivos = contratoRepository.findBySituacaoContratoOrderByDataCriacaoDesc(StatusContrato.ATIVO.name());
-            logger.info("Encontrados {} contratos ativos para sincronização", contratosAtivos.size());
-            
-            int contratosSincronizados = 0;
-            int contratosComErro = 0;
-            
-            for (Contrato contrato : contratosAtivos) {
-                try {
-                    // Sincronizar TODAS as parcelas do contrato
-                    sincronizarTodasParcelasDoContrato(contrato.getId());
-                    contratosSincronizados++;
-                } catch (Exception e) {
-                    contratosComErro++;
-                    logger.error("Erro ao sincronizar contrato ID {}: ", contrato.getId(), e);
-                    // Continua com os outros contratos mesmo se um falhar
-                }
-            }
-            
-            logger.info("Sincronização de contratos ativos concluída: {} sincronizados, {} com erro", 
-                       contratosSincronizados, contratosComErro);
-            
+            int parcelasSincronizadas = sincronizarParcelasSemMovimento(StatusContrato.ATIVO.name(), null, quantidade -> {});
+            logger.info("Sincronização de contratos ativos concluída: {} parcelas sincronizadas", parcelasSincronizadas);
+            return parcelasSincronizadas;
         } catch (Exception e) {
             logger.error("Erro na sincronização geral de contratos: ", e);
             throw new RuntimeException("Erro na sincronização geral: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Inicia a sincronização dos contratos ativos em segundo plano (executor "sincronizacaoFinanceiraExecutor").
+     * Se já houver uma sincronização em andamento, retorna a situação dela em vez de iniciar outra.
+     */
+    public SincronizacaoFinanceiraDTO iniciarSincronizacaoContratosAtivos() {
+        Sincronizacao atual = ultimaSincronizacao.get();
+        if (atual != null && atual.dataConclusao == null) {
+            return atual.toDTO();
+        }
+
+        long total = parcelaRepository.countParcelasSemMovimento(StatusContrato.ATIVO.name(), null);
+        Sincronizacao sincronizacao = new Sincronizacao(UUID.randomUUID().toString(), total);
+        if (!ultimaSincronizacao.compareAndSet(atual, sincronizacao)) {
+            return ultimaSincronizacao.get().toDTO();
+        }
+        logger.info("Iniciando sincronização {} em segundo plano: {} parcelas sem movimento financeiro", sincronizacao.id, total);
+
+        CompletableFuture.runAsync(() -> executarSincronizacao(sincronizacao), sincronizacaoFinanceiraExecutor);
+        return sincronizacao.toDTO();
+    }
+
+    /**
+     * Situação da última sincronização em segundo plano, se houver
+     */
+    public Optional<SincronizacaoFinanceiraDTO> consultarSincronizacao() {
+        return Optional.ofNullable(ultimaSincronizacao.get()).map(Sincronizacao::toDTO);
+    }
+
+    private void executarSincronizacao(Sincronizacao sincronizacao) {
+        try {
+            sincronizarParcelasSemMovimento(StatusContrato.ATIVO.name(), null, sincronizacao.sincronizadas::addAndGet);
+        } catch (Exception e) {
+            logger.error("Erro na sincronização {} de contratos com o financeiro: ", sincronizacao.id, e);
+            sincronizacao.mensagem = "Erro na sincronização: " + e.getMessage();
+        } finally {
+            sincronizacao.dataConclusao = LocalDateTime.now();
+            logger.info("Sincronização {} concluída: {} de {} parcelas sincronizadas",
+                    sincronizacao.id, sincronizacao.sincronizadas.get(), sincronizacao.total);
+        }
+    }
+
+    /**
+     * Cria os movimentos financeiros das parcelas que ainda não têm movimento.
+     * As parcelas são lidas com anti-join (NOT EXISTS em financeiro), em páginas por id, e os
+     * movimentos de cada página são inseridos em lotes JDBC, em uma transação por página.
+     * @param situacao situação dos contratos (null para todas)
+     * @param contratoId contrato (null para todos)
+     * @param progresso recebe a quantidade de movimentos criados a cada página confirmada
+     * @return Número de movimentos financeiros criados
+     */
+    private int sincronizarParcelasSemMovimento(String situacao, Long contratoId, LongConsumer progresso) {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        int totalSincronizadas = 0;
+        long ultimoId = 0;
+        while (true) {
+            long aPartirDe = ultimoId;
+            List<ParcelaSemMovimentoDTO> pagina = transacao.execute(status -> {
+                List<ParcelaSemMovimentoDTO> parcelas = parcelaRepository.findParcelasSemMovimento(
+                        situacao, contratoId, aPartirDe, PageRequest.of(0, PARCELAS_POR_PAGINA));
+                inserirMovimentos(parcelas);
+                return parcelas;
+            });
+            if (pagina.isEmpty()) {
+                return totalSincronizadas;
+            }
+            ultimoId = pagina.get(pagina.size() - 1).parcelaId();
+            totalSincronizadas += pagina.size();
+            progresso.accept(pagina.size());
+            logger.debug("Sincronização financeira: {} movimentos criados (até parcela ID {})", totalSincronizadas, ultimoId);
+        }
+    }
+
+    private void inserirMovimentos(List<ParcelaSemMovimentoDTO> parcelas) {
+        if (parcelas.isEmpty()) {
+            return;
+        }
+        Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO financeiro (tipo_movimento, valor, data_movimento, descricao, categoria, contrato_id, " +
+                "parcela_id, aluno_id, referencia, numero_documento, observacoes, confirmado, data_criacao) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                parcelas, TAMANHO_LOTE_INSERCAO, (ps, parcela) -> {
+                    String referencia = "Parcela " + parcela.numeroParcela() + "/" + parcela.numeroParcelas();
+                    ps.setString(1, TipoMovimentoFinanceiro.RECEITA.name());
+                    ps.setBigDecimal(2, parcela.valorParcela());
+                    ps.setDate(3, Date.valueOf(parcela.dataVencimento()));
+                    ps.setString(4, "Receita - " + referencia);
+                    ps.setString(5, CategoriaFinanceira.MENSALIDADE.name());
+                    ps.setLong(6, parcela.contratoId());
+                    ps.setLong(7, parcela.parcelaId());
+                    ps.setObject(8, parcela.alunoId());
+                    ps.setString(9, referencia);
+                    ps.setString(10, "PARC-" + parcela.parcelaId());
+                    ps.setString(11, "Receita automática gerada para parcela do contrato");
+                    ps.setBoolean(12, false);
+                    ps.setTimestamp(13, agora);
+                });
+    }
+
     /**
      * Método de diagnóstico: verifica se as parcelas estão sendo criadas corretamente
      */
@@ -375,4 +441,30 @@ public class FinanceiroContratoSyncService {
             return "❌ Erro ao diagnosticar: " + e.getMessage();
         }
     }
+
+    private static class Sincronizacao {
+        private final String id;
+        private final long total;
+        private final AtomicLong sincronizadas = new AtomicLong();
+        private final LocalDateTime dataInicio = LocalDateTime.now();
+        private volatile LocalDateTime dataConclusao;
+        private volatile String mensagem;
+
+        private Sincronizacao(String id, long total) {
+            this.id = id;
+            this.total = total;
+        }
+
+        private SincronizacaoFinanceiraDTO toDTO() {
+            String status;
+            if (dataConclusao == null) {
+                status = "PROCESSANDO";
+            } else {
+                status = mensagem == null ? "CONCLUIDA" : "FALHOU";
+            }
+            long feitas = sincronizadas.get();
+            int percentual = total > 0 ? (int) Math.min(100, feitas * 100 / total) : 100;
+            return new SincronizacaoFinanceiraDTO(id, status, total, feitas, percentual, dataInicio, dataConclusao, mensagem);
+        }
+    }
 }
@@ -1,28 +1,41 @@
 package br.com.arirang.plataforma.service;
 
+import br.com.arirang.plataforma.dto.AlertaFrequenciaDTO;
 import br.com.arirang.plataforma.dto.RelatorioFrequenciaDTO;
-import br.com.arirang.plataforma.entity.Turma;
+import br.com.arirang.plataforma.entity.AlertaFrequencia;
+import br.com.arirang.plataforma.entity.ExecucaoAlertaFrequencia;
+import br.com.arirang.plataforma.repository.AlertaFrequenciaRepository;
+import br.com.arirang.plataforma.repository.ExecucaoAlertaFrequenciaRepository;
 import br.com.arirang.plataforma.repository.TurmaRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Service para gerenciar alertas automáticos de frequência
  */
 @Service
-@Transactional
 public class FrequenciaAlertaService {
 
     private static final Logger logger = LoggerFactory.getLogger(FrequenciaAlertaService.class);
     private static final Double PERCENTUAL_MINIMO_PADRAO = 75.0;
+    private static final int TURMAS_POR_LOTE = 10;
 
     @Autowired
     private FrequenciaService frequenciaService;
@@ -30,51 +43,174 @@ public class FrequenciaAlertaService {
     @Autowired
     private TurmaRepository turmaRepository;
 
+    @Autowired
+    private AlertaFrequenciaRepository alertaFrequenciaRepository;
+
+    @Autowired
+    private ExecucaoAlertaFrequenciaRepository execucaoAlertaFrequenciaRepository;
+
+    @Autowired
+    @Qualifier("alertaFrequenciaExecutor")
+    private TaskExecutor alertaFrequenciaExecutor;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final AtomicBoolean emExecucao = new AtomicBoolean(false);
+
     /**
      * Verifica e gera alertas para alunos com frequência baixa
      * Executa diariamente às 8h
      */
     @Scheduled(cron = "0 0 8 * * ?") // Todo dia às 8h
     public void verificarFrequenciaBaixa() {
-        logger.info("Iniciando verificação automática de frequência baixa");
-        
-        LocalDate hoje = LocalDate.now();
-        LocalDate dataInicio = hoje.minusMonths(1); // Último mês
-        
-        List<Turma> turmasAtivas = turmaRepository.findAll()
-                .stream()
-                .filter(t -> t.getSituacaoTurma() != null && 
-                            (t.getSituacaoTurma().equalsIgnoreCase("ATIVA") || 
-                             t.getSituacaoTurma().equalsIgnoreCase("EM_ANDAMENTO")))
-                .collect(Collectors.toList());
+        executarVerificacao();
+    }
+
+    /**
+     * Executa a verificação de frequência baixa das turmas em andamento no último mês.
+     * As turmas são processadas em lotes no executor "alertaFrequenciaExecutor", cada turma em
+     * sua própria transação curta somente leitura; os alertas de cada lote são gravados em seguida.
+     * A execução (duração, turmas por segundo, alertas) fica registrada em ExecucaoAlertaFrequencia,
+     * sempre com um status final: CONCLUIDA, CONCLUIDA_COM_ERROS ou FALHOU.
+     * @return a execução registrada, ou null se já havia uma verificação em andamento
+     */
+    public ExecucaoAlertaFrequencia executarVerificacao() {
+        if (!emExecucao.compareAndSet(false, true)) {
+            logger.warn("Verificação de frequência baixa já em andamento; execução ignorada");
+            return null;
+        }
+        try {
+            logger.info("Iniciando verificação automática de frequência baixa");
+            long inicio = System.currentTimeMillis();
+
+            LocalDate hoje = LocalDate.now();
+            LocalDate dataInicio = hoje.minusMonths(1); // Último mês
+
+            ExecucaoAlertaFrequencia execucao = new ExecucaoAlertaFrequencia();
+            execucao.setDataInicio(LocalDateTime.now());
+            execucao.setPeriodoInicio(dataInicio);
+            execucao.setPeriodoFim(hoje);
+            execucao.setStatus("EM_EXECUCAO");
+            execucao = execucaoAlertaFrequenciaRepository.save(execucao);
+            Long execucaoId = execucao.getId();
 
-        for (Turma turma : turmasAtivas) {
             try {
-                List<RelatorioFrequenciaDTO> alunosComFrequenciaBaixa = 
+                List<Long> turmaIds = turmaRepository.findIdsAtivas();
+                List<CompletableFuture<ResultadoLote>> lotes = new ArrayList<>();
+                for (int i = 0; i < turmaIds.size(); i += TURMAS_POR_LOTE) {
+                    List<Long> lote = turmaIds.subList(i, Math.min(i + TURMAS_POR_LOTE, turmaIds.size()));
+                    lotes.add(CompletableFuture.supplyAsync(
+                            () -> processarLote(execucaoId, lote, dataInicio, hoje), alertaFrequenciaExecutor));
+                }
+
+                int turmasComErro = 0;
+                int alertasGerados = 0;
+                for (int i = 0; i < lotes.size(); i++) {
+                    try {
+                        ResultadoLote resultado = lotes.get(i).join();
+                        turmasComErro += resultado.turmasComErro();
+                        alertasGerados += resultado.alertasGerados();
+                    } catch (CompletionException e) {
+                        // Falha fora das turmas (ex.: ao gravar os alertas): todas as turmas do lote contam como erro
+                        int turmasDoLote = Math.min(TURMAS_POR_LOTE, turmaIds.size() - i * TURMAS_POR_LOTE);
+                        turmasComErro += turmasDoLote;
+                        logger.error("Erro no lote {} da verificação de frequência ({} turmas): ",
+                                i + 1, turmasDoLote, e.getCause());
+                    }
+                }
+
+                long duracaoMs = System.currentTimeMillis() - inicio;
+                execucao.setDataFim(LocalDateTime.now());
+                execucao.setDuracaoMs(duracaoMs);
+                execucao.setTurmasProcessadas(turmaIds.size());
+                execucao.setTurmasComErro(turmasComErro);
+                execucao.setAlertasGerados(alertasGerados);
+                execucao.setTurmasPorSegundo(duracaoMs > 0
+                        ? Math.round(turmaIds.size() * 1000.0 / duracaoMs * 100.0) / 100.0
+                        : (double) turmaIds.size());
+                execucao.setStatus(turmasComErro > 0 ? "CONCLUIDA_COM_ERROS" : "CONCLUIDA");
+                execucao = execucaoAlertaFrequenciaRepository.save(execucao);
+
+                logger.info("Verificação automática de frequência concluída em {} ms - {} turmas ({} turmas/s), {} alertas, {} turmas com erro",
+                        duracaoMs, turmaIds.size(), execucao.getTurmasPorSegundo(), alertasGerados, turmasComErro);
+                return execucao;
+            } catch (RuntimeException e) {
+                logger.error("Verificação automática de frequência falhou: ", e);
+                execucao.setDataFim(LocalDateTime.now());
+                execucao.setDuracaoMs(System.currentTimeMillis() - inicio);
+                execucao.setStatus("FALHOU");
+                return execucaoAlertaFrequenciaRepository.save(execucao);
+            }
+        } finally {
+            emExecucao.set(false);
+        }
+    }
+
+    /**
+     * Calcula os alertas de um lote de turmas, cada turma em uma transação somente leitura própria,
+     * e grava o resultado. Erros em uma turma são registrados e não interrompem as demais.
+     */
+    private ResultadoLote processarLote(Long execucaoId, List<Long> turmaIds, LocalDate dataInicio, LocalDate dataFim) {
+        TransactionTemplate leitura = new TransactionTemplate(transactionManager);
+        leitura.setReadOnly(true);
+        leitura.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        List<AlertaFrequencia> alertas = new ArrayList<>();
+        int turmasComErro = 0;
+        LocalDateTime agora = LocalDateTime.now();
+        for (Long turmaId : turmaIds) {
+            try {
+                List<RelatorioFrequenciaDTO> alunosComFrequenciaBaixa = leitura.execute(status ->
                         frequenciaService.listarAlunosComFrequenciaBaixa(
-                                turma.getId(), dataInicio, hoje, PERCENTUAL_MINIMO_PADRAO);
+                                turmaId, dataInicio, dataFim, PERCENTUAL_MINIMO_PADRAO));
 
                 if (!alunosComFrequenciaBaixa.isEmpty()) {
-                    logger.warn("Turma {} - {} alunos com frequência abaixo de {}%", 
-                               turma.getNomeTurma(), 
-                               alunosComFrequenciaBaixa.size(), 
+                    logger.warn("Turma {} - {} alunos com frequência abaixo de {}%",
+                               alunosComFrequenciaBaixa.get(0).turmaNome(),
+                               alunosComFrequenciaBaixa.size(),
                                PERCENTUAL_MINIMO_PADRAO);
-                    
-                    // Aqui você pode adicionar lógica para enviar emails, notificações, etc.
-                    // Por enquanto, apenas logamos
-                    alunosComFrequenciaBaixa.forEach(aluno -> {
-                        logger.warn("ALERTA: Aluno {} - Frequência: {:.2f}%", 
-                                   aluno.alunoNome(), 
-                                   aluno.percentualFrequencia());
-                    });
                 }
+                alunosComFrequenciaBaixa.forEach(relatorio -> alertas.add(toAlerta(execucaoId, relatorio, agora)));
             } catch (Exception e) {
-                logger.error("Erro ao verificar frequência da turma {}: {}", 
-                           turma.getId(), e.getMessage(), e);
+                turmasComErro++;
+                logger.error("Erro ao verificar frequência da turma {}: {}",
+                           turmaId, e.getMessage(), e);
             }
         }
-        
-        logger.info("Verificação automática de frequência concluída");
+
+        if (!alertas.isEmpty()) {
+            alertaFrequenciaRepository.saveAll(alertas);
+        }
+        return new ResultadoLote(alertas.size(), turmasComErro);
+    }
+
+    private AlertaFrequencia toAlerta(Long execucaoId, RelatorioFrequenciaDTO relatorio, LocalDateTime dataGeracao) {
+        AlertaFrequencia alerta = new AlertaFrequencia();
+        alerta.setExecucaoId(execucaoId);
+        alerta.setTurmaId(relatorio.turmaId());
+        alerta.setTurmaNome(relatorio.turmaNome());
+        alerta.setAlunoId(relatorio.alunoId());
+        alerta.setAlunoNome(relatorio.alunoNome());
+        alerta.setTotalAulas(relatorio.totalAulas());
+        alerta.setTotalPresencas(relatorio.totalPresencas());
+        alerta.setPercentualFrequencia(relatorio.percentualFrequencia());
+        alerta.setPercentualMinimo(PERCENTUAL_MINIMO_PADRAO);
+        alerta.setDataGeracao(dataGeracao);
+        return alerta;
+    }
+
+    /**
+     * Alertas gravados pela última execução da verificação diária
+     */
+    @Transactional(readOnly = true)
+    public List<AlertaFrequenciaDTO> listarAlertasUltimaExecucao() {
+        return execucaoAlertaFrequenciaRepository.findFirstByOrderByDataInicioDesc()
+                .map(execucao -> alertaFrequenciaRepository.findByExecucaoIdOrderByTurmaNomeAscAlunoNomeAsc(execucao.getId()))
+                .orElse(List.of())
+                .stream()
+                .map(AlertaFrequenciaDTO::fromEntity)
+                .toList();
     }
 
     /**
@@ -110,4 +246,6 @@ public class FrequenciaAlertaService {
 
         return relatorio.abaixoDoMinimo();
     }
+
+    private record ResultadoLote(int alertasGerados, int turmasComErro) {}
 }
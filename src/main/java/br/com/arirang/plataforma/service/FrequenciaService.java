@@ -1,5 +1,6 @@
 package br.com.arirang.plataforma.service;
 
+import br.com.arirang.plataforma.dto.ContagemFrequenciaDTO;
 import br.com.arirang.plataforma.dto.FrequenciaDTO;
 import br.com.arirang.plataforma.dto.FrequenciaFormDTO;
 import br.com.arirang.plataforma.dto.RelatorioFrequenciaDTO;
@@ -7,7 +8,6 @@ import br.com.arirang.plataforma.entity.Aluno;
 import br.com.arirang.plataforma.entity.Frequencia;
 import br.com.arirang.plataforma.entity.Turma;
 import br.com.arirang.plataforma.entity.Usuario;
-import br.com.arirang.plataforma.enums.TipoPresenca;
 import br.com.arirang.plataforma.exception.ResourceNotFoundException;
 import br.com.arirang.plataforma.repository.AlunoRepository;
 import br.com.arirang.plataforma.repository.FrequenciaRepository;
@@ -15,14 +15,23 @@ import br.com.arirang.plataforma.repository.TurmaRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,6 +40,7 @@ public class FrequenciaService {
 
     private static final Logger logger = LoggerFactory.getLogger(FrequenciaService.class);
     private static final Double PERCENTUAL_MINIMO_PADRAO = 75.0;
+    private static final int TAMANHO_LOTE_INSERCAO = 100;
 
     @Autowired
     private FrequenciaRepository frequenciaRepository;
@@ -44,6 +54,9 @@ public class FrequenciaService {
     @Autowired
     private UsuarioService usuarioService;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     /**
      * Registra ou atualiza frequência de um aluno
      */
@@ -83,7 +96,10 @@ public class FrequenciaService {
     }
 
     /**
-     * Registra frequência em lote para uma turma em uma data
+     * Registra frequência em lote para uma turma em uma data.
+     * Número fixo de comandos, independente do tamanho da turma: alunos e frequências já
+     * registradas na data são lidos em uma consulta cada, as existentes são atualizadas em lote
+     * pelo Hibernate e as novas inseridas em lote via JDBC (IDENTITY impede o batch de INSERT do Hibernate).
      */
     @Transactional
     public List<FrequenciaDTO> registrarFrequenciaLote(Long turmaId, LocalDate dataAula, 
@@ -91,31 +107,66 @@ public class FrequenciaService {
         Turma turma = turmaRepository.findById(turmaId)
                 .orElseThrow(() -> new ResourceNotFoundException("Turma não encontrada: " + turmaId));
 
+        // Um registro por aluno (o último enviado prevalece)
+        Map<Long, FrequenciaFormDTO> porAluno = new LinkedHashMap<>();
+        frequencias.forEach(formDTO -> porAluno.put(formDTO.alunoId(), formDTO));
+
+        Set<Long> alunosEncontrados = alunoRepository.findAllById(porAluno.keySet()).stream()
+                .map(Aluno::getId)
+                .collect(Collectors.toSet());
+        porAluno.keySet().stream()
+                .filter(alunoId -> !alunosEncontrados.contains(alunoId))
+                .findFirst()
+                .ifPresent(alunoId -> {
+                    throw new ResourceNotFoundException("Aluno não encontrado: " + alunoId);
+                });
+
         Usuario usuarioAtual = getUsuarioAtual();
 
-        return frequencias.stream()
-                .map(formDTO -> {
-                    Aluno aluno = alunoRepository.findById(formDTO.alunoId())
-                            .orElseThrow(() -> new ResourceNotFoundException("Aluno não encontrado: " + formDTO.alunoId()));
-
-                    Optional<Frequencia> frequenciaExistente = frequenciaRepository
-                            .findByAlunoAndTurmaAndDataAula(aluno, turma, dataAula);
-
-                    Frequencia frequencia;
-                    if (frequenciaExistente.isPresent()) {
-                        frequencia = frequenciaExistente.get();
-                        frequencia.setTipoPresenca(formDTO.tipoPresenca());
-                        frequencia.setObservacao(formDTO.observacao());
-                        frequencia.setJustificativa(formDTO.justificativa());
-                    } else {
-                        frequencia = new Frequencia(aluno, turma, dataAula, formDTO.tipoPresenca());
-                        frequencia.setObservacao(formDTO.observacao());
-                        frequencia.setJustificativa(formDTO.justificativa());
-                    }
-
-                    frequencia.setRegistradoPor(usuarioAtual);
-                    return frequenciaRepository.save(frequencia);
-                })
+        Map<Long, Frequencia> existentes = frequenciaRepository.findByTurmaIdAndDataAulaWithAluno(turmaId, dataAula).stream()
+                .collect(Collectors.toMap(f -> f.getAluno().getId(), Function.identity()));
+
+        List<FrequenciaFormDTO> novas = new ArrayList<>();
+        for (FrequenciaFormDTO formDTO : porAluno.values()) {
+            Frequencia frequencia = existentes.get(formDTO.alunoId());
+            if (frequencia == null) {
+                novas.add(formDTO);
+                continue;
+            }
+            frequencia.setTipoPresenca(formDTO.tipoPresenca());
+            frequencia.setObservacao(formDTO.observacao());
+            frequencia.setJustificativa(formDTO.justificativa());
+            frequencia.setRegistradoPor(usuarioAtual);
+        }
+
+        if (!novas.isEmpty()) {
+            frequenciaRepository.flush();
+            Timestamp dataRegistro = Timestamp.valueOf(LocalDateTime.now());
+            Long registradoPorId = usuarioAtual != null ? usuarioAtual.getId() : null;
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO frequencias (aluno_id, turma_id, data_aula, tipo_presenca, observacao, justificativa, " +
+                    "data_registro, registrado_por_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                    novas, TAMANHO_LOTE_INSERCAO, (ps, formDTO) -> {
+                        ps.setLong(1, formDTO.alunoId());
+                        ps.setLong(2, turmaId);
+                        ps.setDate(3, java.sql.Date.valueOf(dataAula));
+                        ps.setString(4, formDTO.tipoPresenca().name());
+                        ps.setString(5, formDTO.observacao());
+                        ps.setString(6, formDTO.justificativa());
+                        ps.setTimestamp(7, dataRegistro);
+                        ps.setObject(8, registradoPorId);
+                    });
+        }
+
+        logger.info("Frequência em lote registrada: Turma {} - Data {} - {} atualizadas, {} novas",
+                turma.getId(), dataAula, porAluno.size() - novas.size(), novas.size());
+
+        // Recarrega a chamada completa (inclui as linhas inseridas via JDBC) na ordem enviada
+        Map<Long, Frequencia> registradas = frequenciaRepository.findByTurmaIdAndDataAulaWithAluno(turmaId, dataAula).stream()
+                .collect(Collectors.toMap(f -> f.getAluno().getId(), Function.identity()));
+        return porAluno.keySet().stream()
+                .map(registradas::get)
+                .filter(Objects::nonNull)
                 .map(this::toDTO)
                 .collect(Collectors.toList());
     }
@@ -173,65 +224,45 @@ public class FrequenciaService {
         Turma turma = turmaRepository.findById(turmaId)
                 .orElseThrow(() -> new ResourceNotFoundException("Turma não encontrada: " + turmaId));
 
-        // Buscar frequências do aluno no período
-        List<Frequencia> frequencias = frequenciaRepository.findByTurmaAndPeriodo(turma, dataInicio, dataFim)
-                .stream()
-                .filter(f -> f.getAluno().getId().equals(alunoId))
-                .collect(Collectors.toList());
-        
-        // Usar as frequências para cálculos mais precisos se necessário
-        // Por enquanto, usamos os métodos de contagem do repository
-
         Long totalAulas = frequenciaRepository.countAulasByTurmaAndPeriodo(turma, dataInicio, dataFim);
-        Long totalPresencas = frequenciaRepository.countByAlunoAndTurmaAndTipoPresenca(
-                aluno, turma, TipoPresenca.PRESENTE);
-        Long totalFaltas = frequenciaRepository.countByAlunoAndTurmaAndTipoPresenca(
-                aluno, turma, TipoPresenca.FALTA);
-        Long totalFaltasJustificadas = frequenciaRepository.countByAlunoAndTurmaAndTipoPresenca(
-                aluno, turma, TipoPresenca.FALTA_JUSTIFICADA);
-        Long totalAtrasos = frequenciaRepository.countByAlunoAndTurmaAndTipoPresenca(
-                aluno, turma, TipoPresenca.ATRASO);
+        ContagemFrequenciaDTO contagem = frequenciaRepository
+                .contarPorAlunoNoPeriodo(turmaId, alunoId, dataInicio, dataFim).stream()
+                .findFirst()
+                .orElseGet(() -> new ContagemFrequenciaDTO(alunoId, aluno.getNomeCompleto(), 0L, 0L, 0L, 0L, 0L));
 
-        return RelatorioFrequenciaDTO.calcular(
-                alunoId, aluno.getNomeCompleto(),
-                turmaId, turma.getNomeTurma(),
-                totalAulas, totalPresencas, totalFaltas,
-                totalFaltasJustificadas, totalAtrasos,
-                dataInicio, dataFim, PERCENTUAL_MINIMO_PADRAO
-        );
+        return toRelatorio(contagem, turma, totalAulas, dataInicio, dataFim, PERCENTUAL_MINIMO_PADRAO);
     }
 
     /**
-     * Lista alunos com frequência abaixo do mínimo
+     * Gera o relatório de frequência de todos os alunos com registros na turma no período,
+     * em uma única consulta agregada, independente da quantidade de alunos.
+     * O total de aulas de cada aluno é a quantidade de registros dele no período (e não as
+     * datas de aula da turma): quem entrou na turma no meio do período não conta como falta
+     * as aulas anteriores à matrícula.
      */
     @Transactional(readOnly = true)
-    public List<RelatorioFrequenciaDTO> listarAlunosComFrequenciaBaixa(Long turmaId, 
-                                                                       LocalDate dataInicio, 
-                                                                       LocalDate dataFim,
-                                                                       Double percentualMinimo) {
+    public List<RelatorioFrequenciaDTO> gerarRelatorioTurma(Long turmaId, LocalDate dataInicio, LocalDate dataFim,
+                                                            Double percentualMinimo) {
         Turma turma = turmaRepository.findById(turmaId)
                 .orElseThrow(() -> new ResourceNotFoundException("Turma não encontrada: " + turmaId));
 
         final Double percentualMinimoFinal = (percentualMinimo != null) ? percentualMinimo : PERCENTUAL_MINIMO_PADRAO;
 
-        List<Object[]> resultados = frequenciaRepository.findAlunosComFrequenciaBaixa(
-                turma, dataInicio, dataFim, percentualMinimoFinal);
-
-        return resultados.stream()
-                .map(result -> {
-                    Aluno aluno = (Aluno) result[0];
-                    Long presencas = ((Number) result[1]).longValue();
-                    Long totalAulas = ((Number) result[2]).longValue();
-                    Long faltas = totalAulas - presencas;
-
-                    return RelatorioFrequenciaDTO.calcular(
-                            aluno.getId(), aluno.getNomeCompleto(),
-                            turmaId, turma.getNomeTurma(),
-                            totalAulas, presencas, faltas,
-                            0L, 0L,
-                            dataInicio, dataFim, percentualMinimoFinal
-                    );
-                })
+        return frequenciaRepository.contarPorAlunoNoPeriodo(turmaId, null, dataInicio, dataFim).stream()
+                .map(contagem -> toRelatorio(contagem, turma, contagem.registros(), dataInicio, dataFim, percentualMinimoFinal))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Lista alunos com frequência abaixo do mínimo (presenças sobre os registros do próprio aluno no período)
+     */
+    @Transactional(readOnly = true)
+    public List<RelatorioFrequenciaDTO> listarAlunosComFrequenciaBaixa(Long turmaId, 
+                                                                       LocalDate dataInicio, 
+                                                                       LocalDate dataFim,
+                                                                       Double percentualMinimo) {
+        return gerarRelatorioTurma(turmaId, dataInicio, dataFim, percentualMinimo).stream()
+                .filter(RelatorioFrequenciaDTO::abaixoDoMinimo)
                 .collect(Collectors.toList());
     }
 
@@ -259,6 +290,17 @@ public class FrequenciaService {
         return usuarioService.buscarPorUsername(username).orElse(null);
     }
 
+    private RelatorioFrequenciaDTO toRelatorio(ContagemFrequenciaDTO contagem, Turma turma, Long totalAulas,
+                                               LocalDate dataInicio, LocalDate dataFim, Double percentualMinimo) {
+        return RelatorioFrequenciaDTO.calcular(
+                contagem.alunoId(), contagem.alunoNome(),
+                turma.getId(), turma.getNomeTurma(),
+                totalAulas, contagem.presencas(), contagem.faltas(),
+                contagem.faltasJustificadas(), contagem.atrasos(),
+                dataInicio, dataFim, percentualMinimo
+        );
+    }
+
     private FrequenciaDTO toDTO(Frequencia frequencia) {
         return new FrequenciaDTO(
                 frequencia.getId(),
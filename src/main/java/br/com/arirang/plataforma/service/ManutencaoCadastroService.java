@@ -0,0 +1,74 @@
+package br.com.arirang.plataforma.service;
+
+import br.com.arirang.plataforma.repository.AlunoRepository;
+import br.com.arirang.plataforma.repository.ResponsavelRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+
+/**
+ * Manutenção de registros dependentes do cadastro de alunos (responsáveis órfãos e situação
+ * de alunos sem turma), feita com comandos em lote no banco (UPDATE/DELETE ... WHERE NOT EXISTS)
+ * em vez de carregar e salvar entidade por entidade. As verificações de existência usam os
+ * índices das chaves estrangeiras alunos.responsavel_id e aluno_turma.aluno_id, então o custo
+ * não cresce com o total de alunos.
+ *
+ * Os comandos descarregam antes as alterações pendentes da sessão, mas não atualizam entidades
+ * já carregadas nela.
+ */
+@Service
+public class ManutencaoCadastroService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ManutencaoCadastroService.class);
+
+    @Autowired
+    private AlunoRepository alunoRepository;
+
+    @Autowired
+    private ResponsavelRepository responsavelRepository;
+
+    /**
+     * Remove o responsável se nenhum aluno o referencia mais
+     * @return true se o responsável foi removido
+     */
+    @Transactional
+    public boolean removerResponsavelSeOrfao(Long responsavelId) {
+        if (responsavelId == null) {
+            return false;
+        }
+        boolean removido = responsavelRepository.deleteByIdSemAlunos(responsavelId) > 0;
+        logger.debug("Responsável ID {} {}", responsavelId, removido ? "órfão removido" : "mantido (ainda usado por aluno)");
+        return removido;
+    }
+
+    /**
+     * Marca como INATIVO todos os alunos sem nenhuma turma
+     * @return quantidade de alunos alterados
+     */
+    @Transactional
+    public int inativarAlunosSemTurmas() {
+        int atualizados = alunoRepository.inativarSemTurmas();
+        if (atualizados > 0) {
+            logger.info("Status atualizado para {} aluno(s) que ficaram sem turmas", atualizados);
+        }
+        return atualizados;
+    }
+
+    /**
+     * Marca como INATIVO, entre os alunos informados, os que ficaram sem nenhuma turma
+     * @return quantidade de alunos alterados
+     */
+    @Transactional
+    public int inativarAlunosSemTurmas(Collection<Long> alunoIds) {
+        if (alunoIds == null || alunoIds.isEmpty()) {
+            return 0;
+        }
+        int atualizados = alunoRepository.inativarSemTurmasByIdIn(alunoIds);
+        logger.debug("{} de {} aluno(s) atualizados para INATIVO (sem turmas)", atualizados, alunoIds.size());
+        return atualizados;
+    }
+}
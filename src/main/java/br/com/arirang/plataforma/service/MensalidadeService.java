@@ -1,12 +1,16 @@
 package br.com.arirang.plataforma.service;
 
 import br.com.arirang.plataforma.dto.MensalidadeDTO;
+import br.com.arirang.plataforma.dto.PaginaDTO;
+import br.com.arirang.plataforma.dto.ResumoParcelasDTO;
 import br.com.arirang.plataforma.entity.Parcela;
 import br.com.arirang.plataforma.entity.StatusParcela;
 import br.com.arirang.plataforma.repository.ParcelaRepository;
+import br.com.arirang.plataforma.util.PaginacaoUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -41,6 +45,18 @@ public class MensalidadeService {
         }
     }
 
+    /**
+     * Lista uma página de mensalidades com os status informados (mais recentes primeiro),
+     * continuando a partir do cursor da página anterior
+     */
+    public PaginaDTO<MensalidadeDTO> listarMensalidadesPagina(List<StatusParcela> statuses, String cursor, Integer tamanho) {
+        PaginacaoUtil.Cursor posicao = PaginacaoUtil.Cursor.decodificar(cursor);
+        Slice<Parcela> fatia = parcelaRepository.findPaginaPorStatus(statuses, posicao.data(), posicao.id(),
+                PaginacaoUtil.limite(tamanho));
+        return PaginaDTO.de(fatia, this::convertToDTO,
+                parcela -> PaginacaoUtil.Cursor.de(parcela.getDataVencimento(), parcela.getId()));
+    }
+
     /**
      * Lista mensalidades por status
      */
@@ -127,40 +143,48 @@ public class MensalidadeService {
 
     /**
      * Calcula estatísticas de mensalidades
+     * Os totais são agregados no banco (uma única consulta), sem carregar as parcelas
      */
     public java.util.Map<String, Object> calcularEstatisticasMensalidades() {
         try {
-            List<MensalidadeDTO> todas = listarTodasMensalidades();
-            List<MensalidadeDTO> pendentes = listarMensalidadesPorStatus(StatusParcela.PENDENTE);
-            List<MensalidadeDTO> pagas = listarMensalidadesPorStatus(StatusParcela.PAGA);
-            List<MensalidadeDTO> vencidas = listarMensalidadesVencidas();
+            List<ResumoParcelasDTO> resumo = parcelaRepository.resumirPorStatus(LocalDate.now());
             
-            // Para pendentes, usar valorParcela (sem juros/multa, pois ainda não venceu)
-            BigDecimal totalPendente = pendentes.stream()
-                    .map(m -> m.valorParcela() != null ? m.valorParcela() : BigDecimal.ZERO)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            long totalMensalidades = 0;
+            long totalPendentes = 0;
+            long totalPagas = 0;
+            long totalVencidas = 0;
+            BigDecimal totalPendente = BigDecimal.ZERO;
+            BigDecimal totalPago = BigDecimal.ZERO;
+            BigDecimal totalVencido = BigDecimal.ZERO;
             
-            // Para pagas, usar valorPago
-            BigDecimal totalPago = pagas.stream()
-                    .map(m -> m.valorPago() != null ? m.valorPago() : BigDecimal.ZERO)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-            
-            // Para vencidas, usar valorComJurosEMulta (inclui juros e multa)
-            BigDecimal totalVencido = vencidas.stream()
-                    .map(m -> {
-                        // Se tem valorComJurosEMulta calculado, usar ele, senão usar valorParcela
-                        if (m.valorComJurosEMulta() != null && m.valorComJurosEMulta().compareTo(BigDecimal.ZERO) > 0) {
-                            return m.valorComJurosEMulta();
-                        }
-                        return m.valorParcela() != null ? m.valorParcela() : BigDecimal.ZERO;
-                    })
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            for (ResumoParcelasDTO grupo : resumo) {
+                totalMensalidades += grupo.quantidade();
+                
+                // Para pendentes, usar valorParcela (sem juros/multa)
+                if (grupo.statusParcela() == StatusParcela.PENDENTE) {
+                    totalPendentes += grupo.quantidade();
+                    totalPendente = totalPendente.add(grupo.valorParcelas());
+                }
+                
+                // Para pagas, usar valorPago
+                if (grupo.statusParcela() == StatusParcela.PAGA) {
+                    totalPagas += grupo.quantidade();
+                    totalPago = totalPago.add(grupo.valorPago());
+                }
+                
+                // Para vencidas (pendentes ou em atraso), usar valorComJurosEMulta
+                if (grupo.vencida() && (grupo.statusParcela() == StatusParcela.PENDENTE
+                        || grupo.statusParcela() == StatusParcela.EM_ATRASO)) {
+                    totalVencidas += grupo.quantidade();
+                    totalVencido = totalVencido.add(grupo.valorComJurosEMulta());
+                }
+            }
             
             return java.util.Map.of(
-                    "totalMensalidades", todas.size(),
-                    "totalPendentes", pendentes.size(),
-                    "totalPagas", pagas.size(),
-                    "totalVencidas", vencidas.size(),
+                    "totalMensalidades", totalMensalidades,
+                    "totalPendentes", totalPendentes,
+                    "totalPagas", totalPagas,
+                    "totalVencidas", totalVencidas,
                     "valorTotalPendente", totalPendente,
                     "valorTotalPago", totalPago,
                     "valorTotalVencido", totalVencido
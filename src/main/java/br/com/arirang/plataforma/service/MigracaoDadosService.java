@@ -0,0 +1,172 @@
+package br.com.arirang.plataforma.service;
+
+import br.com.arirang.plataforma.entity.MigracaoDados;
+import br.com.arirang.plataforma.exception.BusinessException;
+import br.com.arirang.plataforma.repository.MigracaoDadosRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Execução de migrações de dados em lotes, com commit e checkpoint por lote.
+ *
+ * Os registros são percorridos por id crescente (paginação por chave, sem OFFSET). Cada lote
+ * é processado em uma transação própria, que também grava o checkpoint em MigracaoDados:
+ * os locks duram apenas um lote, a memória fica limitada ao lote e, se a execução cair,
+ * a próxima chamada continua do último lote confirmado. Uma migração concluída, se executada
+ * de novo, recomeça do início (as migrações devem ser idempotentes).
+ */
+@Service
+public class MigracaoDadosService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MigracaoDadosService.class);
+
+    public static final int TAMANHO_LOTE_PADRAO = 200;
+
+    @Autowired
+    private MigracaoDadosRepository migracaoDadosRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final Set<String> emExecucao = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Uma migração de dados; os métodos são chamados dentro da transação do lote
+     */
+    public interface Migracao {
+
+        String nome();
+
+        /**
+         * Próximos ids a processar, em ordem crescente, maiores que ultimoId
+         */
+        List<Long> buscarProximosIds(Long ultimoId, int limite);
+
+        ResultadoLote processarLote(List<Long> ids);
+    }
+
+    /**
+     * registrosAlterados: registros do lote alterados; itensAlterados: linhas dependentes alteradas
+     */
+    public record ResultadoLote(int registrosAlterados, int itensAlterados) {}
+
+    /**
+     * Executa (ou retoma) a migração. Não deve ser chamado dentro de uma transação,
+     * senão os lotes não são confirmados separadamente.
+     * @return o progresso registrado ao final da execução
+     */
+    public MigracaoDados executar(Migracao migracao, int tamanhoLote) {
+        String nome = migracao.nome();
+        if (!emExecucao.add(nome)) {
+            throw new BusinessException("A migração " + nome + " já está em execução");
+        }
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        try {
+            MigracaoDados progresso = transacao.execute(status -> iniciar(nome));
+            logger.info("Migração {} {} a partir do id {}", nome,
+                    progresso.getRegistrosProcessados() > 0 ? "retomada" : "iniciada", progresso.getUltimoIdProcessado());
+
+            long inicio = System.currentTimeMillis();
+            long processadosNestaExecucao = 0;
+            Long migracaoId = progresso.getId();
+            while (true) {
+                MigracaoDados lote = transacao.execute(status -> processarLote(migracao, migracaoId, tamanhoLote));
+                long processados = lote.getRegistrosProcessados() - progresso.getRegistrosProcessados();
+                if (processados == 0) {
+                    break;
+                }
+                processadosNestaExecucao += processados;
+                progresso = lote;
+                logger.info("Migração {}: {} registros processados (checkpoint id {}), {} registros/s", nome,
+                        progresso.getRegistrosProcessados(), progresso.getUltimoIdProcessado(),
+                        vazao(processadosNestaExecucao, System.currentTimeMillis() - inicio));
+            }
+
+            long duracaoMs = System.currentTimeMillis() - inicio;
+            long processadosTotal = processadosNestaExecucao;
+            MigracaoDados concluida = transacao.execute(status -> {
+                MigracaoDados m = migracaoDadosRepository.findById(migracaoId).orElseThrow();
+                m.setStatus("CONCLUIDA");
+                m.setDataFim(LocalDateTime.now());
+                m.setDuracaoMs(duracaoMs);
+                m.setRegistrosPorSegundo(vazao(processadosTotal, duracaoMs));
+                return migracaoDadosRepository.save(m);
+            });
+            logger.info("Migração {} concluída em {} ms: {} registros processados, {} alterados, {} itens alterados ({} registros/s)",
+                    nome, duracaoMs, concluida.getRegistrosProcessados(), concluida.getRegistrosAlterados(),
+                    concluida.getItensAlterados(), concluida.getRegistrosPorSegundo());
+            return concluida;
+        } catch (RuntimeException e) {
+            logger.error("Erro durante a migração {}: ", nome, e);
+            registrarFalha(transacao, nome, e);
+            throw new BusinessException("Erro na migração " + nome + " (será retomada do último lote concluído): " + e.getMessage());
+        } finally {
+            emExecucao.remove(nome);
+        }
+    }
+
+    private MigracaoDados iniciar(String nome) {
+        MigracaoDados progresso = migracaoDadosRepository.findByNome(nome).orElse(null);
+        if (progresso == null || "CONCLUIDA".equals(progresso.getStatus())) {
+            if (progresso == null) {
+                progresso = new MigracaoDados();
+                progresso.setNome(nome);
+            }
+            progresso.setUltimoIdProcessado(0L);
+            progresso.setRegistrosProcessados(0);
+            progresso.setRegistrosAlterados(0);
+            progresso.setItensAlterados(0);
+            progresso.setDataInicio(LocalDateTime.now());
+        }
+        progresso.setStatus("EM_EXECUCAO");
+        progresso.setDataAtualizacao(LocalDateTime.now());
+        progresso.setDataFim(null);
+        progresso.setMensagem(null);
+        return migracaoDadosRepository.save(progresso);
+    }
+
+    /**
+     * Processa o próximo lote e grava o checkpoint na mesma transação
+     */
+    private MigracaoDados processarLote(Migracao migracao, Long migracaoId, int tamanhoLote) {
+        MigracaoDados progresso = migracaoDadosRepository.findById(migracaoId).orElseThrow();
+        List<Long> ids = migracao.buscarProximosIds(progresso.getUltimoIdProcessado(), tamanhoLote);
+        if (ids.isEmpty()) {
+            return progresso;
+        }
+        ResultadoLote resultado = migracao.processarLote(ids);
+        progresso.setUltimoIdProcessado(ids.get(ids.size() - 1));
+        progresso.setRegistrosProcessados(progresso.getRegistrosProcessados() + ids.size());
+        progresso.setRegistrosAlterados(progresso.getRegistrosAlterados() + resultado.registrosAlterados());
+        progresso.setItensAlterados(progresso.getItensAlterados() + resultado.itensAlterados());
+        progresso.setDataAtualizacao(LocalDateTime.now());
+        return migracaoDadosRepository.save(progresso);
+    }
+
+    private void registrarFalha(TransactionTemplate transacao, String nome, RuntimeException erro) {
+        try {
+            transacao.executeWithoutResult(status -> migracaoDadosRepository.findByNome(nome).ifPresent(m -> {
+                m.setStatus("FALHOU");
+                m.setDataAtualizacao(LocalDateTime.now());
+                String mensagem = String.valueOf(erro.getMessage());
+                m.setMensagem(mensagem.length() > 500 ? mensagem.substring(0, 500) : mensagem);
+                migracaoDadosRepository.save(m);
+            }));
+        } catch (RuntimeException e) {
+            logger.error("Não foi possível registrar a falha da migração {}: {}", nome, e.getMessage());
+        }
+    }
+
+    private double vazao(long registros, long duracaoMs) {
+        return duracaoMs > 0 ? Math.round(registros * 1000.0 / duracaoMs * 100.0) / 100.0 : registros;
+    }
+}
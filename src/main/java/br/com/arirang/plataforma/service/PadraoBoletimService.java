@@ -6,6 +6,8 @@ import br.com.arirang.plataforma.entity.Turma;
 import br.com.arirang.plataforma.repository.PadraoBoletimRepository;
 import br.com.arirang.plataforma.repository.TurmaRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,6 +23,7 @@ public class PadraoBoletimService {
     private TurmaRepository turmaRepository;
     
     @Transactional
+    @CacheEvict(value = "padroesBoletim", key = "#turmaId")
     public PadraoBoletim salvarOuAtualizarPadrao(Long turmaId, PadraoBoletimDTO padraoDTO) {
         Turma turma = turmaRepository.findById(turmaId)
                 .orElseThrow(() -> new RuntimeException("Turma não encontrada com ID: " + turmaId));
@@ -49,18 +52,18 @@ public class PadraoBoletimService {
         return padraoBoletimRepository.save(padrao);
     }
     
+    /**
+     * Padrão da turma, lido a cada boletim criado; turmas sem padrão não ficam em cache
+     */
     @Transactional(readOnly = true)
+    @Cacheable(value = "padroesBoletim", key = "#turmaId", unless = "#result == null")
     public Optional<PadraoBoletimDTO> buscarPadraoPorTurmaId(Long turmaId) {
         return padraoBoletimRepository.findByTurmaId(turmaId)
                 .map(this::convertToDTO);
     }
     
-    @Transactional(readOnly = true)
-    public Optional<PadraoBoletim> buscarPadraoPorTurmaIdEntity(Long turmaId) {
-        return padraoBoletimRepository.findByTurmaId(turmaId);
-    }
-    
     @Transactional
+    @CacheEvict(value = "padroesBoletim", key = "#turmaId")
     public void deletarPadrao(Long turmaId) {
         padraoBoletimRepository.findByTurmaId(turmaId)
                 .ifPresent(padraoBoletimRepository::delete);
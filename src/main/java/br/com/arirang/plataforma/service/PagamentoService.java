@@ -1,7 +1,9 @@
 package br.com.arirang.plataforma.service;
 
 import br.com.arirang.plataforma.dto.PagamentoDTO;
+import br.com.arirang.plataforma.dto.PaginaDTO;
 import br.com.arirang.plataforma.dto.ReceitaDTO;
+import br.com.arirang.plataforma.dto.ResumoAgregadoDTO;
 import br.com.arirang.plataforma.entity.Pagamento;
 import br.com.arirang.plataforma.entity.Receita;
 import br.com.arirang.plataforma.exception.BusinessException;
@@ -11,19 +13,25 @@ import br.com.arirang.plataforma.mapper.ReceitaMapper;
 import br.com.arirang.plataforma.repository.PagamentoRepository;
 import br.com.arirang.plataforma.repository.ReceitaRepository;
 import br.com.arirang.plataforma.repository.ParcelaRepository;
+import br.com.arirang.plataforma.util.PaginacaoUtil;
 import br.com.arirang.plataforma.entity.Parcela;
 import br.com.arirang.plataforma.entity.StatusParcela;
+import br.com.arirang.plataforma.event.ParcelasAlteradasEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -53,6 +61,9 @@ public class PagamentoService {
     @Autowired
     private PagamentoSyncService pagamentoSyncService;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     /**
      * Lista todos os pagamentos
      */
@@ -65,6 +76,18 @@ public class PagamentoService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Lista uma página de pagamentos (mais recentes primeiro), continuando a partir do cursor
+     */
+    @Transactional(readOnly = true)
+    public PaginaDTO<PagamentoDTO> listarPagamentosPagina(String cursor, Integer tamanho) {
+        PaginacaoUtil.Cursor posicao = PaginacaoUtil.Cursor.decodificar(cursor);
+        Slice<Pagamento> fatia = pagamentoRepository.findPagina(posicao.data(), posicao.id(),
+                PaginacaoUtil.limite(tamanho));
+        return PaginaDTO.de(fatia, pagamentoMapper::toDto,
+                pagamento -> PaginacaoUtil.Cursor.de(pagamento.getDataPagamento(), pagamento.getId()));
+    }
+
     /**
      * Busca pagamento por ID
      */
@@ -198,16 +221,19 @@ public class PagamentoService {
     public java.util.Map<String, Object> calcularEstatisticasPagamentos() {
         java.util.Map<String, Object> estatisticas = new java.util.HashMap<>();
         
-        // Totais por forma de pagamento
+        // Total recebido no mês corrente
         estatisticas.put("totalDinheiro", pagamentoRepository.sumPagamentosPorPeriodo(LocalDate.now().withDayOfMonth(1), LocalDate.now()));
         estatisticas.put("totalPix", 0.0); // TODO: Implementar soma por forma de pagamento
         estatisticas.put("totalCartao", 0.0);
         
-        // Contadores
-        estatisticas.put("qtdDinheiro", pagamentoRepository.countPagamentosByFormaPagamento("DINHEIRO"));
-        estatisticas.put("qtdPix", pagamentoRepository.countPagamentosByFormaPagamento("PIX"));
-        estatisticas.put("qtdCartao", pagamentoRepository.countPagamentosByFormaPagamento("CARTAO_DEBITO") + 
-                                     pagamentoRepository.countPagamentosByFormaPagamento("CARTAO_CREDITO"));
+        // Contadores por forma de pagamento (uma única consulta agregada)
+        java.util.Map<String, Long> quantidades = pagamentoRepository.resumirPorFormaPagamento().stream()
+                .filter(r -> r.chave() != null)
+                .collect(Collectors.toMap(ResumoAgregadoDTO::chave, ResumoAgregadoDTO::quantidade));
+        estatisticas.put("qtdDinheiro", quantidades.getOrDefault("DINHEIRO", 0L));
+        estatisticas.put("qtdPix", quantidades.getOrDefault("PIX", 0L));
+        estatisticas.put("qtdCartao", quantidades.getOrDefault("CARTAO_DEBITO", 0L) +
+                                     quantidades.getOrDefault("CARTAO_CREDITO", 0L));
         
         return estatisticas;
     }
@@ -248,6 +274,7 @@ public class PagamentoService {
     public void sincronizarStatusParcelas() {
         logger.info("Iniciando sincronização de status das parcelas...");
         int parcelasAtualizadas = 0;
+        Set<Long> turmasAlteradas = new HashSet<>();
         
         try {
             // Buscar todas as receitas que têm pagamentos
@@ -294,6 +321,7 @@ public class PagamentoService {
                             }
                             parcelaRepository.save(parcela);
                             parcelasAtualizadas++;
+                            registrarTurmaAlterada(turmasAlteradas, receita);
                             logger.info("Parcela ID {} sincronizada: PENDENTE -> PAGA (Valor pago: R$ {})", 
                                        parcela.getId(), totalPago);
                         } else if (totalPago.compareTo(BigDecimal.ZERO) > 0) {
@@ -303,6 +331,7 @@ public class PagamentoService {
                                 parcela.setDataPagamento(pagamentos.get(0).getDataPagamento());
                             }
                             parcelaRepository.save(parcela);
+                            registrarTurmaAlterada(turmasAlteradas, receita);
                         }
                     }
                 } catch (Exception e) {
@@ -314,5 +343,15 @@ public class PagamentoService {
         } catch (Exception e) {
             logger.error("Erro ao sincronizar status das parcelas: ", e);
         }
+
+        // Um evento por turma afetada: o snapshot do dashboard é recalculado após o commit
+        turmasAlteradas.forEach(turmaId ->
+                eventPublisher.publishEvent(new ParcelasAlteradasEvent(turmaId, "sincronização de parcelas")));
+    }
+
+    private void registrarTurmaAlterada(Set<Long> turmasAlteradas, Receita receita) {
+        if (receita.getContrato().getTurma() != null) {
+            turmasAlteradas.add(receita.getContrato().getTurma().getId());
+        }
     }
 }
@@ -7,6 +7,7 @@ import br.com.arirang.plataforma.entity.Receita;
 import br.com.arirang.plataforma.entity.StatusParcela;
 import br.com.arirang.plataforma.entity.TipoMovimentoFinanceiro;
 import br.com.arirang.plataforma.entity.CategoriaFinanceira;
+import br.com.arirang.plataforma.event.ParcelasAlteradasEvent;
 import br.com.arirang.plataforma.exception.ResourceNotFoundException;
 import br.com.arirang.plataforma.repository.FinanceiroRepository;
 import br.com.arirang.plataforma.repository.PagamentoRepository;
@@ -15,6 +16,8 @@ import br.com.arirang.plataforma.repository.ReceitaRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
@@ -22,8 +25,11 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Executa sincronização pós-pagamento (parcela + dashboard) em nova transação.
@@ -34,6 +40,8 @@ public class PagamentoSyncService {
 
     private static final Logger logger = LoggerFactory.getLogger(PagamentoSyncService.class);
 
+    private static final String PREFIXO_CHAVE = "PAG-";
+
     @Autowired
     private ReceitaRepository receitaRepository;
 
@@ -46,6 +54,12 @@ public class PagamentoSyncService {
     @Autowired
     private FinanceiroRepository financeiroRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MigracaoDadosService migracaoDadosService;
+
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void sincronizarPosPagamentoEmNovaTransacao(Long receitaId, Long pagamentoId) {
         Receita receita = receitaRepository.findById(receitaId)
@@ -54,6 +68,50 @@ public class PagamentoSyncService {
                 .orElseThrow(() -> new ResourceNotFoundException("Pagamento não encontrado: " + pagamentoId));
         atualizarParcelaRelacionada(receita, pagamento);
         sincronizarPagamentoComDashboard(pagamento, receita);
+
+        if (receita.getContrato() != null && receita.getContrato().getTurma() != null) {
+            eventPublisher.publishEvent(new ParcelasAlteradasEvent(
+                    receita.getContrato().getTurma().getId(), "pagamento " + pagamentoId));
+        }
+    }
+
+    /**
+     * Copia o número do documento para a chave de idempotência dos movimentos de pagamento gravados
+     * antes dela, em lotes (MigracaoDadosService). Duplicatas antigas do mesmo pagamento ficam com a
+     * chave nula: a coluna é única e o primeiro movimento já identifica o pagamento.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void preencherChavesIdempotencia() {
+        if (financeiroRepository.countPagamentosSemChaveIdempotencia() == 0) {
+            return;
+        }
+        migracaoDadosService.executar(new MigracaoDadosService.Migracao() {
+            @Override
+            public String nome() {
+                return "financeiro-chave-idempotencia";
+            }
+
+            @Override
+            public List<Long> buscarProximosIds(Long ultimoId, int limite) {
+                return financeiroRepository.findIdsPagamentoSemChaveAposId(ultimoId, PageRequest.of(0, limite));
+            }
+
+            @Override
+            public MigracaoDadosService.ResultadoLote processarLote(List<Long> ids) {
+                Set<String> chaves = new HashSet<>();
+                int alterados = 0;
+                List<Financeiro> movimentos = financeiroRepository.findAllById(ids).stream()
+                        .sorted(Comparator.comparing(Financeiro::getId))
+                        .toList();
+                for (Financeiro movimento : movimentos) {
+                    if (chaves.add(movimento.getNumeroDocumento())) {
+                        movimento.setChaveIdempotencia(movimento.getNumeroDocumento());
+                        alterados++;
+                    }
+                }
+                return new MigracaoDadosService.ResultadoLote(alterados, 0);
+            }
+        }, MigracaoDadosService.TAMANHO_LOTE_PADRAO);
     }
 
     private void atualizarParcelaRelacionada(Receita receita, Pagamento pagamentoRegistrado) {
@@ -136,13 +194,9 @@ public class PagamentoSyncService {
                 return;
             }
 
-            List<Financeiro> movimentosExistentes = financeiroRepository.findAll()
-                    .stream()
-                    .filter(f -> f.getNumeroDocumento() != null &&
-                            f.getNumeroDocumento().equals("PAG-" + pagamento.getId()))
-                    .toList();
-
-            if (!movimentosExistentes.isEmpty()) {
+            // Consulta pela chave única; movimentos antigos recebem a chave em preencherChavesIdempotencia
+            String chave = PREFIXO_CHAVE + pagamento.getId();
+            if (financeiroRepository.existsByChaveIdempotencia(chave)) {
                 logger.info("Pagamento ID {} já possui movimento financeiro no dashboard", pagamento.getId());
                 return;
             }
@@ -163,7 +217,8 @@ public class PagamentoSyncService {
             }
 
             movimentoFinanceiro.setReferencia("PAGAMENTO-" + pagamento.getId());
-            movimentoFinanceiro.setNumeroDocumento("PAG-" + pagamento.getId());
+            movimentoFinanceiro.setNumeroDocumento(chave);
+            movimentoFinanceiro.setChaveIdempotencia(chave);
             movimentoFinanceiro.setObservacoes("Pagamento registrado - Forma: " + pagamento.getFormaPagamento() +
                     (pagamento.getObservacoes() != null ? " - " + pagamento.getObservacoes() : ""));
             movimentoFinanceiro.setConfirmado(true);
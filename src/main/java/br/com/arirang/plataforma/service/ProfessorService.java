@@ -10,6 +10,9 @@ import br.com.arirang.plataforma.repository.TurmaRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -60,6 +63,7 @@ public class ProfessorService {
     }
 
     @Transactional
+    @CacheEvict(value = "professoresLista", allEntries = true)
     public Professor criarProfessor(ProfessorDTO professorDTO) {
         try {
             Professor professor = new Professor();
@@ -99,6 +103,11 @@ public class ProfessorService {
     }
 
     @Transactional
+    // turmasLista: os resumos das turmas trazem o nome do professor responsável
+    @Caching(evict = {
+            @CacheEvict(value = "professoresLista", allEntries = true),
+            @CacheEvict(value = "turmasLista", key = "'todas'")
+    })
     public Professor atualizarProfessor(Long id, ProfessorDTO professorDTO) {
         try {
             Professor professor = professorRepository.findByIdWithTurma(id)
@@ -140,6 +149,10 @@ public class ProfessorService {
     }
 
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = "professoresLista", allEntries = true),
+            @CacheEvict(value = "turmasLista", key = "'todas'")
+    })
     public void deletarProfessor(Long id) {
         try {
             Professor professor = professorRepository.findById(id)
@@ -165,7 +178,11 @@ public class ProfessorService {
         }
     }
 
+    /**
+     * Lista usada nos formulários de turma; invalidada quando professores ou turmas mudam
+     */
     @Transactional(readOnly = true)
+    @Cacheable(value = "professoresLista")
     public List<ProfessorDTO> listarTodosProfessoresAsDTO() {
         try {
             return professorRepository.findAllWithTurma().stream()
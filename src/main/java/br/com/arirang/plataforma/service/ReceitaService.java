@@ -1,7 +1,9 @@
 package br.com.arirang.plataforma.service;
 
 import br.com.arirang.plataforma.dto.ContratoDTO;
+import br.com.arirang.plataforma.dto.PaginaDTO;
 import br.com.arirang.plataforma.dto.ReceitaDTO;
+import br.com.arirang.plataforma.dto.ResumoAgregadoDTO;
 import br.com.arirang.plataforma.entity.Aluno;
 import br.com.arirang.plataforma.entity.Contrato;
 import br.com.arirang.plataforma.entity.Receita;
@@ -10,9 +12,11 @@ import br.com.arirang.plataforma.exception.ResourceNotFoundException;
 import br.com.arirang.plataforma.mapper.ReceitaMapper;
 import br.com.arirang.plataforma.repository.ReceitaRepository;
 import br.com.arirang.plataforma.repository.ContratoRepository;
+import br.com.arirang.plataforma.util.PaginacaoUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -57,6 +61,18 @@ public class ReceitaService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Lista uma página de receitas por vencimento, continuando a partir do cursor
+     */
+    @Transactional(readOnly = true)
+    public PaginaDTO<ReceitaDTO> listarReceitasPagina(String cursor, Integer tamanho) {
+        PaginacaoUtil.Cursor posicao = PaginacaoUtil.Cursor.decodificar(cursor);
+        Slice<Receita> fatia = receitaRepository.findPagina(posicao.data(), posicao.id(),
+                PaginacaoUtil.limite(tamanho));
+        return PaginaDTO.de(fatia, receitaMapper::toDto,
+                receita -> PaginacaoUtil.Cursor.de(receita.getDataVencimento(), receita.getId()));
+    }
+
     /**
      * Busca receita por ID
      */
@@ -253,15 +269,19 @@ public class ReceitaService {
     public java.util.Map<String, Object> calcularEstatisticasFinanceiras() {
         java.util.Map<String, Object> estatisticas = new java.util.HashMap<>();
         
-        // Valores por situação
-        estatisticas.put("totalPendente", receitaRepository.sumReceitasBySituacao("PENDENTE").orElse(0.0));
-        estatisticas.put("totalPago", receitaRepository.sumReceitasBySituacao("PAGO").orElse(0.0));
-        estatisticas.put("totalVencido", receitaRepository.sumReceitasBySituacao("VENCIDO").orElse(0.0));
+        // Valores e contadores por situação (uma única consulta agregada)
+        java.util.Map<String, ResumoAgregadoDTO> porSituacao = receitaRepository.resumirPorSituacao().stream()
+                .filter(r -> r.chave() != null)
+                .collect(Collectors.toMap(ResumoAgregadoDTO::chave, r -> r));
+        ResumoAgregadoDTO vazio = new ResumoAgregadoDTO(null, 0L, BigDecimal.ZERO);
+        
+        estatisticas.put("totalPendente", porSituacao.getOrDefault("PENDENTE", vazio).valorTotal().doubleValue());
+        estatisticas.put("totalPago", porSituacao.getOrDefault("PAGO", vazio).valorTotal().doubleValue());
+        estatisticas.put("totalVencido", porSituacao.getOrDefault("VENCIDO", vazio).valorTotal().doubleValue());
         
-        // Contadores por situação
-        estatisticas.put("qtdPendente", receitaRepository.countReceitasBySituacao("PENDENTE"));
-        estatisticas.put("qtdPago", receitaRepository.countReceitasBySituacao("PAGO"));
-        estatisticas.put("qtdVencido", receitaRepository.countReceitasBySituacao("VENCIDO"));
+        estatisticas.put("qtdPendente", porSituacao.getOrDefault("PENDENTE", vazio).quantidade());
+        estatisticas.put("qtdPago", porSituacao.getOrDefault("PAGO", vazio).quantidade());
+        estatisticas.put("qtdVencido", porSituacao.getOrDefault("VENCIDO", vazio).quantidade());
         
         return estatisticas;
     }
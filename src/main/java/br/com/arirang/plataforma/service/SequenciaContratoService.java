@@ -0,0 +1,95 @@
+package br.com.arirang.plataforma.service;
+
+import br.com.arirang.plataforma.exception.BusinessException;
+import br.com.arirang.plataforma.repository.ContratoRepository;
+import br.com.arirang.plataforma.repository.SequenciaContratoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Numeração sequencial dos contratos por mês (CTRYYYYMM####).
+ *
+ * Cada mês tem uma linha em sequencias_contrato; o número é reservado com um UPDATE atômico
+ * (ultimo_numero + 1) e lido de volta na mesma transação. O lock da linha serializa apenas
+ * a emissão de números do mês, inclusive entre instâncias da aplicação, e vale até o commit
+ * do contrato: se a criação falhar, o número volta a ficar livre e a numeração não tem buracos.
+ */
+@Service
+public class SequenciaContratoService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SequenciaContratoService.class);
+
+    private static final String PREFIXO = "CTR";
+    private static final int NUMERO_MAXIMO = 9999;
+    private static final DateTimeFormatter FORMATO_PERIODO = DateTimeFormatter.ofPattern("yyyyMM");
+
+    @Autowired
+    private SequenciaContratoRepository sequenciaContratoRepository;
+
+    @Autowired
+    private ContratoRepository contratoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Reserva o próximo número de contrato do mês atual.
+     * Deve ser chamado na transação que grava o contrato.
+     */
+    @Transactional
+    public String proximoNumeroContrato() {
+        String periodo = YearMonth.now().format(FORMATO_PERIODO);
+
+        if (sequenciaContratoRepository.incrementar(periodo) == 0) {
+            inicializarPeriodo(periodo);
+            sequenciaContratoRepository.incrementar(periodo);
+        }
+
+        int numero = sequenciaContratoRepository.findUltimoNumero(periodo);
+        if (numero > NUMERO_MAXIMO) {
+            throw new BusinessException("Limite de contratos do mês atingido (" + NUMERO_MAXIMO + "). Não é possível gerar mais números.");
+        }
+
+        String numeroContrato = String.format("%s%s%04d", PREFIXO, periodo, numero);
+        logger.debug("Número de contrato gerado: {}", numeroContrato);
+        return numeroContrato;
+    }
+
+    /**
+     * Cria a linha do mês partindo do maior número já usado nos contratos (meses anteriores à
+     * sequência ou contratos gravados antes dela). Se outra transação criar a linha ao mesmo
+     * tempo, a chave duplicada é ignorada e o incremento seguinte usa a linha dela.
+     */
+    private void inicializarPeriodo(String periodo) {
+        String prefixo = PREFIXO + periodo;
+        int ultimoNumero = extrairSequencial(contratoRepository.findMaiorNumeroContratoByPrefixo(prefixo + "%"), prefixo);
+        try {
+            jdbcTemplate.update("INSERT INTO sequencias_contrato (periodo, ultimo_numero) VALUES (?, ?)",
+                    periodo, ultimoNumero);
+            logger.info("Sequência de contratos iniciada para {} a partir de {}", periodo, ultimoNumero);
+        } catch (DuplicateKeyException e) {
+            logger.debug("Sequência de contratos de {} criada por outra transação", periodo);
+        }
+    }
+
+    private int extrairSequencial(String numero, String prefixo) {
+        // CTR + 4 ano + 2 mês + 4 sequencial
+        if (numero == null || numero.length() != prefixo.length() + 4 || !numero.startsWith(prefixo)) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(numero.substring(prefixo.length()));
+        } catch (NumberFormatException e) {
+            logger.warn("Número de contrato com formato inválido ignorado: {}", numero);
+            return 0;
+        }
+    }
+}
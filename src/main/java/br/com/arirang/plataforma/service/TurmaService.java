@@ -1,10 +1,13 @@
 package br.com.arirang.plataforma.service;
 
 import br.com.arirang.plataforma.dto.TurmaDTO;
+import br.com.arirang.plataforma.dto.HistoricoAlteracaoTurmaDTO;
+import br.com.arirang.plataforma.dto.PaginaDTO;
+import br.com.arirang.plataforma.dto.TurmaResumoDTO;
+import br.com.arirang.plataforma.dto.TurmaSugestaoDTO;
 import br.com.arirang.plataforma.entity.Aluno;
 import br.com.arirang.plataforma.entity.Boletim;
 import br.com.arirang.plataforma.entity.Turma;
-import br.com.arirang.plataforma.entity.AuditoriaTurma;
 import br.com.arirang.plataforma.exception.BusinessException;
 import br.com.arirang.plataforma.exception.ResourceNotFoundException;
 import br.com.arirang.plataforma.entity.Professor;
@@ -14,6 +17,8 @@ import br.com.arirang.plataforma.repository.ProfessorRepository;
 import br.com.arirang.plataforma.repository.TurmaRepository;
 import br.com.arirang.plataforma.repository.ContratoRepository;
 import br.com.arirang.plataforma.service.AuditoriaTurmaService;
+import br.com.arirang.plataforma.util.BuscaUtil;
+import br.com.arirang.plataforma.util.PaginacaoUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,7 +26,11 @@ import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collections;
@@ -34,6 +43,9 @@ public class TurmaService {
 
     private static final Logger logger = LoggerFactory.getLogger(TurmaService.class);
 
+    private static final int SUGESTOES_PADRAO = 10;
+    private static final int SUGESTOES_MAXIMO = 20;
+
     @Autowired
     private TurmaRepository turmaRepository;
 
@@ -52,9 +64,16 @@ public class TurmaService {
     @Autowired
     private AuditoriaTurmaService auditoriaTurmaService;
 
+    @Autowired
+    private MigracaoDadosService migracaoDadosService;
+
+    @Autowired
+    private ManutencaoCadastroService manutencaoCadastroService;
+
     @Transactional
     @Caching(evict = {
-            @CacheEvict(value = "turmasLista", allEntries = true)
+            @CacheEvict(value = "turmasLista", key = "'todas'"),
+            @CacheEvict(value = "professoresLista", allEntries = true)
     }, put = {
             @CachePut(value = "turmasPorId", key = "#result.id")
     })
@@ -122,8 +141,9 @@ public class TurmaService {
 
     @Transactional
     @Caching(evict = {
-            @CacheEvict(value = "turmasLista", allEntries = true),
-            @CacheEvict(value = "turmasPorId", key = "#id")
+            @CacheEvict(value = "turmasLista", key = "'todas'"),
+            @CacheEvict(value = "turmasPorId", key = "#id"),
+            @CacheEvict(value = "professoresLista", allEntries = true)
     })
     public Turma atualizarTurma(Long id, TurmaDTO turmaDTO) {
         try {
@@ -301,22 +321,8 @@ public class TurmaService {
             
             updatedTurma = turmaRecarregada;
             
-            // Atualizar status dos alunos que foram removidos da turma
-            if (!alunosRemovidos.isEmpty()) {
-                for (Aluno alunoRemovido : alunosRemovidos) {
-                    // Recarregar aluno com turmas atualizadas
-                    Optional<Aluno> alunoAtualizado = alunoRepository.findByIdWithTurmasAndResponsavel(alunoRemovido.getId());
-                    if (alunoAtualizado.isPresent()) {
-                        Aluno alunoComTurmas = alunoAtualizado.get();
-                        // Se não tem mais turmas, atualizar para INATIVO
-                        if (alunoComTurmas.getTurmas() == null || alunoComTurmas.getTurmas().isEmpty()) {
-                            alunoComTurmas.setSituacao("INATIVO");
-                            alunoRepository.save(alunoComTurmas);
-                            logger.debug("Aluno ID {} atualizado para INATIVO após ser removido da turma ID {}", alunoRemovido.getId(), id);
-                        }
-                    }
-                }
-            }
+            // Alunos removidos da turma que ficaram sem nenhuma turma passam a INATIVO
+            manutencaoCadastroService.inativarAlunosSemTurmas(alunosRemovidos.stream().map(Aluno::getId).toList());
             
             // Log detalhado após atualização
             logger.info("Turma atualizada com ID: {} - Nome: {} - Nível: {} - Turno: {} - Formato: {} - Modalidade: {} - Situação: {} - Alunos: {}", 
@@ -340,8 +346,9 @@ public class TurmaService {
 
     @Transactional
     @Caching(evict = {
-            @CacheEvict(value = "turmasLista", allEntries = true),
-            @CacheEvict(value = "turmasPorId", key = "#id")
+            @CacheEvict(value = "turmasLista", key = "'todas'"),
+            @CacheEvict(value = "turmasPorId", key = "#id"),
+            @CacheEvict(value = "professoresLista", allEntries = true)
     })
     public void deletarTurma(Long id) {
         try {
@@ -365,8 +372,10 @@ public class TurmaService {
                 boletimRepository.flush(); // Garantir que os boletins sejam deletados antes de deletar a turma
             }
             
-            // Salvar lista de alunos antes de remover associações para atualizar status depois
-            List<Aluno> alunosAfetados = turma.getAlunos() != null ? new java.util.ArrayList<>(turma.getAlunos()) : new java.util.ArrayList<>();
+            // Salvar ids dos alunos antes de remover associações para atualizar status depois
+            List<Long> alunosAfetados = turma.getAlunos() != null
+                    ? turma.getAlunos().stream().map(Aluno::getId).toList()
+                    : Collections.emptyList();
             
             // Remover associações com alunos
             turma.getAlunos().clear();
@@ -377,22 +386,8 @@ public class TurmaService {
             turmaRepository.deleteById(id);
             turmaRepository.flush(); // Garantir que a turma seja deletada
             
-            // Atualizar status dos alunos que perderam a turma
-            if (!alunosAfetados.isEmpty()) {
-                for (Aluno aluno : alunosAfetados) {
-                    // Recarregar aluno com turmas atualizadas
-                    Optional<Aluno> alunoAtualizado = alunoRepository.findByIdWithTurmasAndResponsavel(aluno.getId());
-                    if (alunoAtualizado.isPresent()) {
-                        Aluno alunoComTurmas = alunoAtualizado.get();
-                        // Se não tem mais turmas, atualizar para INATIVO
-                        if (alunoComTurmas.getTurmas() == null || alunoComTurmas.getTurmas().isEmpty()) {
-                            alunoComTurmas.setSituacao("INATIVO");
-                            alunoRepository.save(alunoComTurmas);
-                            logger.debug("Aluno ID {} atualizado para INATIVO após deletar turma ID {}", aluno.getId(), id);
-                        }
-                    }
-                }
-            }
+            // Alunos que ficaram sem nenhuma turma passam a INATIVO (um único UPDATE)
+            manutencaoCadastroService.inativarAlunosSemTurmas(alunosAfetados);
             
             logger.info("Turma deletada com sucesso - ID: {}, {} boletins foram deletados, {} alunos afetados", 
                     id, boletins != null ? boletins.size() : 0, alunosAfetados.size());
@@ -406,8 +401,27 @@ public class TurmaService {
         }
     }
 
+    /**
+     * Resumo de todas as turmas (listagem de turmas e seletores de turma), em cache.
+     * O cache guarda apenas os resumos imutáveis, não as entidades com alunos e professor;
+     * é descartado quando uma turma é criada, alterada, excluída, fechada ou reaberta.
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(value = "turmasLista", key = "'todas'")
+    public List<TurmaResumoDTO> listarResumoTurmas() {
+        try {
+            return turmaRepository.findAllResumos();
+        } catch (Exception e) {
+            logger.error("Erro ao listar resumo das turmas: ", e);
+            throw new BusinessException("Erro ao listar turmas: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Todas as turmas com alunos e professor (sem cache); para listagens que só precisam
+     * de nome, nível ou situação, usar listarResumoTurmas
+     */
     @Transactional(readOnly = true)
-    @Cacheable(value = "turmasLista")
     public List<Turma> listarTodasTurmas() {
         try {
             // Usar findAllWithAlunos para garantir que professor e alunos sejam carregados
@@ -457,6 +471,81 @@ public class TurmaService {
         }
     }
 
+    /**
+     * Lista uma página de turmas (ordem de cadastro), continuando a partir do cursor.
+     * Pagina primeiro os ids e só então carrega alunos e professor da página.
+     */
+    @Transactional(readOnly = true)
+    public PaginaDTO<Turma> listarTurmasPagina(String cursor, Integer tamanho) {
+        PaginacaoUtil.Cursor posicao = PaginacaoUtil.Cursor.decodificar(cursor);
+        Slice<Long> ids = turmaRepository.findPaginaIds(posicao.id(), PaginacaoUtil.limite(tamanho));
+        List<Turma> turmas = ids.isEmpty()
+                ? Collections.emptyList()
+                : turmaRepository.findAllWithAlunosByIdIn(ids.getContent());
+        return PaginaDTO.de(new SliceImpl<>(turmas, ids.getPageable(), ids.hasNext()),
+                turma -> turma, turma -> PaginacaoUtil.Cursor.de(turma.getId()));
+    }
+
+    /**
+     * Busca de turmas no banco, paginada por cursor: o termo é normalizado (sem acentos, minúsculas)
+     * e comparado com a coluna termo_busca (nome, nível, turno, formato e modalidade); um termo
+     * numérico também encontra a turma com esse id. A página é montada com os resumos das turmas.
+     */
+    @Transactional(readOnly = true)
+    public PaginaDTO<TurmaResumoDTO> buscarTurmas(String termo, String cursor, Integer tamanho) {
+        PaginacaoUtil.Cursor posicao = PaginacaoUtil.Cursor.decodificar(cursor);
+        String termoNormalizado = BuscaUtil.escaparLike(BuscaUtil.normalizar(termo));
+        Long idBuscado = termo != null && termo.trim().matches("\\d{1,18}") ? Long.valueOf(termo.trim()) : null;
+        Slice<Long> ids = turmaRepository.buscarIds(termoNormalizado, idBuscado, posicao.id(), PaginacaoUtil.limite(tamanho));
+        List<TurmaResumoDTO> turmas = ids.isEmpty()
+                ? Collections.emptyList()
+                : turmaRepository.findResumosByIdIn(ids.getContent());
+        return PaginaDTO.de(new SliceImpl<>(turmas, ids.getPageable(), ids.hasNext()),
+                turma -> turma, turma -> PaginacaoUtil.Cursor.de(turma.id()));
+    }
+
+    /**
+     * Autocompletar: turmas cujo nome começa com o prefixo digitado (sem acentos, minúsculas)
+     */
+    @Transactional(readOnly = true)
+    public List<TurmaSugestaoDTO> sugerirTurmas(String prefixo, Integer limite) {
+        String prefixoNormalizado = BuscaUtil.normalizar(prefixo);
+        if (prefixoNormalizado.isEmpty()) {
+            return Collections.emptyList();
+        }
+        int tamanho = Math.min(limite != null && limite > 0 ? limite : SUGESTOES_PADRAO, SUGESTOES_MAXIMO);
+        return turmaRepository.findSugestoes(BuscaUtil.escaparLike(prefixoNormalizado), PageRequest.of(0, tamanho));
+    }
+
+    /**
+     * Preenche as colunas de busca das turmas cadastradas antes delas, em lotes (MigracaoDadosService).
+     * As turmas gravadas depois disso mantêm as colunas atualizadas pelo próprio mapeamento (Turma).
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void preencherCamposBusca() {
+        if (!turmaRepository.existsByTermoBuscaIsNull()) {
+            return;
+        }
+        migracaoDadosService.executar(new MigracaoDadosService.Migracao() {
+            @Override
+            public String nome() {
+                return "turmas-campos-busca";
+            }
+
+            @Override
+            public List<Long> buscarProximosIds(Long ultimoId, int limite) {
+                return turmaRepository.findIdsSemTermoBuscaAposId(ultimoId, PageRequest.of(0, limite));
+            }
+
+            @Override
+            public MigracaoDadosService.ResultadoLote processarLote(List<Long> ids) {
+                List<Turma> turmas = turmaRepository.findAllById(ids);
+                turmas.forEach(Turma::atualizarCamposBusca);
+                return new MigracaoDadosService.ResultadoLote(turmas.size(), 0);
+            }
+        }, MigracaoDadosService.TAMANHO_LOTE_PADRAO);
+    }
+
     @Transactional(readOnly = true)
     public List<Turma> listarTodasTurmasComAlunos() {
         try {
@@ -581,8 +670,9 @@ public class TurmaService {
      */
     @Transactional
     @Caching(evict = {
-            @CacheEvict(value = "turmasLista", allEntries = true),
-            @CacheEvict(value = "turmasPorId", key = "#id")
+            @CacheEvict(value = "turmasLista", key = "'todas'"),
+            @CacheEvict(value = "turmasPorId", key = "#id"),
+            @CacheEvict(value = "professoresLista", allEntries = true)
     })
     public Turma atualizarTurmaProtegida(Long id, TurmaDTO turmaDTO, String usuario, String justificativa, jakarta.servlet.http.HttpServletRequest request) {
         try {
@@ -635,7 +725,7 @@ public class TurmaService {
             // Registrar auditoria (não deve causar rollback se falhar)
             boolean auditoriaRegistrada = false;
             try {
-                AuditoriaTurma auditoria = auditoriaTurmaService.registrarAlteracao(
+                String protocolo = auditoriaTurmaService.registrarAlteracao(
                     id,
                     estadoAnterior,
                     estadoPosterior,
@@ -643,7 +733,7 @@ public class TurmaService {
                     justificativa.trim(),
                     request
                 );
-                auditoriaRegistrada = (auditoria != null);
+                auditoriaRegistrada = (protocolo != null);
                 if (!auditoriaRegistrada) {
                     logger.warn("Auditoria não foi registrada para turma ID {}, mas a atualização continuará", id);
                 }
@@ -687,24 +777,18 @@ public class TurmaService {
     }
     
     /**
-     * Gera protocolo de alteração (usado para exibição)
-     */
-    public String gerarProtocoloAlteracao(Long turmaId, String usuario) {
-        return auditoriaTurmaService.gerarProtocolo(turmaId, usuario);
-    }
-    
-    /**
-     * Busca histórico de alterações
+     * Busca histórico de alterações (paginado por cursor)
      */
     @Transactional(readOnly = true)
-    public java.util.List<br.com.arirang.plataforma.entity.AuditoriaTurma> buscarHistoricoAlteracoes(Long turmaId) {
-        return auditoriaTurmaService.buscarHistorico(turmaId);
+    public PaginaDTO<HistoricoAlteracaoTurmaDTO> buscarHistoricoAlteracoes(Long turmaId, String cursor, Integer tamanho) {
+        return auditoriaTurmaService.buscarHistorico(turmaId, cursor, tamanho);
     }
 
     @Transactional
     @Caching(evict = {
-            @CacheEvict(value = "turmasLista", allEntries = true),
-            @CacheEvict(value = "turmasPorId", key = "#id")
+            @CacheEvict(value = "turmasLista", key = "'todas'"),
+            @CacheEvict(value = "turmasPorId", key = "#id"),
+            @CacheEvict(value = "professoresLista", allEntries = true)
     }, put = {
             @CachePut(value = "turmasPorId", key = "#id")
     })
@@ -737,8 +821,9 @@ public class TurmaService {
 
     @Transactional
     @Caching(evict = {
-            @CacheEvict(value = "turmasLista", allEntries = true),
-            @CacheEvict(value = "turmasPorId", key = "#id")
+            @CacheEvict(value = "turmasLista", key = "'todas'"),
+            @CacheEvict(value = "turmasPorId", key = "#id"),
+            @CacheEvict(value = "professoresLista", allEntries = true)
     }, put = {
             @CachePut(value = "turmasPorId", key = "#id")
     })
@@ -0,0 +1,52 @@
+package br.com.arirang.plataforma.util;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Normalização de texto para as colunas de busca: sem acentos, em minúsculas e com
+ * espaços simples. O termo digitado passa pela mesma normalização, de modo que a
+ * comparação no banco (LIKE) não depende de collation nem de funções por linha.
+ */
+public class BuscaUtil {
+
+    private static final Pattern DIACRITICOS = Pattern.compile("\\p{M}+");
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+
+    private BuscaUtil() {
+    }
+
+    /**
+     * "Coreano Básico  - Manhã" -> "coreano basico - manha"; null ou vazio -> ""
+     */
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String semAcentos = DIACRITICOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return ESPACOS.matcher(semAcentos.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /**
+     * Junta os textos normalizados (ignorando os vazios) em um único termo de busca
+     */
+    public static String termo(String... textos) {
+        return Arrays.stream(textos)
+                .filter(Objects::nonNull)
+                .map(BuscaUtil::normalizar)
+                .filter(texto -> !texto.isEmpty())
+                .collect(Collectors.joining(" "));
+    }
+
+    /**
+     * Escapa os curingas do LIKE (% e _) no termo digitado; as consultas usam ESCAPE '!'
+     * (a barra invertida é caractere de escape nas strings do MySQL)
+     */
+    public static String escaparLike(String termo) {
+        return termo.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+}
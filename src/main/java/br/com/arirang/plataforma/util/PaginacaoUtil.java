@@ -0,0 +1,87 @@
+package br.com.arirang.plataforma.util;
+
+import br.com.arirang.plataforma.exception.BusinessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Paginação por chave (keyset): cada página continua a partir da última chave lida
+ * (cursor), sem OFFSET, com custo constante independente da posição na listagem.
+ */
+public class PaginacaoUtil {
+
+    public static final int TAMANHO_PADRAO = 50;
+    public static final int TAMANHO_MAXIMO = 200;
+
+    private static final String SEPARADOR = "_";
+
+    private PaginacaoUtil() {
+    }
+
+    /**
+     * Limite da consulta: sempre a primeira "página" a partir do cursor, com o tamanho normalizado
+     */
+    public static Pageable limite(Integer tamanho) {
+        return PageRequest.of(0, normalizarTamanho(tamanho));
+    }
+
+    /**
+     * Aplica o tamanho padrão quando ausente e o máximo permitido por requisição
+     */
+    public static int normalizarTamanho(Integer tamanho) {
+        if (tamanho == null || tamanho <= 0) {
+            return TAMANHO_PADRAO;
+        }
+        return Math.min(tamanho, TAMANHO_MAXIMO);
+    }
+
+    /**
+     * Última chave lida: data (opcional) + id, codificada como "2024-05-10_123" ou "123"
+     */
+    public record Cursor(LocalDate data, Long id) {
+
+        public static Cursor inicio() {
+            return new Cursor(null, null);
+        }
+
+        public static Cursor de(Long id) {
+            return new Cursor(null, id);
+        }
+
+        public static Cursor de(LocalDate data, Long id) {
+            return new Cursor(data, id);
+        }
+
+        public static Cursor decodificar(String valor) {
+            if (valor == null || valor.trim().isEmpty()) {
+                return inicio();
+            }
+            try {
+                String[] partes = valor.trim().split(SEPARADOR);
+                if (partes.length == 1) {
+                    return new Cursor(null, Long.valueOf(partes[0]));
+                }
+                if (partes.length == 2) {
+                    return new Cursor(LocalDate.parse(partes[0]), Long.valueOf(partes[1]));
+                }
+            } catch (NumberFormatException | DateTimeParseException e) {
+                // tratado abaixo
+            }
+            throw new BusinessException("Cursor de paginação inválido: " + valor);
+        }
+
+        public boolean isInicio() {
+            return id == null;
+        }
+
+        public String codificar() {
+            if (id == null) {
+                return null;
+            }
+            return data != null ? data + SEPARADOR + id : String.valueOf(id);
+        }
+    }
+}
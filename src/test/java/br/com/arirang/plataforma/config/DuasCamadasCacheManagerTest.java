@@ -0,0 +1,223 @@
+package br.com.arirang.plataforma.config;
+
+import br.com.arirang.plataforma.dto.TurmaResumoDTO;
+import br.com.arirang.plataforma.enums.Formato;
+import br.com.arirang.plataforma.enums.Modalidade;
+import br.com.arirang.plataforma.enums.Turno;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.CacheStatistics;
+import org.springframework.data.redis.cache.CacheStatisticsCollector;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Duas instâncias do DuasCamadasCacheManager compartilhando um Redis local simulado em memória:
+ * o armazenamento (RedisCacheWriter por bytes, com o serializador JSON de RedisCacheConfig)
+ * e o canal de pub/sub (entrega a todos os assinantes, inclusive ao próprio publicador).
+ */
+class DuasCamadasCacheManagerTest {
+
+    private static final String CACHE = "turmasLista";
+
+    private RedisEmMemoria redis;
+    private DuasCamadasCacheManager instanciaA;
+    private DuasCamadasCacheManager instanciaB;
+
+    @BeforeEach
+    void setUp() {
+        redis = new RedisEmMemoria();
+        instanciaA = novaInstancia();
+        instanciaB = novaInstancia();
+    }
+
+    @Test
+    void missLocalBuscaNoRedisEGuardaNoL1() {
+        instanciaA.getCache(CACHE).put("todas", "Turma A1");
+        int leiturasAntes = redis.leituras.get();
+
+        Cache cacheB = instanciaB.getCache(CACHE);
+        assertEquals("Turma A1", cacheB.get("todas", String.class));
+        assertEquals(leiturasAntes + 1, redis.leituras.get());
+
+        // Segunda leitura servida pelo L1, sem ida ao Redis
+        assertEquals("Turma A1", cacheB.get("todas", String.class));
+        assertEquals(leiturasAntes + 1, redis.leituras.get());
+    }
+
+    @Test
+    void listaDeRecordsVoltaDoRedisComOsTiposOriginais() {
+        List<TurmaResumoDTO> turmas = List.of(
+                new TurmaResumoDTO(1L, "Coreano Básico 1", "Coreano", "Básico", Turno.MATUTINO, Formato.PRESENCIAL,
+                        Modalidade.REGULAR, "ATIVA", null, 7L, "Professora Kim"),
+                new TurmaResumoDTO(2L, "Coreano Intermediário", "Coreano", "Intermediário", null, null,
+                        null, "ATIVA", "calendario.pdf", null, null));
+        instanciaA.getCache(CACHE).put("todas", turmas);
+
+        // B não tem a entrada no L1: o valor é desserializado dos bytes gravados por A
+        Object lido = instanciaB.getCache(CACHE).get("todas").get();
+        assertEquals(turmas, lido);
+        assertInstanceOf(TurmaResumoDTO.class, ((List<?>) lido).get(0));
+    }
+
+    @Test
+    void escritaEmUmaInstanciaInvalidaOL1DaOutra() {
+        instanciaA.getCache(CACHE).put("todas", "versão 1");
+        assertEquals("versão 1", instanciaB.getCache(CACHE).get("todas", String.class));
+
+        instanciaA.getCache(CACHE).put("todas", "versão 2");
+
+        // Sem a invalidação, B continuaria servindo "versão 1" do seu L1
+        assertEquals("versão 2", instanciaB.getCache(CACHE).get("todas", String.class));
+    }
+
+    @Test
+    void remocaoELimpezaPropagamParaAsOutrasInstancias() {
+        Cache cacheA = instanciaA.getCache(CACHE);
+        cacheA.put("todas", "Turma A1");
+        cacheA.put("ativas", "Turma A2");
+        Cache cacheB = instanciaB.getCache(CACHE);
+        assertNotNull(cacheB.get("todas"));
+        assertNotNull(cacheB.get("ativas"));
+
+        cacheA.evict("todas");
+        assertNull(cacheB.get("todas"));
+        assertEquals("Turma A2", cacheB.get("ativas", String.class));
+
+        cacheA.clear();
+        assertNull(cacheB.get("ativas"));
+    }
+
+    @Test
+    void propriaMensagemNaoDescartaOL1DoPublicador() {
+        instanciaA.getCache(CACHE).put("todas", "Turma A1");
+        int leiturasAntes = redis.leituras.get();
+
+        assertEquals("Turma A1", instanciaA.getCache(CACHE).get("todas", String.class));
+        assertEquals(leiturasAntes, redis.leituras.get());
+    }
+
+    @Test
+    void falhaAoPublicarNaoImpedeAEscritaNoRedis() {
+        DuasCamadasCacheManager semCanal = novaInstancia(mensagem -> {
+            throw new IllegalStateException("Redis indisponível para publicação");
+        });
+
+        semCanal.getCache(CACHE).put("todas", "Turma A1");
+
+        assertEquals("Turma A1", instanciaB.getCache(CACHE).get("todas", String.class));
+    }
+
+    private DuasCamadasCacheManager novaInstancia() {
+        return novaInstancia(redis::publicar);
+    }
+
+    private DuasCamadasCacheManager novaInstancia(Consumer<String> publicador) {
+        RedisCacheManager remoto = RedisCacheManager.builder(redis)
+                .cacheDefaults(RedisCacheConfiguration.defaultCacheConfig()
+                        .entryTtl(Duration.ofMinutes(10))
+                        .serializeValuesWith(RedisSerializationContext.SerializationPair
+                                .fromSerializer(RedisCacheConfig.valorSerializer()))
+                        .prefixCacheNameWith("teste::"))
+                .build();
+        remoto.afterPropertiesSet();
+
+        DuasCamadasCacheManager cacheManager = new DuasCamadasCacheManager(remoto,
+                LocalCacheManagerFactory.criar(Duration.ofMinutes(1), 100, true), publicador);
+        cacheManager.setTransactionAware(true);
+        cacheManager.afterPropertiesSet();
+        redis.assinar(cacheManager::receberInvalidacao);
+        return cacheManager;
+    }
+
+    /**
+     * Redis simulado: chaves e valores em bytes, como o RedisCacheManager os envia, e um canal
+     * de pub/sub síncrono
+     */
+    private static class RedisEmMemoria implements RedisCacheWriter {
+
+        private final Map<String, byte[]> dados = new ConcurrentHashMap<>();
+        private final List<Consumer<String>> assinantes = new CopyOnWriteArrayList<>();
+        private final AtomicInteger leituras = new AtomicInteger();
+
+        void assinar(Consumer<String> assinante) {
+            assinantes.add(assinante);
+        }
+
+        void publicar(String mensagem) {
+            assinantes.forEach(assinante -> assinante.accept(mensagem));
+        }
+
+        @Override
+        public byte[] get(String name, byte[] key) {
+            leituras.incrementAndGet();
+            return dados.get(texto(key));
+        }
+
+        @Override
+        public CompletableFuture<byte[]> retrieve(String name, byte[] key, Duration ttl) {
+            return CompletableFuture.completedFuture(get(name, key));
+        }
+
+        @Override
+        public void put(String name, byte[] key, byte[] value, Duration ttl) {
+            dados.put(texto(key), value);
+        }
+
+        @Override
+        public CompletableFuture<Void> store(String name, byte[] key, byte[] value, Duration ttl) {
+            put(name, key, value, ttl);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public byte[] putIfAbsent(String name, byte[] key, byte[] value, Duration ttl) {
+            return dados.putIfAbsent(texto(key), value);
+        }
+
+        @Override
+        public void remove(String name, byte[] key) {
+            dados.remove(texto(key));
+        }
+
+        @Override
+        public void clean(String name, byte[] pattern) {
+            // O RedisCache limpa com o padrão "{prefixo}{cache}::*"
+            String prefixo = texto(pattern).replace("*", "");
+            dados.keySet().removeIf(chave -> chave.startsWith(prefixo));
+        }
+
+        @Override
+        public void clearStatistics(String name) {
+        }
+
+        @Override
+        public RedisCacheWriter withStatisticsCollector(CacheStatisticsCollector cacheStatisticsCollector) {
+            return this;
+        }
+
+        @Override
+        public CacheStatistics getCacheStatistics(String cacheName) {
+            return CacheStatisticsCollector.none().getCacheStatistics(cacheName);
+        }
+
+        private String texto(byte[] bytes) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package br.com.arirang.plataforma.service;
+
+import br.com.arirang.plataforma.repository.AuditoriaTurmaRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AuditoriaTurmaGravadorTest {
+
+    @TempDir
+    Path diretorio;
+
+    private EmbeddedDatabase banco;
+    private JdbcTemplate jdbcTemplate;
+    private ObjectMapper objectMapper;
+    private AuditoriaTurmaGravador gravador;
+
+    @BeforeEach
+    void setUp() {
+        banco = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName("auditoria-" + UUID.randomUUID())
+                .build();
+        jdbcTemplate = new JdbcTemplate(banco);
+        jdbcTemplate.execute("CREATE TABLE auditoria_turma (id BIGINT AUTO_INCREMENT PRIMARY KEY, turma_id BIGINT NOT NULL, " +
+                "protocolo VARCHAR(100) NOT NULL UNIQUE, alteracao_antes TEXT, alteracao_depois TEXT, alteracoes_detalhadas TEXT, " +
+                "usuario VARCHAR(100), data_alteracao TIMESTAMP NOT NULL, justificativa VARCHAR(500) NOT NULL, " +
+                "ip_address VARCHAR(45), user_agent VARCHAR(255))");
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (gravador != null) {
+            gravador.encerrar();
+        }
+        banco.shutdown();
+    }
+
+    @Test
+    void gravaRegistrosEmLoteERemoveArquivoDeLote() throws Exception {
+        iniciarGravador();
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(gravador.registrar(registro("ALT-" + i, "Ajuste de horário")));
+        }
+
+        aguardarLinhas(5);
+        aguardarSemArquivosDeLote();
+        assertFalse(Files.exists(diretorio.resolve("auditoria-turma-rejeitados.jsonl")));
+    }
+
+    @Test
+    void registroRecusadoPeloBancoVaiParaRejeitadosSemBloquearOsDemais() throws Exception {
+        iniciarGravador();
+
+        gravador.registrar(registro("ALT-1", "Ajuste de horário"));
+        gravador.registrar(registro("ALT-2", "x".repeat(600)));
+        gravador.registrar(registro("ALT-3", "Troca de professor"));
+
+        aguardarLinhas(2);
+        aguardarSemArquivosDeLote();
+        List<String> rejeitados = Files.readAllLines(diretorio.resolve("auditoria-turma-rejeitados.jsonl"));
+        assertEquals(1, rejeitados.size());
+        assertTrue(rejeitados.get(0).contains("ALT-2"));
+        assertEquals(List.of("ALT-1", "ALT-3"),
+                jdbcTemplate.queryForList("SELECT protocolo FROM auditoria_turma ORDER BY protocolo", String.class));
+    }
+
+    @Test
+    void alteracoesDaMesmaTurmaEUsuarioNoMesmoMinutoSaoGravadasAmbas() throws Exception {
+        AuditoriaTurmaService auditoriaTurmaService = new AuditoriaTurmaService();
+        String primeiro = auditoriaTurmaService.gerarProtocolo(1L, "admin");
+        String segundo = auditoriaTurmaService.gerarProtocolo(1L, "admin");
+        assertNotEquals(primeiro, segundo);
+        assertTrue(segundo.length() <= 100);
+        iniciarGravador();
+
+        gravador.registrar(registro(primeiro, "Ajuste de horário"));
+        gravador.registrar(registro(segundo, "Troca de professor"));
+
+        aguardarLinhas(2);
+        aguardarSemArquivosDeLote();
+        assertFalse(Files.exists(diretorio.resolve("auditoria-turma-rejeitados.jsonl")));
+    }
+
+    @Test
+    void outraAlteracaoComOMesmoProtocoloVaiParaRejeitados() throws Exception {
+        // As duas linhas no mesmo arquivo garantem que sejam gravadas no mesmo lote
+        Files.writeString(diretorio.resolve("auditoria-turma.jsonl"),
+                objectMapper.writeValueAsString(registro("ALT-1", "Ajuste de horário")) + "\n" +
+                objectMapper.writeValueAsString(registro("ALT-1", "Troca de professor")) + "\n",
+                StandardCharsets.UTF_8);
+
+        iniciarGravador();
+
+        aguardarLinhas(1);
+        aguardarSemArquivosDeLote();
+        List<String> rejeitados = Files.readAllLines(diretorio.resolve("auditoria-turma-rejeitados.jsonl"));
+        assertEquals(1, rejeitados.size());
+        assertTrue(rejeitados.get(0).contains("Troca de professor"));
+    }
+
+    @Test
+    void gravaNaInicializacaoOsRegistrosDeixadosNoArquivo() throws Exception {
+        String linha = objectMapper.writeValueAsString(registro("ALT-PENDENTE", "Registrada antes da parada"));
+        Files.writeString(diretorio.resolve("auditoria-turma.jsonl"), linha + "\n{\"turmaId\":1,\"proto", StandardCharsets.UTF_8);
+
+        iniciarGravador();
+
+        aguardarLinhas(1);
+        aguardarSemArquivosDeLote();
+        assertEquals("ALT-PENDENTE", jdbcTemplate.queryForObject("SELECT protocolo FROM auditoria_turma", String.class));
+    }
+
+    private void iniciarGravador() throws Exception {
+        AuditoriaTurmaRepository repository = mock(AuditoriaTurmaRepository.class);
+        when(repository.findProtocolosExistentes(anyCollection())).thenAnswer(invocacao ->
+                jdbcTemplate.queryForList("SELECT protocolo FROM auditoria_turma", String.class).stream()
+                        .filter(protocolo -> invocacao.<java.util.Collection<?>>getArgument(0).contains(protocolo))
+                        .toList());
+
+        gravador = new AuditoriaTurmaGravador();
+        ReflectionTestUtils.setField(gravador, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(gravador, "transactionManager", new DataSourceTransactionManager(banco));
+        ReflectionTestUtils.setField(gravador, "auditoriaTurmaRepository", repository);
+        ReflectionTestUtils.setField(gravador, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(gravador, "auditoriaExecutor", new SimpleAsyncTaskExecutor("auditoria-teste-"));
+        ReflectionTestUtils.setField(gravador, "diretorio", diretorio.toString());
+        ReflectionTestUtils.setField(gravador, "capacidadeFila", 100);
+        gravador.iniciar();
+    }
+
+    private AuditoriaTurmaGravador.RegistroAuditoria registro(String protocolo, String justificativa) {
+        return new AuditoriaTurmaGravador.RegistroAuditoria(1L, protocolo, "{}", "{}", "Nome: \"A\" → \"B\"",
+                "admin", LocalDateTime.now(), justificativa, "127.0.0.1", "JUnit");
+    }
+
+    private void aguardarLinhas(long esperadas) throws InterruptedException {
+        long linhas = 0;
+        for (int tentativa = 0; tentativa < 100; tentativa++) {
+            linhas = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM auditoria_turma", Long.class);
+            if (linhas >= esperadas) {
+                break;
+            }
+            Thread.sleep(50);
+        }
+        assertEquals(esperadas, linhas);
+    }
+
+    private void aguardarSemArquivosDeLote() throws Exception {
+        for (int tentativa = 0; tentativa < 100; tentativa++) {
+            try (Stream<Path> arquivos = Files.list(diretorio)) {
+                if (arquivos.noneMatch(p -> p.getFileName().toString().startsWith("auditoria-turma-lote-"))) {
+                    return;
+                }
+            }
+            Thread.sleep(50);
+        }
+        fail("Arquivos de lote não foram removidos após a gravação");
+    }
+}
@@ -0,0 +1,94 @@
+package br.com.arirang.plataforma.service;
+
+import br.com.arirang.plataforma.dto.BoletimDTO;
+import br.com.arirang.plataforma.dto.LoteBoletinsDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BoletimLoteServiceTest {
+
+    @Mock
+    private BoletimService boletimService;
+
+    @Mock
+    private BoletimPdfService boletimPdfService;
+
+    @InjectMocks
+    private BoletimLoteService boletimLoteService;
+
+    // Tarefas de renderização guardadas sem executar: o lote permanece em processamento
+    private final List<Runnable> tarefasPendentes = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        TaskExecutor executor = tarefasPendentes::add;
+        ReflectionTestUtils.setField(boletimLoteService, "boletimPdfExecutor", executor);
+    }
+
+    @Test
+    void requisicoesSimultaneasDaMesmaTurmaCompartilhamOLote() throws Exception {
+        CountDownLatch carregando = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(boletimService.buscarBoletinsPorTurmaAsDTO(1L)).thenAnswer(invocacao -> {
+            carregando.countDown();
+            assertTrue(liberar.await(5, TimeUnit.SECONDS));
+            return List.of(boletim(10L), boletim(11L));
+        });
+
+        FutureTask<LoteBoletinsDTO> primeira = new FutureTask<>(() -> boletimLoteService.iniciarLote(1L));
+        Thread threadPrimeira = new Thread(primeira);
+        threadPrimeira.start();
+        assertTrue(carregando.await(5, TimeUnit.SECONDS));
+
+        FutureTask<LoteBoletinsDTO> segunda = new FutureTask<>(() -> boletimLoteService.iniciarLote(1L));
+        Thread threadSegunda = new Thread(segunda);
+        threadSegunda.start();
+        // Enquanto a primeira carrega os boletins, a segunda espera pela trava da turma
+        aguardarEstado(threadSegunda, Thread.State.BLOCKED);
+        liberar.countDown();
+
+        LoteBoletinsDTO lotePrimeira = primeira.get(5, TimeUnit.SECONDS);
+        LoteBoletinsDTO loteSegunda = segunda.get(5, TimeUnit.SECONDS);
+        assertEquals(lotePrimeira.id(), loteSegunda.id());
+        verify(boletimService, times(1)).buscarBoletinsPorTurmaAsDTO(1L);
+        assertEquals(2, tarefasPendentes.size());
+    }
+
+    @Test
+    void turmasDiferentesGeramLotesIndependentes() {
+        when(boletimService.buscarBoletinsPorTurmaAsDTO(anyLong())).thenReturn(List.of(boletim(10L)));
+
+        LoteBoletinsDTO loteTurma1 = boletimLoteService.iniciarLote(1L);
+        LoteBoletinsDTO loteTurma2 = boletimLoteService.iniciarLote(2L);
+
+        assertNotEquals(loteTurma1.id(), loteTurma2.id());
+        assertEquals(loteTurma1.id(), boletimLoteService.iniciarLote(1L).id());
+    }
+
+    private void aguardarEstado(Thread thread, Thread.State estado) throws InterruptedException {
+        for (int tentativa = 0; tentativa < 100 && thread.getState() != estado; tentativa++) {
+            Thread.sleep(20);
+        }
+        assertEquals(estado, thread.getState());
+    }
+
+    private BoletimDTO boletim(Long id) {
+        return new BoletimDTO(id, id, "Aluno " + id, 1L, "Turma 1", List.of(), 8.0, "APROVADO", null, true);
+    }
+}
@@ -0,0 +1,141 @@
+package br.com.arirang.plataforma.service;
+
+import br.com.arirang.plataforma.entity.ConfiguracaoUsuario;
+import br.com.arirang.plataforma.entity.Usuario;
+import br.com.arirang.plataforma.event.ConfiguracaoUsuarioAlteradaEvent;
+import br.com.arirang.plataforma.repository.ConfiguracaoUsuarioRepository;
+import br.com.arirang.plataforma.repository.UsuarioRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.cache.CacheType;
+import org.springframework.boot.test.autoconfigure.core.AutoConfigureCache;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * Mede, com as estatísticas do Hibernate, as consultas feitas pela leitura do tema
+ * (ThemeInterceptor, uma vez por página renderizada) e verifica o descarte do cache
+ * somente após o commit da alteração da configuração.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=OFF"
+})
+@ActiveProfiles("test")
+@AutoConfigureCache(cacheProvider = CacheType.SIMPLE)
+@EnableCaching
+@Import(ConfiguracaoUsuarioService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ConfiguracaoUsuarioCacheTest {
+
+    private static final String USERNAME = "professor.tema";
+    private static final int PAGINAS = 20;
+
+    @Autowired
+    private ConfiguracaoUsuarioService configuracaoUsuarioService;
+
+    @Autowired
+    private ConfiguracaoUsuarioRepository configuracaoUsuarioRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockBean
+    private UsuarioService usuarioService;
+
+    @MockBean
+    private FileUploadValidationService fileUploadValidationService;
+
+    private Statistics estatisticas;
+
+    @BeforeEach
+    void setUp() {
+        configuracaoUsuarioRepository.deleteAll();
+        usuarioRepository.deleteAll();
+        cacheManager.getCache("configuracoesUsuario").clear();
+
+        Usuario usuario = new Usuario();
+        usuario.setUsername(USERNAME);
+        usuario.setEmail("tema@arirang.com.br");
+        usuario.setPassword("senha-teste");
+        usuario.setNomeCompleto("Professor Tema");
+        usuario = usuarioRepository.save(usuario);
+        when(usuarioService.buscarPorUsername(USERNAME)).thenReturn(Optional.of(usuario));
+
+        ConfiguracaoUsuario config = new ConfiguracaoUsuario();
+        config.setUsuario(usuario);
+        config.setCorPrimaria("#01004e");
+        configuracaoUsuarioRepository.save(config);
+
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+    }
+
+    @Test
+    void leituraDoTemaConsultaOBancoUmaVezPorUsuario() {
+        for (int i = 0; i < PAGINAS; i++) {
+            assertEquals("#01004e", configuracaoUsuarioService.buscarConfiguracaoTema(USERNAME).corPrimaria());
+        }
+
+        // Sem cache seriam PAGINAS consultas; com cache, apenas a primeira página vai ao banco
+        assertEquals(1, estatisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    void alteracaoDescartaOCacheSomenteAposOCommit() {
+        configuracaoUsuarioService.buscarConfiguracaoTema(USERNAME);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            ConfiguracaoUsuario config = configuracaoUsuarioRepository.findByUsuarioUsername(USERNAME).orElseThrow();
+            config.setCorPrimaria("#860213");
+            eventPublisher.publishEvent(new ConfiguracaoUsuarioAlteradaEvent(USERNAME));
+            // Ainda não commitado: o valor em cache continua sendo o anterior
+            assertNotNull(cacheManager.getCache("configuracoesUsuario").get(USERNAME));
+        });
+
+        assertNull(cacheManager.getCache("configuracoesUsuario").get(USERNAME));
+        assertEquals("#860213", configuracaoUsuarioService.buscarConfiguracaoTema(USERNAME).corPrimaria());
+    }
+
+    @Test
+    void rollbackNaoDescartaOCache() {
+        configuracaoUsuarioService.buscarConfiguracaoTema(USERNAME);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            eventPublisher.publishEvent(new ConfiguracaoUsuarioAlteradaEvent(USERNAME));
+            status.setRollbackOnly();
+        });
+
+        assertNotNull(cacheManager.getCache("configuracoesUsuario").get(USERNAME));
+    }
+}
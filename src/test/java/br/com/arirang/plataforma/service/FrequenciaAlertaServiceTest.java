@@ -0,0 +1,119 @@
+package br.com.arirang.plataforma.service;
+
+import br.com.arirang.plataforma.dto.RelatorioFrequenciaDTO;
+import br.com.arirang.plataforma.entity.AlertaFrequencia;
+import br.com.arirang.plataforma.entity.ExecucaoAlertaFrequencia;
+import br.com.arirang.plataforma.repository.AlertaFrequenciaRepository;
+import br.com.arirang.plataforma.repository.ExecucaoAlertaFrequenciaRepository;
+import br.com.arirang.plataforma.repository.TurmaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FrequenciaAlertaServiceTest {
+
+    @Mock
+    private FrequenciaService frequenciaService;
+
+    @Mock
+    private TurmaRepository turmaRepository;
+
+    @Mock
+    private AlertaFrequenciaRepository alertaFrequenciaRepository;
+
+    @Mock
+    private ExecucaoAlertaFrequenciaRepository execucaoAlertaFrequenciaRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private FrequenciaAlertaService frequenciaAlertaService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(frequenciaAlertaService, "alertaFrequenciaExecutor", new SyncTaskExecutor());
+        lenient().when(transactionManager.getTransaction(any())).thenAnswer(invocacao -> new SimpleTransactionStatus());
+        when(execucaoAlertaFrequenciaRepository.save(any(ExecucaoAlertaFrequencia.class))).thenAnswer(invocacao -> {
+            ExecucaoAlertaFrequencia execucao = invocacao.getArgument(0);
+            if (execucao.getId() == null) {
+                execucao.setId(1L);
+            }
+            return execucao;
+        });
+    }
+
+    @Test
+    void erroEmUmaTurmaNaoImpedeAsDemais() {
+        when(turmaRepository.findIdsAtivas()).thenReturn(List.of(1L, 2L, 3L));
+        when(frequenciaService.listarAlunosComFrequenciaBaixa(eq(1L), any(), any(), anyDouble()))
+                .thenReturn(List.of(relatorio(1L, 10L)));
+        when(frequenciaService.listarAlunosComFrequenciaBaixa(eq(2L), any(), any(), anyDouble()))
+                .thenThrow(new IllegalStateException("falha na turma 2"));
+        when(frequenciaService.listarAlunosComFrequenciaBaixa(eq(3L), any(), any(), anyDouble()))
+                .thenReturn(List.of(relatorio(3L, 30L)));
+
+        ExecucaoAlertaFrequencia execucao = frequenciaAlertaService.executarVerificacao();
+
+        assertEquals("CONCLUIDA_COM_ERROS", execucao.getStatus());
+        assertEquals(3, execucao.getTurmasProcessadas());
+        assertEquals(1, execucao.getTurmasComErro());
+        assertEquals(2, execucao.getAlertasGerados());
+        // Uma transação por turma: a falha da turma 2 não afeta a leitura das outras
+        verify(transactionManager, times(3)).getTransaction(any());
+        verify(transactionManager, times(2)).commit(any());
+        verify(transactionManager, times(1)).rollback(any());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<AlertaFrequencia>> alertas = ArgumentCaptor.forClass(List.class);
+        verify(alertaFrequenciaRepository).saveAll(alertas.capture());
+        assertEquals(List.of(10L, 30L), alertas.getValue().stream().map(AlertaFrequencia::getAlunoId).toList());
+    }
+
+    @Test
+    void falhaAoGravarAlertasRegistraStatusFinal() {
+        when(turmaRepository.findIdsAtivas()).thenReturn(List.of(1L));
+        when(frequenciaService.listarAlunosComFrequenciaBaixa(eq(1L), any(), any(), anyDouble()))
+                .thenReturn(List.of(relatorio(1L, 10L)));
+        when(alertaFrequenciaRepository.saveAll(any())).thenThrow(new IllegalStateException("banco indisponível"));
+
+        ExecucaoAlertaFrequencia execucao = frequenciaAlertaService.executarVerificacao();
+
+        assertEquals("CONCLUIDA_COM_ERROS", execucao.getStatus());
+        assertEquals(1, execucao.getTurmasComErro());
+        assertNotNull(execucao.getDataFim());
+    }
+
+    @Test
+    void falhaAntesDosLotesRegistraFalhou() {
+        when(turmaRepository.findIdsAtivas()).thenThrow(new IllegalStateException("banco indisponível"));
+
+        ExecucaoAlertaFrequencia execucao = frequenciaAlertaService.executarVerificacao();
+
+        assertEquals("FALHOU", execucao.getStatus());
+        assertNotNull(execucao.getDataFim());
+    }
+
+    private RelatorioFrequenciaDTO relatorio(Long turmaId, Long alunoId) {
+        return RelatorioFrequenciaDTO.calcular(alunoId, "Aluno " + alunoId, turmaId, "Turma " + turmaId,
+                10L, 5L, 5L, 0L, 0L, LocalDate.now().minusMonths(1), LocalDate.now(), 75.0);
+    }
+}
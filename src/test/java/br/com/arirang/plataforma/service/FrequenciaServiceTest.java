@@ -0,0 +1,132 @@
+package br.com.arirang.plataforma.service;
+
+import br.com.arirang.plataforma.dto.RelatorioFrequenciaDTO;
+import br.com.arirang.plataforma.entity.Aluno;
+import br.com.arirang.plataforma.entity.Frequencia;
+import br.com.arirang.plataforma.entity.Turma;
+import br.com.arirang.plataforma.enums.TipoPresenca;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fixa a regra do relatório da turma e da lista de frequência baixa: o total de aulas de cada
+ * aluno é a quantidade de registros dele no período, não as datas de aula da turma.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@ImportAutoConfiguration(JdbcTemplateAutoConfiguration.class)
+@Import(FrequenciaService.class)
+class FrequenciaServiceTest {
+
+    private static final LocalDate INICIO = LocalDate.of(2026, 3, 2);
+    private static final LocalDate FIM = INICIO.plusDays(9);
+
+    @Autowired
+    private FrequenciaService frequenciaService;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @MockBean
+    private UsuarioService usuarioService;
+
+    private Turma turma;
+    private Aluno desdeOInicio;
+    private Aluno matriculadoNoMeio;
+    private Aluno faltoso;
+
+    @BeforeEach
+    void setUp() {
+        turma = new Turma();
+        turma.setNomeTurma("Coreano Básico 1");
+        turma.setSituacaoTurma("ATIVA");
+        em.persist(turma);
+
+        desdeOInicio = aluno("Ana Desde o Início");
+        matriculadoNoMeio = aluno("Bruno Matriculado no Meio");
+        faltoso = aluno("Carla Faltosa");
+
+        // 10 aulas; Ana presente em 8
+        for (int dia = 0; dia < 10; dia++) {
+            registrar(desdeOInicio, INICIO.plusDays(dia), dia < 8 ? TipoPresenca.PRESENTE : TipoPresenca.FALTA);
+        }
+        // Bruno entrou na 7ª aula e esteve em todas as 4 desde então
+        for (int dia = 6; dia < 10; dia++) {
+            registrar(matriculadoNoMeio, INICIO.plusDays(dia), TipoPresenca.PRESENTE);
+        }
+        // Carla entrou junto com Bruno e faltou em metade (uma justificada)
+        registrar(faltoso, INICIO.plusDays(6), TipoPresenca.PRESENTE);
+        registrar(faltoso, INICIO.plusDays(7), TipoPresenca.FALTA);
+        registrar(faltoso, INICIO.plusDays(8), TipoPresenca.PRESENTE);
+        registrar(faltoso, INICIO.plusDays(9), TipoPresenca.FALTA_JUSTIFICADA);
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void relatorioDaTurmaUsaOsRegistrosDeCadaAluno() {
+        List<RelatorioFrequenciaDTO> relatorio = frequenciaService.gerarRelatorioTurma(turma.getId(), INICIO, FIM, 75.0);
+
+        assertEquals(3, relatorio.size());
+        RelatorioFrequenciaDTO ana = doAluno(relatorio, desdeOInicio);
+        assertEquals(10L, ana.totalAulas());
+        assertEquals(80.0, ana.percentualFrequencia(), 0.001);
+
+        RelatorioFrequenciaDTO bruno = doAluno(relatorio, matriculadoNoMeio);
+        assertEquals(4L, bruno.totalAulas());
+        assertEquals(100.0, bruno.percentualFrequencia(), 0.001);
+        assertFalse(bruno.abaixoDoMinimo());
+
+        RelatorioFrequenciaDTO carla = doAluno(relatorio, faltoso);
+        assertEquals(4L, carla.totalAulas());
+        assertEquals(1L, carla.totalFaltas());
+        assertEquals(1L, carla.totalFaltasJustificadas());
+        assertEquals(50.0, carla.percentualFrequencia(), 0.001);
+    }
+
+    @Test
+    void alunoMatriculadoNoMeioDoPeriodoNaoEntraNaListaDeFrequenciaBaixa() {
+        List<RelatorioFrequenciaDTO> abaixo = frequenciaService.listarAlunosComFrequenciaBaixa(turma.getId(), INICIO, FIM, 75.0);
+
+        assertEquals(List.of(faltoso.getId()), abaixo.stream().map(RelatorioFrequenciaDTO::alunoId).toList());
+    }
+
+    @Test
+    void relatorioIndividualContinuaUsandoAsAulasDaTurma() {
+        RelatorioFrequenciaDTO bruno = frequenciaService.gerarRelatorioAluno(matriculadoNoMeio.getId(), turma.getId(), INICIO, FIM);
+
+        assertEquals(10L, bruno.totalAulas());
+        assertEquals(4L, bruno.totalPresencas());
+    }
+
+    private Aluno aluno(String nome) {
+        Aluno aluno = new Aluno();
+        aluno.setNomeCompleto(nome);
+        aluno.setDataNascimento(LocalDate.of(2000, 1, 1));
+        return em.persist(aluno);
+    }
+
+    private void registrar(Aluno aluno, LocalDate data, TipoPresenca tipo) {
+        em.persist(new Frequencia(aluno, turma, data, tipo));
+    }
+
+    private RelatorioFrequenciaDTO doAluno(List<RelatorioFrequenciaDTO> relatorio, Aluno aluno) {
+        return relatorio.stream()
+                .filter(r -> r.alunoId().equals(aluno.getId()))
+                .findFirst()
+                .orElseThrow();
+    }
+}
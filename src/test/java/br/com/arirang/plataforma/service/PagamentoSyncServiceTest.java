@@ -0,0 +1,85 @@
+package br.com.arirang.plataforma.service;
+
+import br.com.arirang.plataforma.entity.Financeiro;
+import br.com.arirang.plataforma.entity.TipoMovimentoFinanceiro;
+import br.com.arirang.plataforma.repository.FinanceiroRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Movimentos de pagamento gravados antes da chave de idempotência passam a ser reconhecidos
+ * apenas pela chave, depois do preenchimento feito na inicialização.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({PagamentoSyncService.class, MigracaoDadosService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PagamentoSyncServiceTest {
+
+    @Autowired
+    private PagamentoSyncService pagamentoSyncService;
+
+    @Autowired
+    private FinanceiroRepository financeiroRepository;
+
+    @AfterEach
+    void tearDown() {
+        financeiroRepository.deleteAll();
+    }
+
+    @Test
+    void movimentosAntigosRecebemAChaveDoNumeroDoDocumento() {
+        Financeiro antigo = financeiroRepository.save(movimento("PAG-1", null));
+        Financeiro duplicado = financeiroRepository.save(movimento("PAG-1", null));
+        Financeiro atual = financeiroRepository.save(movimento("PAG-2", "PAG-2"));
+        Financeiro manual = financeiroRepository.save(movimento("NF-100", null));
+
+        pagamentoSyncService.preencherChavesIdempotencia();
+
+        assertTrue(financeiroRepository.existsByChaveIdempotencia("PAG-1"));
+        assertEquals("PAG-1", chave(antigo));
+        // A coluna é única: a duplicata antiga continua sem chave
+        assertNull(chave(duplicado));
+        assertEquals("PAG-2", chave(atual));
+        assertNull(chave(manual));
+        assertEquals(0, financeiroRepository.countPagamentosSemChaveIdempotencia());
+    }
+
+    @Test
+    void semMovimentosPendentesNadaEAlterado() {
+        financeiroRepository.save(movimento("PAG-3", "PAG-3"));
+
+        pagamentoSyncService.preencherChavesIdempotencia();
+
+        List<Financeiro> movimentos = financeiroRepository.findAll();
+        movimentos.sort(Comparator.comparing(Financeiro::getId));
+        assertEquals(List.of("PAG-3"), movimentos.stream().map(Financeiro::getChaveIdempotencia).toList());
+    }
+
+    private String chave(Financeiro movimento) {
+        return financeiroRepository.findById(movimento.getId()).orElseThrow().getChaveIdempotencia();
+    }
+
+    private Financeiro movimento(String numeroDocumento, String chave) {
+        Financeiro movimento = new Financeiro();
+        movimento.setTipoMovimento(TipoMovimentoFinanceiro.RECEITA);
+        movimento.setValor(new BigDecimal("150.00"));
+        movimento.setDataMovimento(LocalDate.of(2026, 3, 10));
+        movimento.setNumeroDocumento(numeroDocumento);
+        movimento.setChaveIdempotencia(chave);
+        return movimento;
+    }
+}